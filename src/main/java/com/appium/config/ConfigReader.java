@@ -6,22 +6,30 @@ import org.apache.logging.log4j.Logger;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Properties;
 
 /**
  * ConfigReader - Singleton class to read configuration properties
- * Implements thread-safe lazy initialization
+ * Implements thread-safe lazy initialization. The properties are compiled
+ * once into an immutable ConfigSnapshot, so getters are plain field reads.
+ * With config.reload.enabled=true, edits to config.properties atomically swap
+ * in a new snapshot that sessions created afterwards pick up; an invalid edit
+ * is logged and the previous snapshot stays in place.
  */
 public final class ConfigReader {
 
     private static final Logger logger = LogManager.getLogger(ConfigReader.class);
     private static volatile ConfigReader instance;
-    private final Properties properties;
+    private volatile ConfigSnapshot snapshot;
+    private ConfigWatcher watcher;
 
     // Private constructor to prevent instantiation
     private ConfigReader() {
-        properties = new Properties();
-        loadProperties();
+        snapshot = loadSnapshot();
+        if (snapshot.isConfigReloadEnabled()) {
+            startWatcher();
+        }
     }
 
     /**
@@ -41,9 +49,13 @@ public final class ConfigReader {
     }
 
     /**
-     * Load properties from config file
+     * Load properties from config file and compile them with the system property
+     * and environment overrides
+     *
+     * @return validated snapshot
      */
-    private void loadProperties() {
+    private static ConfigSnapshot loadSnapshot() {
+        Properties properties = new Properties();
         try (FileInputStream fis = new FileInputStream(FrameworkConstants.CONFIG_FILE_PATH)) {
             properties.load(fis);
             logger.info("Configuration properties loaded successfully from: {}", FrameworkConstants.CONFIG_FILE_PATH);
@@ -51,110 +63,290 @@ public final class ConfigReader {
             logger.error("Failed to load configuration properties: {}", e.getMessage());
             throw new RuntimeException("Configuration file not found at: " + FrameworkConstants.CONFIG_FILE_PATH, e);
         }
+        return ConfigSnapshot.load(properties, System.getenv(), System.getProperties());
+    }
+
+    private void startWatcher() {
+        try {
+            watcher = new ConfigWatcher(Path.of(FrameworkConstants.CONFIG_FILE_PATH), this::reload);
+        } catch (IOException e) {
+            logger.warn("Configuration reload disabled - cannot watch {}: {}", FrameworkConstants.CONFIG_FILE_PATH,
+                    e.getMessage());
+        }
     }
 
     /**
-     * Get property value by key
-     * 
-     * @param key property key
-     * @return property value
+     * Re-read the configuration and swap in the new snapshot if it is valid
+     *
+     * @return true if the new snapshot is in use, false if the previous one was kept
      */
-    private String getProperty(String key) {
-        String value = properties.getProperty(key);
-        if (value == null) {
-            logger.warn("Property '{}' not found in config file", key);
+    public boolean reload() {
+        try {
+            snapshot = loadSnapshot();
+            logger.info("Configuration reloaded - new sessions use the updated values");
+            return true;
+        } catch (RuntimeException e) {
+            logger.error("Keeping previous configuration: {}", e.getMessage());
+            return false;
         }
-        return value;
+    }
+
+    /**
+     * Get the current configuration snapshot - read several values from one
+     * snapshot when they must stay consistent across a reload
+     *
+     * @return current ConfigSnapshot
+     */
+    public ConfigSnapshot getSnapshot() {
+        return snapshot;
     }
 
     // Appium Server Configuration
     public String getAppiumServerUrl() {
-        return getProperty("appium.server.url");
+        return snapshot.getAppiumServerUrl();
     }
 
     public String getAppiumServerPort() {
-        return getProperty("appium.server.port");
+        return snapshot.getAppiumServerPort();
+    }
+
+    public boolean isAppiumServerManaged() {
+        return snapshot.isAppiumServerManaged();
+    }
+
+    public int getAppiumServerCount() {
+        return snapshot.getAppiumServerCount();
+    }
+
+    public String getAppiumServerIp() {
+        return snapshot.getAppiumServerIp();
+    }
+
+    public String getAppiumJsPath() {
+        return snapshot.getAppiumJsPath();
+    }
+
+    // HTTP Client Configuration
+    public int getHttpConnectTimeout() {
+        return snapshot.getHttpConnectTimeout();
+    }
+
+    public int getHttpReadTimeout() {
+        return snapshot.getHttpReadTimeout();
+    }
+
+    public int getHttpMaxConnectionsPerHost() {
+        return snapshot.getHttpMaxConnectionsPerHost();
+    }
+
+    public String getHttpVersion() {
+        return snapshot.getHttpVersion();
     }
 
     // Platform Configuration
     public String getPlatformName() {
-        return getProperty("platform.name");
+        return snapshot.getPlatformName();
     }
 
     public String getDeviceName() {
-        return getProperty("device.name");
+        return snapshot.getDeviceName();
     }
 
     public String getPlatformVersion() {
-        return getProperty("platform.version");
+        return snapshot.getPlatformVersion();
     }
 
     public String getAutomationName() {
-        return getProperty("automation.name");
+        return snapshot.getAutomationName();
+    }
+
+    // Device Registry Configuration
+    public String getDeviceList() {
+        return snapshot.getDeviceList();
+    }
+
+    public String getDeviceDiscovery() {
+        return snapshot.getDeviceDiscovery();
+    }
+
+    public int getSystemPortBase() {
+        return snapshot.getSystemPortBase();
+    }
+
+    public int getMjpegServerPortBase() {
+        return snapshot.getMjpegServerPortBase();
+    }
+
+    public int getChromedriverPortBase() {
+        return snapshot.getChromedriverPortBase();
+    }
+
+    public int getDeviceLeaseTimeout() {
+        return snapshot.getDeviceLeaseTimeout();
+    }
+
+    // Device Health Configuration
+    public boolean isDevicePreflightEnabled() {
+        return snapshot.isDevicePreflightEnabled();
+    }
+
+    public int getDeviceFailureThreshold() {
+        return snapshot.getDeviceFailureThreshold();
+    }
+
+    public int getDeviceQuarantineCooldown() {
+        return snapshot.getDeviceQuarantineCooldown();
     }
 
     // App Configuration
     public String getAppPath() {
-        return getProperty("app.path");
+        return snapshot.getAppPath();
     }
 
     public String getAppPackage() {
-        return getProperty("app.package");
+        return snapshot.getAppPackage();
     }
 
     public String getAppActivity() {
-        return getProperty("app.activity");
+        return snapshot.getAppActivity();
     }
 
     // Additional Capabilities
     public boolean getAutoGrantPermissions() {
-        return Boolean.parseBoolean(getProperty("auto.grant.permissions"));
+        return snapshot.getAutoGrantPermissions();
     }
 
     public boolean getNoReset() {
-        return Boolean.parseBoolean(getProperty("no.reset"));
+        return snapshot.getNoReset();
     }
 
     public boolean getFullReset() {
-        return Boolean.parseBoolean(getProperty("full.reset"));
+        return snapshot.getFullReset();
     }
 
     public boolean getAutoAcceptAlerts() {
-        return Boolean.parseBoolean(getProperty("auto.accept.alerts"));
+        return snapshot.getAutoAcceptAlerts();
     }
 
     // Wait Configuration
     public int getImplicitWait() {
-        String wait = getProperty("implicit.wait");
-        return wait != null ? Integer.parseInt(wait) : FrameworkConstants.IMPLICIT_WAIT;
+        return snapshot.getImplicitWait();
     }
 
     public int getExplicitWait() {
-        String wait = getProperty("explicit.wait");
-        return wait != null ? Integer.parseInt(wait) : FrameworkConstants.EXPLICIT_WAIT;
+        return snapshot.getExplicitWait();
+    }
+
+    public int getWaitPollInitialMillis() {
+        return snapshot.getWaitPollInitialMillis();
+    }
+
+    public int getWaitPollMaxMillis() {
+        return snapshot.getWaitPollMaxMillis();
+    }
+
+    public boolean isWaitServerSide() {
+        return snapshot.isWaitServerSide();
     }
 
     public int getPageLoadTimeout() {
-        String timeout = getProperty("page.load.timeout");
-        return timeout != null ? Integer.parseInt(timeout) : FrameworkConstants.PAGE_LOAD_TIMEOUT;
+        return snapshot.getPageLoadTimeout();
     }
 
     // Test Execution Configuration
     public boolean isParallelExecution() {
-        return Boolean.parseBoolean(getProperty("parallel.execution"));
+        return snapshot.isParallelExecution();
     }
 
     public int getThreadCount() {
-        String count = getProperty("thread.count");
-        return count != null ? Integer.parseInt(count) : 1;
+        return snapshot.getThreadCount();
+    }
+
+    /**
+     * Check whether test workers and background jobs run on virtual threads,
+     * usually passed as -Dexecution.mode=virtual
+     *
+     * @return true for execution.mode=virtual, false for platform threads
+     */
+    public boolean isVirtualThreadExecution() {
+        return snapshot.isVirtualThreadExecution();
+    }
+
+    // Sharding Configuration - usually passed as -Dshard.index=k -Dshard.total=n
+    public int getShardIndex() {
+        return snapshot.getShardIndex();
+    }
+
+    public int getShardTotal() {
+        return snapshot.getShardTotal();
+    }
+
+    // Capability Matrix Configuration - usually passed as -Dmatrix.file=config/matrix.json
+    public String getMatrixFile() {
+        return snapshot.getMatrixFile();
+    }
+
+    // Session Pool Configuration
+    public boolean isSessionPoolEnabled() {
+        return snapshot.isSessionPoolEnabled();
+    }
+
+    public int getSessionPoolSize() {
+        return snapshot.getSessionPoolSize();
+    }
+
+    public int getSessionMaxAge() {
+        return snapshot.getSessionMaxAge();
+    }
+
+    public int getSessionMaxTests() {
+        return snapshot.getSessionMaxTests();
+    }
+
+    public boolean isSessionPrewarmEnabled() {
+        return snapshot.isSessionPrewarmEnabled();
+    }
+
+    public int getSessionPrewarmMaxConcurrent() {
+        return snapshot.getSessionPrewarmMaxConcurrent();
+    }
+
+    // Page Object Configuration
+    public boolean isLocatorCompilerEnabled() {
+        return snapshot.isLocatorCompilerEnabled();
+    }
+
+    public boolean isElementCacheEnabled() {
+        return snapshot.isElementCacheEnabled();
+    }
+
+    public boolean isLocatorTelemetryEnabled() {
+        return snapshot.isLocatorTelemetryEnabled();
+    }
+
+    public boolean isScrollServerSide() {
+        return snapshot.isScrollServerSide();
     }
 
     // Reporting Configuration
     public String getReportTitle() {
-        return getProperty("report.title");
+        return snapshot.getReportTitle();
     }
 
     public String getReportName() {
-        return getProperty("report.name");
+        return snapshot.getReportName();
+    }
+
+    public boolean isCommandMetricsEnabled() {
+        return snapshot.isCommandMetricsEnabled();
+    }
+
+    public int getScreenshotQueueCapacity() {
+        return snapshot.getScreenshotQueueCapacity();
+    }
+
+    // Configuration Reload
+    public boolean isConfigReloadEnabled() {
+        return snapshot.isConfigReloadEnabled();
     }
 }
@@ -0,0 +1,557 @@
+package com.appium.config;
+
+import com.appium.constants.FrameworkConstants;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * ConfigSnapshot - Immutable, typed view of the configuration at one point in time
+ * Each value is resolved from three layers, highest first: a system property
+ * (-Dhttp.read.timeout=300), an environment variable (HTTP_READ_TIMEOUT=300)
+ * and config.properties. All values are parsed and validated once when the
+ * snapshot is built, and every problem is reported together, so getters are
+ * plain field reads.
+ */
+public final class ConfigSnapshot {
+
+    private static final Logger logger = LogManager.getLogger(ConfigSnapshot.class);
+    private static final Set<String> HTTP_VERSIONS = Set.of("HTTP_1_1", "HTTP_2");
+    private static final Set<String> EXECUTION_MODES = Set.of("platform", "virtual");
+
+    // Appium Server
+    private final String appiumServerUrl;
+    private final String appiumServerPort;
+    private final boolean appiumServerManaged;
+    private final int appiumServerCount;
+    private final String appiumServerIp;
+    private final String appiumJsPath;
+
+    // HTTP Client
+    private final int httpConnectTimeout;
+    private final int httpReadTimeout;
+    private final int httpMaxConnectionsPerHost;
+    private final String httpVersion;
+
+    // Platform
+    private final String platformName;
+    private final String deviceName;
+    private final String platformVersion;
+    private final String automationName;
+
+    // Device Registry
+    private final String deviceList;
+    private final String deviceDiscovery;
+    private final int systemPortBase;
+    private final int mjpegServerPortBase;
+    private final int chromedriverPortBase;
+    private final int deviceLeaseTimeout;
+
+    // Device Health
+    private final boolean devicePreflightEnabled;
+    private final int deviceFailureThreshold;
+    private final int deviceQuarantineCooldown;
+
+    // App
+    private final String appPath;
+    private final String appPackage;
+    private final String appActivity;
+    private final boolean autoGrantPermissions;
+    private final boolean noReset;
+    private final boolean fullReset;
+    private final boolean autoAcceptAlerts;
+
+    // Waits
+    private final int implicitWait;
+    private final int explicitWait;
+    private final int waitPollInitialMillis;
+    private final int waitPollMaxMillis;
+    private final boolean waitServerSide;
+    private final int pageLoadTimeout;
+
+    // Test Execution
+    private final boolean parallelExecution;
+    private final int threadCount;
+    private final boolean virtualThreadExecution;
+    private final int shardIndex;
+    private final int shardTotal;
+    private final boolean configReloadEnabled;
+    private final String matrixFile;
+
+    // Session Pool
+    private final boolean sessionPoolEnabled;
+    private final int sessionPoolSize;
+    private final int sessionMaxAge;
+    private final int sessionMaxTests;
+    private final boolean sessionPrewarmEnabled;
+    private final int sessionPrewarmMaxConcurrent;
+
+    // Page Objects
+    private final boolean locatorCompilerEnabled;
+    private final boolean elementCacheEnabled;
+    private final boolean locatorTelemetryEnabled;
+    private final boolean scrollServerSide;
+
+    // Reporting
+    private final String reportTitle;
+    private final String reportName;
+    private final boolean commandMetricsEnabled;
+    private final int screenshotQueueCapacity;
+
+    private ConfigSnapshot(Resolver resolver) {
+        appiumServerUrl = resolver.required("appium.server.url");
+        appiumServerPort = resolver.required("appium.server.port");
+        if (appiumServerPort != null) {
+            resolver.port("appium.server.port", FrameworkConstants.APPIUM_SERVER_PORT);
+        }
+        appiumServerManaged = resolver.bool("appium.server.managed");
+        appiumServerCount = resolver.positive("appium.server.count", 1);
+        String ip = resolver.optional("appium.server.ip");
+        appiumServerIp = ip != null ? ip : "127.0.0.1";
+        appiumJsPath = resolver.optional("appium.js.path");
+
+        httpConnectTimeout = resolver.positive("http.connect.timeout", FrameworkConstants.HTTP_CONNECT_TIMEOUT);
+        httpReadTimeout = resolver.positive("http.read.timeout", FrameworkConstants.HTTP_READ_TIMEOUT);
+        httpMaxConnectionsPerHost = resolver.positive("http.max.connections.per.host",
+                FrameworkConstants.HTTP_MAX_CONNECTIONS_PER_HOST);
+        httpVersion = resolver.oneOf("http.version", HTTP_VERSIONS, FrameworkConstants.HTTP_VERSION);
+
+        platformName = resolver.required("platform.name");
+        deviceName = resolver.required("device.name");
+        platformVersion = resolver.required("platform.version");
+        automationName = resolver.required("automation.name");
+
+        deviceList = resolver.optional("device.list");
+        deviceDiscovery = resolver.optional("device.discovery");
+        systemPortBase = resolver.port("system.port.base", FrameworkConstants.SYSTEM_PORT_BASE);
+        mjpegServerPortBase = resolver.port("mjpeg.server.port.base", FrameworkConstants.MJPEG_SERVER_PORT_BASE);
+        chromedriverPortBase = resolver.port("chromedriver.port.base", FrameworkConstants.CHROMEDRIVER_PORT_BASE);
+        deviceLeaseTimeout = resolver.positive("device.lease.timeout", FrameworkConstants.DEVICE_LEASE_TIMEOUT);
+
+        devicePreflightEnabled = resolver.bool("device.preflight.enabled");
+        deviceFailureThreshold = resolver.positive("device.failure.threshold",
+                FrameworkConstants.DEVICE_FAILURE_THRESHOLD);
+        deviceQuarantineCooldown = resolver.nonNegative("device.quarantine.cooldown",
+                FrameworkConstants.DEVICE_QUARANTINE_COOLDOWN);
+
+        appPath = resolver.optional("app.path");
+        appPackage = resolver.required("app.package");
+        appActivity = resolver.required("app.activity");
+        autoGrantPermissions = resolver.bool("auto.grant.permissions");
+        noReset = resolver.bool("no.reset");
+        fullReset = resolver.bool("full.reset");
+        autoAcceptAlerts = resolver.bool("auto.accept.alerts");
+
+        implicitWait = resolver.nonNegative("implicit.wait", FrameworkConstants.IMPLICIT_WAIT);
+        explicitWait = resolver.nonNegative("explicit.wait", FrameworkConstants.EXPLICIT_WAIT);
+        waitPollInitialMillis = resolver.positive("wait.poll.initial.millis",
+                FrameworkConstants.WAIT_POLL_INITIAL_MILLIS);
+        waitPollMaxMillis = resolver.positive("wait.poll.max.millis", FrameworkConstants.WAIT_POLL_MAX_MILLIS);
+        if (waitPollMaxMillis < waitPollInitialMillis) {
+            resolver.error("wait.poll.max.millis", String.valueOf(waitPollMaxMillis),
+                    "must not be less than wait.poll.initial.millis " + waitPollInitialMillis);
+        }
+        waitServerSide = resolver.bool("wait.server.side");
+        pageLoadTimeout = resolver.nonNegative("page.load.timeout", FrameworkConstants.PAGE_LOAD_TIMEOUT);
+
+        parallelExecution = resolver.bool("parallel.execution");
+        threadCount = resolver.positive("thread.count", 1);
+        virtualThreadExecution = "virtual".equals(resolver.oneOf("execution.mode", EXECUTION_MODES, "platform"));
+        shardTotal = resolver.positive("shard.total", 1);
+        shardIndex = resolver.nonNegative("shard.index", 0);
+        if (shardIndex >= shardTotal) {
+            resolver.error("shard.index", String.valueOf(shardIndex), "must be less than shard.total " + shardTotal);
+        }
+        configReloadEnabled = resolver.bool("config.reload.enabled");
+        matrixFile = resolver.optional("matrix.file");
+
+        sessionPoolEnabled = resolver.bool("session.pool.enabled");
+        sessionPoolSize = resolver.positive("session.pool.size", FrameworkConstants.SESSION_POOL_SIZE);
+        sessionMaxAge = resolver.positive("session.max.age", FrameworkConstants.SESSION_MAX_AGE);
+        sessionMaxTests = resolver.positive("session.max.tests", FrameworkConstants.SESSION_MAX_TESTS);
+        sessionPrewarmEnabled = resolver.bool("session.prewarm.enabled");
+        sessionPrewarmMaxConcurrent = resolver.positive("session.prewarm.max.concurrent", 1);
+
+        locatorCompilerEnabled = resolver.bool("locator.compiler.enabled");
+        elementCacheEnabled = resolver.bool("element.cache.enabled");
+        locatorTelemetryEnabled = resolver.bool("locator.telemetry.enabled");
+        scrollServerSide = resolver.bool("scroll.server.side");
+
+        reportTitle = resolver.required("report.title");
+        reportName = resolver.required("report.name");
+        commandMetricsEnabled = resolver.bool("command.metrics.enabled");
+        screenshotQueueCapacity = resolver.positive("screenshot.queue.capacity",
+                FrameworkConstants.SCREENSHOT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Build a snapshot from the file properties overridden by the environment and system properties
+     *
+     * @param file        properties read from config.properties
+     * @param environment environment variables, keys like HTTP_READ_TIMEOUT
+     * @param system      system properties, keys like http.read.timeout
+     * @return validated snapshot
+     * @throws IllegalArgumentException listing every invalid value
+     */
+    public static ConfigSnapshot load(Properties file, Map<String, String> environment, Properties system) {
+        Resolver resolver = new Resolver(file, environment, system);
+        ConfigSnapshot snapshot = new ConfigSnapshot(resolver);
+        if (!resolver.errors.isEmpty()) {
+            throw new IllegalArgumentException("Invalid configuration:\n  " + String.join("\n  ", resolver.errors));
+        }
+        if (!resolver.missing.isEmpty()) {
+            logger.warn("Properties not found in config file: {}", resolver.missing);
+        }
+        if (!resolver.overridden.isEmpty()) {
+            logger.info("Properties overridden by system properties or environment: {}", resolver.overridden);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Name of the environment variable overriding a property
+     *
+     * @param key property key, e.g. http.read.timeout
+     * @return variable name, e.g. HTTP_READ_TIMEOUT
+     */
+    public static String environmentName(String key) {
+        return key.toUpperCase(Locale.ROOT).replace('.', '_');
+    }
+
+    public String getAppiumServerUrl() {
+        return appiumServerUrl;
+    }
+
+    public String getAppiumServerPort() {
+        return appiumServerPort;
+    }
+
+    public boolean isAppiumServerManaged() {
+        return appiumServerManaged;
+    }
+
+    public int getAppiumServerCount() {
+        return appiumServerCount;
+    }
+
+    public String getAppiumServerIp() {
+        return appiumServerIp;
+    }
+
+    public String getAppiumJsPath() {
+        return appiumJsPath;
+    }
+
+    public int getHttpConnectTimeout() {
+        return httpConnectTimeout;
+    }
+
+    public int getHttpReadTimeout() {
+        return httpReadTimeout;
+    }
+
+    public int getHttpMaxConnectionsPerHost() {
+        return httpMaxConnectionsPerHost;
+    }
+
+    public String getHttpVersion() {
+        return httpVersion;
+    }
+
+    public String getPlatformName() {
+        return platformName;
+    }
+
+    public String getDeviceName() {
+        return deviceName;
+    }
+
+    public String getPlatformVersion() {
+        return platformVersion;
+    }
+
+    public String getAutomationName() {
+        return automationName;
+    }
+
+    public String getDeviceList() {
+        return deviceList;
+    }
+
+    public String getDeviceDiscovery() {
+        return deviceDiscovery;
+    }
+
+    public int getSystemPortBase() {
+        return systemPortBase;
+    }
+
+    public int getMjpegServerPortBase() {
+        return mjpegServerPortBase;
+    }
+
+    public int getChromedriverPortBase() {
+        return chromedriverPortBase;
+    }
+
+    public int getDeviceLeaseTimeout() {
+        return deviceLeaseTimeout;
+    }
+
+    public boolean isDevicePreflightEnabled() {
+        return devicePreflightEnabled;
+    }
+
+    public int getDeviceFailureThreshold() {
+        return deviceFailureThreshold;
+    }
+
+    public int getDeviceQuarantineCooldown() {
+        return deviceQuarantineCooldown;
+    }
+
+    public String getAppPath() {
+        return appPath;
+    }
+
+    public String getAppPackage() {
+        return appPackage;
+    }
+
+    public String getAppActivity() {
+        return appActivity;
+    }
+
+    public boolean getAutoGrantPermissions() {
+        return autoGrantPermissions;
+    }
+
+    public boolean getNoReset() {
+        return noReset;
+    }
+
+    public boolean getFullReset() {
+        return fullReset;
+    }
+
+    public boolean getAutoAcceptAlerts() {
+        return autoAcceptAlerts;
+    }
+
+    public int getImplicitWait() {
+        return implicitWait;
+    }
+
+    public int getExplicitWait() {
+        return explicitWait;
+    }
+
+    public int getWaitPollInitialMillis() {
+        return waitPollInitialMillis;
+    }
+
+    public int getWaitPollMaxMillis() {
+        return waitPollMaxMillis;
+    }
+
+    public boolean isWaitServerSide() {
+        return waitServerSide;
+    }
+
+    public int getPageLoadTimeout() {
+        return pageLoadTimeout;
+    }
+
+    public boolean isParallelExecution() {
+        return parallelExecution;
+    }
+
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    public boolean isVirtualThreadExecution() {
+        return virtualThreadExecution;
+    }
+
+    public int getShardIndex() {
+        return shardIndex;
+    }
+
+    public int getShardTotal() {
+        return shardTotal;
+    }
+
+    public boolean isConfigReloadEnabled() {
+        return configReloadEnabled;
+    }
+
+    public String getMatrixFile() {
+        return matrixFile;
+    }
+
+    public boolean isSessionPoolEnabled() {
+        return sessionPoolEnabled;
+    }
+
+    public int getSessionPoolSize() {
+        return sessionPoolSize;
+    }
+
+    public int getSessionMaxAge() {
+        return sessionMaxAge;
+    }
+
+    public int getSessionMaxTests() {
+        return sessionMaxTests;
+    }
+
+    public boolean isSessionPrewarmEnabled() {
+        return sessionPrewarmEnabled;
+    }
+
+    public int getSessionPrewarmMaxConcurrent() {
+        return sessionPrewarmMaxConcurrent;
+    }
+
+    public boolean isLocatorCompilerEnabled() {
+        return locatorCompilerEnabled;
+    }
+
+    public boolean isElementCacheEnabled() {
+        return elementCacheEnabled;
+    }
+
+    public boolean isLocatorTelemetryEnabled() {
+        return locatorTelemetryEnabled;
+    }
+
+    public boolean isScrollServerSide() {
+        return scrollServerSide;
+    }
+
+    public String getReportTitle() {
+        return reportTitle;
+    }
+
+    public String getReportName() {
+        return reportName;
+    }
+
+    public boolean isCommandMetricsEnabled() {
+        return commandMetricsEnabled;
+    }
+
+    public int getScreenshotQueueCapacity() {
+        return screenshotQueueCapacity;
+    }
+
+    /**
+     * Resolves raw values through the layers and collects problems while the snapshot is built
+     */
+    private static final class Resolver {
+        private final Properties file;
+        private final Map<String, String> environment;
+        private final Properties system;
+        private final List<String> errors = new ArrayList<>();
+        private final Set<String> missing = new TreeSet<>();
+        private final Set<String> overridden = new TreeSet<>();
+
+        private Resolver(Properties file, Map<String, String> environment, Properties system) {
+            this.file = file;
+            this.environment = environment != null ? environment : Collections.emptyMap();
+            this.system = system != null ? system : new Properties();
+        }
+
+        /**
+         * Resolve a value, treating blank values as unset
+         */
+        private String optional(String key) {
+            String value = system.getProperty(key);
+            if (value == null) {
+                value = environment.get(environmentName(key));
+            }
+            if (value != null) {
+                overridden.add(key);
+            } else {
+                value = file.getProperty(key);
+            }
+            return value != null && !value.isBlank() ? value.trim() : null;
+        }
+
+        private String required(String key) {
+            String value = optional(key);
+            if (value == null) {
+                missing.add(key);
+            }
+            return value;
+        }
+
+        private boolean bool(String key) {
+            String value = optional(key);
+            if (value == null) {
+                return false;
+            }
+            if (!"true".equalsIgnoreCase(value) && !"false".equalsIgnoreCase(value)) {
+                error(key, value, "must be true or false");
+            }
+            return Boolean.parseBoolean(value);
+        }
+
+        private int integer(String key, int defaultValue, int min, int max, String range) {
+            String value = optional(key);
+            if (value == null) {
+                return defaultValue;
+            }
+            try {
+                int parsed = Integer.parseInt(value);
+                if (parsed < min || parsed > max) {
+                    error(key, value, range);
+                    return defaultValue;
+                }
+                return parsed;
+            } catch (NumberFormatException e) {
+                error(key, value, "must be a whole number");
+                return defaultValue;
+            }
+        }
+
+        private int positive(String key, int defaultValue) {
+            return integer(key, defaultValue, 1, Integer.MAX_VALUE, "must be greater than 0");
+        }
+
+        private int nonNegative(String key, int defaultValue) {
+            return integer(key, defaultValue, 0, Integer.MAX_VALUE, "must not be negative");
+        }
+
+        private int port(String key, int defaultValue) {
+            return integer(key, defaultValue, 1, 65535, "must be a port between 1 and 65535");
+        }
+
+        private String oneOf(String key, Set<String> allowed, String defaultValue) {
+            String value = optional(key);
+            if (value == null) {
+                return defaultValue;
+            }
+            for (String candidate : allowed) {
+                if (candidate.equalsIgnoreCase(value)) {
+                    return candidate;
+                }
+            }
+            error(key, value, "must be one of " + new TreeSet<>(allowed));
+            return defaultValue;
+        }
+
+        private void error(String key, String value, String problem) {
+            errors.add(key + "=" + value + " " + problem);
+        }
+    }
+}
@@ -22,11 +22,35 @@ public final class FrameworkConstants {
     public static final String TEST_DATA_PATH = PROJECT_PATH + File.separator + "testdata" + File.separator;
 
     // Timeout Constants (in seconds)
-    public static final int IMPLICIT_WAIT = 10;
+    public static final int IMPLICIT_WAIT = 0;
     public static final int EXPLICIT_WAIT = 20;
     public static final int PAGE_LOAD_TIMEOUT = 30;
     public static final int FLUENT_WAIT_TIMEOUT = 30;
     public static final int FLUENT_WAIT_POLLING = 2;
+    public static final int WAIT_POLL_INITIAL_MILLIS = 50;
+    public static final int WAIT_POLL_MAX_MILLIS = 1000;
+
+    // Appium Server Constants
+    public static final int APPIUM_SERVER_PORT = 4723;
+
+    // HTTP Client Constants
+    public static final int HTTP_CONNECT_TIMEOUT = 10; // seconds
+    public static final int HTTP_READ_TIMEOUT = 180; // seconds
+    public static final int HTTP_MAX_CONNECTIONS_PER_HOST = 16;
+    public static final String HTTP_VERSION = "HTTP_1_1";
+
+    // Device Registry Constants
+    public static final int SYSTEM_PORT_BASE = 8200;
+    public static final int MJPEG_SERVER_PORT_BASE = 9200;
+    public static final int CHROMEDRIVER_PORT_BASE = 9515;
+    public static final int DEVICE_LEASE_TIMEOUT = 600; // seconds
+    public static final int DEVICE_FAILURE_THRESHOLD = 3;
+    public static final int DEVICE_QUARANTINE_COOLDOWN = 300; // seconds
+
+    // Session Pool Constants
+    public static final int SESSION_POOL_SIZE = 1;
+    public static final int SESSION_MAX_AGE = 1800; // seconds
+    public static final int SESSION_MAX_TESTS = 50;
 
     // Platform Constants
     public static final String PLATFORM_ANDROID = "Android";
@@ -39,9 +63,24 @@ public final class FrameworkConstants {
     public static final String EXTENT_REPORT_TITLE = "Appium Android Automation Report";
     public static final String EXTENT_DOCUMENT_TITLE = "Test Execution Report";
 
+    // Sharding Constants
+    public static final String SHARD_DIR_PREFIX = "shard-";
+    public static final String SHARD_RESULTS_FILE = "results.json";
+    public static final String MERGED_REPORT_DIR = "merged";
+    public static final String DURATION_HISTORY_FILE = "test-durations.json";
+    public static final String DURATION_HISTORY_PATH = REPORTS_PATH + DURATION_HISTORY_FILE;
+    public static final String COMMAND_LATENCY_FILE = "command-latency.json";
+    public static final String LOCATOR_TELEMETRY_FILE = "locator-telemetry.json";
+    public static final int LOCATOR_REPORT_TOP = 10;
+
+    // Capability Matrix Constants
+    public static final String MATRIX_CELL_PARAMETER = "matrix.cell";
+
     // Screenshot Constants
     public static final String SCREENSHOT_PREFIX = "Screenshot_";
     public static final String SCREENSHOT_EXTENSION = ".png";
+    public static final int SCREENSHOT_QUEUE_CAPACITY = 16;
+    public static final int SCREENSHOT_FLUSH_TIMEOUT = 60;
 
     // Test Data Constants
     public static final String EXCEL_EXTENSION = ".xlsx";
@@ -0,0 +1,204 @@
+package com.appium.driver;
+
+import com.appium.utils.ExecutionThreads;
+import io.appium.java_client.service.local.AppiumDriverLocalService;
+import io.appium.java_client.service.local.AppiumServiceBuilder;
+import io.appium.java_client.service.local.flags.GeneralServerFlag;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * AppiumServerPool - Starts and owns a set of local Appium servers
+ * Servers start in parallel, each with its own port and log file, and are
+ * restarted when found dead. Devices are spread across servers so that no
+ * single server serializes all sessions.
+ */
+public final class AppiumServerPool {
+
+    private static final Logger logger = LogManager.getLogger(AppiumServerPool.class);
+    private static final int MAX_PORT_PROBES = 100;
+
+    private final List<ManagedServer> servers;
+    private final Map<String, ManagedServer> deviceAssignments = new ConcurrentHashMap<>();
+    private final AtomicInteger nextServer = new AtomicInteger();
+
+    /**
+     * Create a pool of local Appium servers - nothing is started until {@link #startAll()}
+     *
+     * @param count     number of servers to run
+     * @param basePort  first port to try, following servers use the next free ports
+     * @param ipAddress address the servers listen on
+     * @param logDir    directory receiving one log file per server
+     * @param appiumJs  Appium main.js to run, or null to let the builder locate it
+     */
+    public AppiumServerPool(int count, int basePort, String ipAddress, File logDir, File appiumJs) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Appium server count must be at least 1");
+        }
+        List<ManagedServer> created = new ArrayList<>();
+        int port = basePort;
+        for (int i = 0; i < count; i++) {
+            port = findFreePort(port);
+            created.add(new ManagedServer(i, port, ipAddress, new File(logDir, "appium-server-" + port + ".log"),
+                    appiumJs));
+            port++;
+        }
+        this.servers = Collections.unmodifiableList(created);
+    }
+
+    /**
+     * Start all servers in parallel and wait until each one is ready
+     */
+    public void startAll() {
+        long start = System.nanoTime();
+        ExecutorService executor = ExecutionThreads.newTaskExecutor("appium-server-start", servers.size());
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (ManagedServer server : servers) {
+                tasks.add(() -> {
+                    server.ensureRunning();
+                    return null;
+                });
+            }
+            for (Future<Void> result : executor.invokeAll(tasks)) {
+                result.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to start Appium servers: " + e.getCause().getMessage(),
+                    e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while starting Appium servers", e);
+        } finally {
+            executor.shutdownNow();
+        }
+        logger.info("Started {} Appium servers in {} ms", servers.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Get the URL of the server assigned to a device, restarting it if it crashed
+     *
+     * @param device device a session is being created on
+     * @return server URL
+     */
+    public URL getServerUrl(Device device) {
+        ManagedServer server = deviceAssignments.computeIfAbsent(device.getUdid(),
+                udid -> servers.get(Math.floorMod(nextServer.getAndIncrement(), servers.size())));
+        server.ensureRunning();
+        return server.getUrl();
+    }
+
+    /**
+     * Stop all servers
+     */
+    public void stopAll() {
+        servers.forEach(ManagedServer::stop);
+    }
+
+    public int size() {
+        return servers.size();
+    }
+
+    private static int findFreePort(int startPort) {
+        for (int port = startPort; port < startPort + MAX_PORT_PROBES; port++) {
+            try (ServerSocket socket = new ServerSocket()) {
+                // Probe without SO_REUSEADDR so only a port nothing holds counts as free
+                socket.setReuseAddress(false);
+                socket.bind(new InetSocketAddress(port));
+                return port;
+            } catch (IOException e) {
+                logger.debug("Port {} is in use, trying next", port);
+            }
+        }
+        throw new IllegalStateException("No free port found starting at " + startPort);
+    }
+
+    /**
+     * One local Appium server with its port and log file
+     */
+    private static final class ManagedServer {
+        private final int index;
+        private final int port;
+        private final String ipAddress;
+        private final File logFile;
+        private final File appiumJs;
+        private final ReentrantLock lock = new ReentrantLock();
+        private AppiumDriverLocalService service;
+        private int starts;
+
+        private ManagedServer(int index, int port, String ipAddress, File logFile, File appiumJs) {
+            this.index = index;
+            this.port = port;
+            this.ipAddress = ipAddress;
+            this.logFile = logFile;
+            this.appiumJs = appiumJs;
+        }
+
+        /**
+         * Start the server if it was never started or has crashed
+         */
+        private void ensureRunning() {
+            lock.lock();
+            try {
+                if (service != null && service.isRunning()) {
+                    return;
+                }
+                if (service != null) {
+                    logger.warn("Appium server #{} on port {} is not responding, restarting it", index, port);
+                    service.stop();
+                }
+                logFile.getParentFile().mkdirs();
+                AppiumServiceBuilder builder = new AppiumServiceBuilder()
+                        .withIPAddress(ipAddress)
+                        .usingPort(port)
+                        .withLogFile(logFile)
+                        .withArgument(GeneralServerFlag.LOG_NO_COLORS);
+                if (appiumJs != null) {
+                    builder.withAppiumJS(appiumJs);
+                }
+                service = AppiumDriverLocalService.buildService(builder);
+                // start() blocks until the server answers its /status endpoint
+                service.start();
+                starts++;
+                logger.info("Appium server #{} ready at {} (start #{}, log: {})", index, service.getUrl(), starts,
+                        logFile.getAbsolutePath());
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private URL getUrl() {
+            return service.getUrl();
+        }
+
+        private void stop() {
+            lock.lock();
+            try {
+                if (service != null) {
+                    service.stop();
+                    logger.info("Stopped Appium server #{} on port {}", index, port);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.appium.driver;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * CircuitBreaker - Quarantines a device after consecutive infrastructure failures
+ * CLOSED devices take tests normally. After the failure threshold the breaker
+ * trips to OPEN and the device gets no tests until the cool-down has passed,
+ * then HALF_OPEN lets a single trial test through: success closes the breaker,
+ * failure trips it again.
+ */
+public final class CircuitBreaker {
+
+    private static final Logger logger = LogManager.getLogger(CircuitBreaker.class);
+
+    /**
+     * Breaker state
+     */
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long coolDownNanos;
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+
+    private final AtomicLong trips = new AtomicLong();
+    private final AtomicLong trials = new AtomicLong();
+    private final AtomicLong recoveries = new AtomicLong();
+
+    /**
+     * Create a breaker
+     *
+     * @param name             name used in log messages, usually the device UDID
+     * @param failureThreshold consecutive failures that trip the breaker
+     * @param coolDown         time a tripped breaker stays open before a trial
+     */
+    public CircuitBreaker(String name, int failureThreshold, Duration coolDown) {
+        this(name, failureThreshold, coolDown, System::nanoTime);
+    }
+
+    CircuitBreaker(String name, int failureThreshold, Duration coolDown, LongSupplier clock) {
+        this.name = name;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.coolDownNanos = coolDown.toNanos();
+        this.clock = clock;
+    }
+
+    /**
+     * Check whether a test may use the device, moving an expired OPEN breaker to HALF_OPEN
+     *
+     * @return true if the device may take a test
+     */
+    public synchronized boolean allowRequest() {
+        if (state == State.OPEN && clock.getAsLong() - openedAt >= coolDownNanos) {
+            transition(State.HALF_OPEN, "cool-down of " + Duration.ofNanos(coolDownNanos).getSeconds()
+                    + " s elapsed, allowing one trial");
+            trials.incrementAndGet();
+            return true;
+        }
+        return state == State.CLOSED;
+    }
+
+    /**
+     * Record a session or test that ran without infrastructure problems
+     */
+    public synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        if (state != State.CLOSED) {
+            recoveries.incrementAndGet();
+            transition(State.CLOSED, "device is healthy again");
+        }
+    }
+
+    /**
+     * Record an infrastructure failure, tripping the breaker at the threshold
+     *
+     * @param reason failure description
+     */
+    public synchronized void recordFailure(String reason) {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            trip(reason);
+        }
+    }
+
+    /**
+     * Open the breaker immediately, e.g. when a preflight check fails
+     *
+     * @param reason failure description
+     */
+    public synchronized void trip(String reason) {
+        openedAt = clock.getAsLong();
+        trips.incrementAndGet();
+        transition(State.OPEN, reason + " (" + consecutiveFailures + " consecutive failures)");
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public long getTrips() {
+        return trips.get();
+    }
+
+    public long getTrials() {
+        return trials.get();
+    }
+
+    public long getRecoveries() {
+        return recoveries.get();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%s: state=%s, trips=%d, trials=%d, recoveries=%d", name, state, getTrips(),
+                getTrials(), getRecoveries());
+    }
+
+    private void transition(State next, String reason) {
+        if (next == State.OPEN) {
+            logger.warn("Device {} quarantined ({} -> {}): {}", name, state, next, reason);
+        } else {
+            logger.info("Device {} breaker {} -> {}: {}", name, state, next, reason);
+        }
+        state = next;
+    }
+}
@@ -0,0 +1,98 @@
+package com.appium.driver;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Device - Immutable description of a device in the registry
+ * Carries the UDID, platform version, tags and the ports reserved for its
+ * sessions so that parallel sessions never collide
+ */
+public final class Device {
+
+    private final String udid;
+    private final String platformVersion;
+    private final Set<String> tags;
+    private final int systemPort;
+    private final int mjpegServerPort;
+    private final int chromedriverPort;
+
+    public Device(String udid, String platformVersion, Set<String> tags,
+            int systemPort, int mjpegServerPort, int chromedriverPort) {
+        if (udid == null || udid.isEmpty()) {
+            throw new IllegalArgumentException("Device UDID must not be empty");
+        }
+        this.udid = udid;
+        this.platformVersion = platformVersion;
+        this.tags = Collections.unmodifiableSet(new LinkedHashSet<>(tags));
+        this.systemPort = systemPort;
+        this.mjpegServerPort = mjpegServerPort;
+        this.chromedriverPort = chromedriverPort;
+    }
+
+    public String getUdid() {
+        return udid;
+    }
+
+    public String getPlatformVersion() {
+        return platformVersion;
+    }
+
+    public Set<String> getTags() {
+        return tags;
+    }
+
+    public int getSystemPort() {
+        return systemPort;
+    }
+
+    public int getMjpegServerPort() {
+        return mjpegServerPort;
+    }
+
+    public int getChromedriverPort() {
+        return chromedriverPort;
+    }
+
+    /**
+     * Check if this device carries all requested tags
+     *
+     * @param requiredTags tags requested by a test
+     * @return true if every tag is present
+     */
+    public boolean hasTags(Set<String> requiredTags) {
+        return tags.containsAll(requiredTags);
+    }
+
+    /**
+     * Check if this device runs the requested Android version - "13" matches
+     * "13.0" and "13.0.1", and a null request matches any device
+     *
+     * @param requiredVersion version requested by a test, or null
+     * @return true if the version matches
+     */
+    public boolean hasPlatformVersion(String requiredVersion) {
+        if (requiredVersion == null) {
+            return true;
+        }
+        return platformVersion != null
+                && (platformVersion.equals(requiredVersion) || platformVersion.startsWith(requiredVersion + "."));
+    }
+
+    /**
+     * Check if this device carries all requested tags and runs the requested version
+     *
+     * @param requiredTags    tags requested by a test
+     * @param requiredVersion version requested by a test, or null for any
+     * @return true if the device satisfies both
+     */
+    public boolean matches(Set<String> requiredTags, String requiredVersion) {
+        return hasTags(requiredTags) && hasPlatformVersion(requiredVersion);
+    }
+
+    @Override
+    public String toString() {
+        return udid + " (Android " + platformVersion + ", tags " + tags + ", systemPort " + systemPort + ")";
+    }
+}
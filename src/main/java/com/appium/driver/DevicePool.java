@@ -0,0 +1,266 @@
+package com.appium.driver;
+
+import com.appium.constants.FrameworkConstants;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * DevicePool - Leases devices exclusively to worker threads
+ * Requests are served first-come first-served: a released device goes to the
+ * longest waiting thread whose tags it satisfies. Devices whose circuit breaker
+ * is open are skipped, so tests go to healthy devices only.
+ */
+public final class DevicePool {
+
+    private static final Logger logger = LogManager.getLogger(DevicePool.class);
+    // Waiters re-check periodically so a quarantined device is picked up once its cool-down ends
+    private static final long RECHECK_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final List<Device> devices;
+    private final List<Device> freeDevices;
+    private final Map<String, CircuitBreaker> breakers;
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock(true);
+
+    public DevicePool(List<Device> devices) {
+        this(devices, FrameworkConstants.DEVICE_FAILURE_THRESHOLD,
+                Duration.ofSeconds(FrameworkConstants.DEVICE_QUARANTINE_COOLDOWN));
+    }
+
+    /**
+     * Create a pool with a circuit breaker per device
+     *
+     * @param devices          registered devices
+     * @param failureThreshold consecutive infrastructure failures that quarantine a device
+     * @param coolDown         time a quarantined device waits before a trial test
+     */
+    public DevicePool(List<Device> devices, int failureThreshold, Duration coolDown) {
+        this.devices = Collections.unmodifiableList(new ArrayList<>(devices));
+        this.freeDevices = new ArrayList<>(devices);
+        Map<String, CircuitBreaker> created = new LinkedHashMap<>();
+        for (Device device : devices) {
+            created.put(device.getUdid(), new CircuitBreaker(device.getUdid(), failureThreshold, coolDown));
+        }
+        this.breakers = Collections.unmodifiableMap(created);
+    }
+
+    /**
+     * Lease a device carrying all requested tags, waiting for one to be released
+     * if necessary
+     *
+     * @param tags    tags the device must carry, empty for any device
+     * @param timeout maximum time to wait for a device
+     * @return leased device
+     */
+    public Device lease(Set<String> tags, Duration timeout) {
+        return lease(tags, null, timeout);
+    }
+
+    /**
+     * Lease a device carrying all requested tags and running the requested
+     * Android version, waiting for one to be released if necessary
+     *
+     * @param tags            tags the device must carry, empty for any device
+     * @param platformVersion Android version the device must run, null for any
+     * @param timeout         maximum time to wait for a device
+     * @return leased device
+     */
+    public Device lease(Set<String> tags, String platformVersion, Duration timeout) {
+        String wanted = platformVersion != null ? "tags " + tags + " and Android " + platformVersion : "tags " + tags;
+        if (devices.stream().noneMatch(device -> device.matches(tags, platformVersion))) {
+            throw new IllegalArgumentException("No registered device matches " + wanted);
+        }
+
+        lock.lock();
+        try {
+            // A free healthy device never matches a queued waiter (release hands it over
+            // first), so taking one here cannot overtake an earlier request
+            Device device = takeFree(tags, platformVersion);
+            if (device != null) {
+                logger.info("Leased device {} to thread {}", device.getUdid(), Thread.currentThread().getName());
+                return device;
+            }
+
+            Waiter waiter = new Waiter(tags, platformVersion, lock.newCondition());
+            waiters.addLast(waiter);
+            logger.info("Thread {} waiting for a device with {} ({} waiting)",
+                    Thread.currentThread().getName(), wanted, waiters.size());
+
+            long deadline = System.nanoTime() + timeout.toNanos();
+            try {
+                while (waiter.device == null) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        throw new IllegalStateException("No device with " + wanted
+                                + " became available within " + timeout.getSeconds() + " seconds");
+                    }
+                    waiter.ready.awaitNanos(Math.min(remaining, RECHECK_NANOS));
+                    if (waiter.device == null) {
+                        dispatchFree();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a device", e);
+            } finally {
+                if (waiter.device == null) {
+                    waiters.remove(waiter);
+                }
+            }
+
+            logger.info("Leased device {} to thread {}", waiter.device.getUdid(), Thread.currentThread().getName());
+            return waiter.device;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Release a leased device, handing it to the longest waiting matching thread
+     *
+     * @param device device previously obtained from {@link #lease(Set, Duration)}
+     */
+    public void release(Device device) {
+        lock.lock();
+        try {
+            if (!handOver(device)) {
+                freeDevices.add(device);
+                logger.debug("Device {} returned to pool", device.getUdid());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Record that a session or test on a device ran without infrastructure problems
+     *
+     * @param device leased device
+     */
+    public void recordSuccess(Device device) {
+        getBreaker(device).recordSuccess();
+    }
+
+    /**
+     * Record an infrastructure failure on a device, quarantining it at the threshold
+     *
+     * @param device leased device
+     * @param reason failure description
+     */
+    public void recordFailure(Device device, String reason) {
+        getBreaker(device).recordFailure(reason);
+    }
+
+    /**
+     * Quarantine a device immediately
+     *
+     * @param device device that failed a check
+     * @param reason failure description
+     */
+    public void quarantine(Device device, String reason) {
+        getBreaker(device).trip(reason);
+    }
+
+    public CircuitBreaker getBreaker(Device device) {
+        return breakers.get(device.getUdid());
+    }
+
+    public List<Device> getDevices() {
+        return devices;
+    }
+
+    /**
+     * Get the number of devices that are not quarantined
+     *
+     * @return healthy device count
+     */
+    public int getHealthyCount() {
+        return (int) breakers.values().stream()
+                .filter(breaker -> breaker.getState() != CircuitBreaker.State.OPEN)
+                .count();
+    }
+
+    public int getAvailableCount() {
+        lock.lock();
+        try {
+            return freeDevices.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Hand a device to the longest waiting thread it matches, if its breaker allows it
+     *
+     * @return true if the device was handed over
+     */
+    private boolean handOver(Device device) {
+        Iterator<Waiter> iterator = waiters.iterator();
+        while (iterator.hasNext()) {
+            Waiter waiter = iterator.next();
+            if (device.matches(waiter.tags, waiter.platformVersion)) {
+                if (!getBreaker(device).allowRequest()) {
+                    return false;
+                }
+                iterator.remove();
+                waiter.device = device;
+                waiter.ready.signal();
+                logger.debug("Handed device {} to a waiting thread", device.getUdid());
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Offer free devices to waiters again - quarantined devices may have finished their cool-down
+     */
+    private void dispatchFree() {
+        freeDevices.removeIf(this::handOver);
+    }
+
+    /**
+     * Take the first free, non-quarantined device matching the tags and version
+     */
+    private Device takeFree(Set<String> tags, String platformVersion) {
+        Iterator<Device> iterator = freeDevices.iterator();
+        while (iterator.hasNext()) {
+            Device device = iterator.next();
+            if (device.matches(tags, platformVersion) && getBreaker(device).allowRequest()) {
+                iterator.remove();
+                return device;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Waiting thread with the tags and version it needs
+     */
+    private static final class Waiter {
+        private final Set<String> tags;
+        private final String platformVersion;
+        private final Condition ready;
+        private Device device;
+
+        private Waiter(Set<String> tags, String platformVersion, Condition ready) {
+            this.tags = tags;
+            this.platformVersion = platformVersion;
+            this.ready = ready;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.appium.driver;
+
+import com.appium.config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DeviceRegistry - Builds the list of devices available to the framework
+ * Devices come from the device.list property, from adb discovery, or fall back
+ * to the single device.name / platform.version pair
+ */
+public final class DeviceRegistry {
+
+    private static final Logger logger = LogManager.getLogger(DeviceRegistry.class);
+    private static final String DISCOVERY_ADB = "adb";
+
+    private final List<Device> devices;
+
+    public DeviceRegistry(List<Device> devices) {
+        if (devices.isEmpty()) {
+            throw new IllegalArgumentException("Device registry must contain at least one device");
+        }
+        this.devices = Collections.unmodifiableList(new ArrayList<>(devices));
+    }
+
+    public List<Device> getDevices() {
+        return devices;
+    }
+
+    /**
+     * Create registry from config
+     *
+     * @param config configuration to read devices and port bases from
+     * @return DeviceRegistry instance
+     */
+    public static DeviceRegistry fromConfig(ConfigReader config) {
+        PortAllocator ports = new PortAllocator(config.getSystemPortBase(),
+                config.getMjpegServerPortBase(), config.getChromedriverPortBase());
+
+        List<Device> devices;
+        if (DISCOVERY_ADB.equalsIgnoreCase(config.getDeviceDiscovery())) {
+            devices = discoverAdbDevices(ports);
+        } else if (config.getDeviceList() != null && !config.getDeviceList().isBlank()) {
+            devices = parse(config.getDeviceList(), ports);
+        } else {
+            devices = Collections.singletonList(
+                    ports.allocate(0, config.getDeviceName(), config.getPlatformVersion(), Collections.emptySet()));
+        }
+
+        devices.forEach(device -> logger.info("Registered device: {}", device));
+        return new DeviceRegistry(devices);
+    }
+
+    /**
+     * Parse a device list in the form
+     * {@code udid|platformVersion|tag1,tag2;udid|platformVersion}
+     *
+     * @param spec  device list specification
+     * @param ports port allocator for the parsed devices
+     * @return parsed devices in declaration order
+     */
+    public static List<Device> parse(String spec, PortAllocator ports) {
+        List<Device> devices = new ArrayList<>();
+        for (String entry : spec.split(";")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.trim().split("\\|");
+            String udid = parts[0].trim();
+            String platformVersion = parts.length > 1 ? parts[1].trim() : null;
+            Set<String> tags = parts.length > 2 ? parseTags(parts[2]) : Collections.emptySet();
+            devices.add(ports.allocate(devices.size(), udid, platformVersion, tags));
+        }
+        return devices;
+    }
+
+    private static Set<String> parseTags(String tags) {
+        Set<String> parsed = new LinkedHashSet<>();
+        Arrays.stream(tags.split(",")).map(String::trim).filter(tag -> !tag.isEmpty()).forEach(parsed::add);
+        return parsed;
+    }
+
+    /**
+     * Discover connected devices with {@code adb devices}
+     */
+    private static List<Device> discoverAdbDevices(PortAllocator ports) {
+        List<Device> devices = new ArrayList<>();
+        for (String line : runAdb("devices")) {
+            String[] columns = line.trim().split("\\s+");
+            if (columns.length == 2 && "device".equals(columns[1])) {
+                String udid = columns[0];
+                List<String> version = runAdb("-s", udid, "shell", "getprop", "ro.build.version.release");
+                String platformVersion = version.isEmpty() ? null : version.get(0).trim();
+                Set<String> tags = udid.startsWith("emulator-")
+                        ? Collections.singleton("emulator") : Collections.singleton("real");
+                devices.add(ports.allocate(devices.size(), udid, platformVersion, tags));
+            }
+        }
+        if (devices.isEmpty()) {
+            throw new IllegalStateException("Device discovery found no devices in 'adb devices' output");
+        }
+        return devices;
+    }
+
+    private static List<String> runAdb(String... args) {
+        List<String> command = new ArrayList<>();
+        command.add("adb");
+        command.addAll(Arrays.asList(args));
+        try {
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            List<String> lines = new ArrayList<>();
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lines.add(line);
+                }
+            }
+            process.waitFor(30, TimeUnit.SECONDS);
+            return lines;
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to run adb " + String.join(" ", args), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running adb", e);
+        }
+    }
+
+    /**
+     * PortAllocator - Assigns unique systemPort, mjpegServerPort and
+     * chromedriverPort values to each device from configurable bases
+     */
+    public static final class PortAllocator {
+        private final int systemPortBase;
+        private final int mjpegServerPortBase;
+        private final int chromedriverPortBase;
+
+        public PortAllocator(int systemPortBase, int mjpegServerPortBase, int chromedriverPortBase) {
+            this.systemPortBase = systemPortBase;
+            this.mjpegServerPortBase = mjpegServerPortBase;
+            this.chromedriverPortBase = chromedriverPortBase;
+        }
+
+        Device allocate(int index, String udid, String platformVersion, Set<String> tags) {
+            return new Device(udid, platformVersion, tags,
+                    systemPortBase + index, mjpegServerPortBase + index, chromedriverPortBase + index);
+        }
+    }
+}
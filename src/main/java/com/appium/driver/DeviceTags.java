@@ -0,0 +1,22 @@
+package com.appium.driver;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * DeviceTags - Requests a device carrying the given tags for a test method or
+ * for every test in a class
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface DeviceTags {
+
+    /**
+     * Tags the leased device must carry
+     *
+     * @return required device tags
+     */
+    String[] value();
+}
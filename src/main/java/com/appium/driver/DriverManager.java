@@ -1,26 +1,70 @@
 package com.appium.driver;
 
 import com.appium.config.ConfigReader;
+import com.appium.config.ConfigSnapshot;
+import com.appium.matrix.CapabilityMatrix;
+import com.appium.matrix.MatrixCell;
+import com.appium.constants.FrameworkConstants;
+import com.appium.metrics.CommandMetrics;
+import com.appium.metrics.LocatorTelemetry;
+import com.appium.pages.ElementCache;
+import com.appium.pages.LayoutMap;
+import com.appium.pages.PageRegistry;
+import com.appium.sharding.ShardContext;
+import com.appium.utils.ExecutionThreads;
+import com.appium.utils.ScrollEngine;
+import com.appium.utils.Viewport;
 import io.appium.java_client.AppiumDriver;
 import io.appium.java_client.android.AndroidDriver;
 import io.appium.java_client.android.options.UiAutomator2Options;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.remote.SessionId;
+import org.openqa.selenium.remote.UnreachableBrowserException;
 
+import java.io.File;
+import java.net.ConnectException;
 import java.net.MalformedURLException;
 import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 
 /**
  * DriverManager - Manages AppiumDriver lifecycle with ThreadLocal for parallel
  * execution
- * Implements thread-safe driver initialization and cleanup
+ * Implements thread-safe driver initialization and cleanup. Each test thread
+ * holds a single DriverContext that is removed when the driver quits, so the
+ * ThreadLocal stays cheap even with hundreds of virtual test threads.
  */
 public final class DriverManager {
 
     private static final Logger logger = LogManager.getLogger(DriverManager.class);
-    private static final ThreadLocal<AppiumDriver> driver = new ThreadLocal<>();
+    private static final ThreadLocal<DriverContext> context = new ThreadLocal<>();
     private static final ConfigReader config = ConfigReader.getInstance();
+    private static final DevicePool devicePool = new DevicePool(DeviceRegistry.fromConfig(config).getDevices(),
+            config.getDeviceFailureThreshold(), Duration.ofSeconds(config.getDeviceQuarantineCooldown()));
+    private static final Map<String, SessionPool<AppiumDriver>> sessionPools = new ConcurrentHashMap<>();
+    private static final AppiumServerPool serverPool = config.isAppiumServerManaged() ? createServerPool() : null;
+    private static final HttpClientFactory httpClientFactory = createHttpClientFactory();
+    private static final CapabilityMatrix matrix = CapabilityMatrix.getInstance();
+    private static final Map<String, UiAutomator2Options> cellOptions = createCellOptions();
 
     // Private constructor to prevent instantiation
     private DriverManager() {
@@ -28,108 +72,458 @@ public final class DriverManager {
     }
 
     /**
-     * Initialize AppiumDriver with capabilities from config
+     * Initialize AppiumDriver with capabilities from config on any available device
      */
     public static void initializeDriver() {
-        if (driver.get() != null) {
+        initializeDriver(new String[0]);
+    }
+
+    /**
+     * Initialize AppiumDriver on an exclusively leased device carrying the given tags
+     *
+     * @param deviceTags tags the device must carry
+     */
+    public static void initializeDriver(String... deviceTags) {
+        initializeDriver(null, deviceTags);
+    }
+
+    /**
+     * Initialize AppiumDriver for a capability matrix cell on an exclusively leased
+     * device matching the cell and carrying the given tags
+     *
+     * @param cell       matrix cell of the current test, or null for the configured capabilities
+     * @param deviceTags tags the device must carry in addition to the cell's
+     */
+    public static void initializeDriver(MatrixCell cell, String... deviceTags) {
+        if (context.get() != null) {
             logger.warn("Driver already initialized for thread: {}", Thread.currentThread().threadId());
             return;
         }
 
+        Set<String> tags = new LinkedHashSet<>(Arrays.asList(deviceTags));
+        if (cell != null) {
+            tags.addAll(cell.getDeviceTags());
+        }
+        Device device = null;
         try {
-            String platformName = config.getPlatformName();
-            logger.info("Initializing driver for platform: {}", platformName);
-
-            if ("Android".equalsIgnoreCase(platformName)) {
-                driver.set(createAndroidDriver());
-            } else {
-                throw new IllegalArgumentException("Unsupported platform: " + platformName);
-            }
-
-            configureTimeouts();
-            logger.info("Driver initialized successfully for thread: {}", Thread.currentThread().threadId());
+            long start = System.nanoTime();
+            device = devicePool.lease(tags, cell != null ? cell.getPlatformVersion() : null,
+                    Duration.ofSeconds(config.getDeviceLeaseTimeout()));
+            SessionPool<AppiumDriver> sessionPool = getSessionPool(device, cell);
+            context.set(new DriverContext(sessionPool != null ? sessionPool.acquire() : createDriver(device, cell),
+                    device, cell));
+            logger.info("Driver initialized successfully for thread: {} on device {}{} (waited {} ms for a session)",
+                    Thread.currentThread().threadId(), device.getUdid(),
+                    cell != null ? " for matrix cell " + cell.getId() : "",
+                    Duration.ofNanos(System.nanoTime() - start).toMillis());
 
         } catch (Exception e) {
+            if (device != null) {
+                devicePool.recordFailure(device, "session creation failed: " + e.getMessage());
+                devicePool.release(device);
+            }
             logger.error("Failed to initialize driver: {}", e.getMessage(), e);
             throw new RuntimeException("Driver initialization failed", e);
         }
     }
 
+    /**
+     * Get the session pool of a device and matrix cell, or null when pooling is disabled.
+     * Cells get separate pools because their sessions differ in app and capabilities.
+     *
+     * @param device leased device
+     * @param cell   matrix cell, or null for the configured capabilities
+     * @return SessionPool instance or null
+     */
+    private static SessionPool<AppiumDriver> getSessionPool(Device device, MatrixCell cell) {
+        if (!config.isSessionPoolEnabled()) {
+            return null;
+        }
+        String key = cell != null ? device.getUdid() + "|" + cell.getId() : device.getUdid();
+        return sessionPools.computeIfAbsent(key, unused -> createSessionPool(device, cell));
+    }
+
+    /**
+     * Create a new session for the configured platform
+     *
+     * @param device device to create the session on
+     * @param cell   matrix cell, or null for the configured capabilities
+     * @return AppiumDriver instance with timeouts configured
+     */
+    private static AppiumDriver createDriver(Device device, MatrixCell cell) {
+        String platformName = config.getPlatformName();
+        logger.info("Initializing driver for platform: {}", platformName);
+
+        AppiumDriver newDriver;
+        if ("Android".equalsIgnoreCase(platformName)) {
+            try {
+                newDriver = createAndroidDriver(device, cell);
+            } catch (MalformedURLException e) {
+                throw new IllegalArgumentException("Invalid Appium server URL: " + config.getAppiumServerUrl(), e);
+            }
+        } else {
+            throw new IllegalArgumentException("Unsupported platform: " + platformName);
+        }
+
+        configureTimeouts(newDriver);
+        return newDriver;
+    }
+
+    /**
+     * Create session pool for a device from config
+     *
+     * @param device device the pooled sessions run on
+     * @param cell   matrix cell, or null for the configured capabilities
+     * @return SessionPool instance
+     */
+    private static SessionPool<AppiumDriver> createSessionPool(Device device, MatrixCell cell) {
+        int maxConcurrentWarmups = config.isSessionPrewarmEnabled() ? config.getSessionPrewarmMaxConcurrent() : 0;
+        logger.info("Session pooling enabled for device {}{} - size: {}, max age: {} s, max tests per session: {}, "
+                + "concurrent warm-ups: {}", device.getUdid(), cell != null ? " and matrix cell " + cell.getId() : "",
+                config.getSessionPoolSize(), config.getSessionMaxAge(), config.getSessionMaxTests(),
+                maxConcurrentWarmups);
+        String appPackage = cell != null && cell.getAppPackage() != null ? cell.getAppPackage()
+                : config.getAppPackage();
+        return new SessionPool<>(() -> createDriver(device, cell),
+                config.getSessionPoolSize(),
+                Duration.ofSeconds(config.getSessionMaxAge()),
+                config.getSessionMaxTests(),
+                appPackage,
+                !config.getNoReset(),
+                maxConcurrentWarmups);
+    }
+
     /**
      * Create Android driver with UiAutomator2 options
      * 
+     * @param device device to create the session on
+     * @param cell   matrix cell, or null for the configured capabilities
      * @return AndroidDriver instance
      */
-    private static AndroidDriver createAndroidDriver() throws MalformedURLException {
+    private static AndroidDriver createAndroidDriver(Device device, MatrixCell cell) throws MalformedURLException {
+        // One snapshot per session so a concurrent reload cannot mix old and new values;
+        // matrix cells use the options precomputed at startup
+        UiAutomator2Options options = new UiAutomator2Options(cell != null
+                ? cellOptions.get(cell.getId())
+                : createAppOptions(config.getSnapshot(), null));
+
+        // Set device capabilities
+        options.setDeviceName(device.getUdid());
+        options.setUdid(device.getUdid());
+        if (device.getPlatformVersion() != null) {
+            options.setPlatformVersion(device.getPlatformVersion());
+        }
+
+        // Unique ports per device so parallel sessions on one host never collide
+        options.setSystemPort(device.getSystemPort());
+        options.setMjpegServerPort(device.getMjpegServerPort());
+        options.setChromedriverPort(device.getChromedriverPort());
+
+        // Create driver
+        URL serverUrl = getServerUrl(device);
+        logger.info("Connecting to Appium server at: {}", serverUrl);
+
+        return new AndroidDriver(serverUrl, httpClientFactory, options);
+    }
+
+    /**
+     * Create the device-independent capabilities - platform, app and resets
+     *
+     * @param settings configuration snapshot
+     * @param cell     matrix cell overriding the app and adding capabilities, or null
+     * @return UiAutomator2Options without device capabilities
+     */
+    private static UiAutomator2Options createAppOptions(ConfigSnapshot settings, MatrixCell cell) {
         UiAutomator2Options options = new UiAutomator2Options();
 
         // Set basic capabilities
-        options.setPlatformName(config.getPlatformName());
-        options.setDeviceName(config.getDeviceName());
-        options.setPlatformVersion(config.getPlatformVersion());
-        options.setAutomationName(config.getAutomationName());
+        options.setPlatformName(settings.getPlatformName());
+        options.setAutomationName(settings.getAutomationName());
 
         // Set app configuration
-        String appPath = config.getAppPath();
+        String appPath = cell != null && cell.getApp() != null ? cell.getApp() : settings.getAppPath();
         if (appPath != null && !appPath.isEmpty()) {
             options.setApp(appPath);
             logger.info("Using app from path: {}", appPath);
         } else {
             // Use app package and activity for installed apps
-            options.setAppPackage(config.getAppPackage());
-            options.setAppActivity(config.getAppActivity());
-            logger.info("Using installed app - Package: {}, Activity: {}",
-                    config.getAppPackage(), config.getAppActivity());
+            String appPackage = cell != null && cell.getAppPackage() != null
+                    ? cell.getAppPackage() : settings.getAppPackage();
+            String appActivity = cell != null && cell.getAppActivity() != null
+                    ? cell.getAppActivity() : settings.getAppActivity();
+            options.setAppPackage(appPackage);
+            options.setAppActivity(appActivity);
+            logger.info("Using installed app - Package: {}, Activity: {}", appPackage, appActivity);
         }
 
         // Set additional capabilities
-        options.setAutoGrantPermissions(config.getAutoGrantPermissions());
-        options.setNoReset(config.getNoReset());
-        options.setFullReset(config.getFullReset());
+        options.setAutoGrantPermissions(settings.getAutoGrantPermissions());
+        options.setNoReset(settings.getNoReset());
+        options.setFullReset(settings.getFullReset());
+        if (cell != null) {
+            cell.getCapabilities().forEach(options::setCapability);
+        }
+        return options;
+    }
 
-        // Create driver
-        URI serverUri = URI.create(config.getAppiumServerUrl());
-        logger.info("Connecting to Appium server at: {}", serverUri);
+    /**
+     * Precompute the capabilities of every matrix cell once, warning about cells
+     * no registered device can run
+     *
+     * @return options by cell ID, empty without a matrix
+     */
+    private static Map<String, UiAutomator2Options> createCellOptions() {
+        Map<String, UiAutomator2Options> options = new LinkedHashMap<>();
+        ConfigSnapshot settings = config.getSnapshot();
+        for (MatrixCell cell : matrix.getCells()) {
+            options.put(cell.getId(), createAppOptions(settings, cell));
+            if (devicePool.getDevices().stream()
+                    .noneMatch(device -> device.matches(cell.getDeviceTags(), cell.getPlatformVersion()))) {
+                logger.warn("No registered device can run matrix cell {} - its tests will fail", cell);
+            }
+        }
+        return Collections.unmodifiableMap(options);
+    }
 
-        return new AndroidDriver(serverUri.toURL(), options);
+    /**
+     * Get the Appium server a device's sessions are created on
+     *
+     * @param device device
+     * @return server URL
+     */
+    private static URL getServerUrl(Device device) throws MalformedURLException {
+        return serverPool != null
+                ? serverPool.getServerUrl(device)
+                : URI.create(config.getAppiumServerUrl()).toURL();
     }
 
     /**
-     * Configure driver timeouts
+     * Create pool of managed local Appium servers from config
+     *
+     * @return AppiumServerPool instance
+     */
+    private static AppiumServerPool createServerPool() {
+        String appiumJs = config.getAppiumJsPath();
+        int basePort = config.getAppiumServerPort() != null
+                ? Integer.parseInt(config.getAppiumServerPort())
+                : FrameworkConstants.APPIUM_SERVER_PORT;
+        return new AppiumServerPool(config.getAppiumServerCount(), basePort, config.getAppiumServerIp(),
+                new File(FrameworkConstants.LOG_FILE_PATH),
+                appiumJs != null && !appiumJs.isBlank() ? new File(appiumJs) : null);
+    }
+
+    /**
+     * Create the shared HTTP client factory from config, with command latency
+     * and locator telemetry recording when enabled
+     *
+     * @return HttpClientFactory instance
+     */
+    private static HttpClientFactory createHttpClientFactory() {
+        HttpClientFactory factory = new HttpClientFactory(
+                Duration.ofSeconds(config.getHttpConnectTimeout()),
+                Duration.ofSeconds(config.getHttpReadTimeout()),
+                config.getHttpMaxConnectionsPerHost(),
+                config.getHttpVersion());
+        if (config.isCommandMetricsEnabled()) {
+            factory.addFilter(CommandMetrics.filter());
+        }
+        if (config.isLocatorTelemetryEnabled()) {
+            factory.addFilter(LocatorTelemetry.filter());
+        }
+        return factory;
+    }
+
+    /**
+     * Start managed Appium servers in parallel - call once at the start of the suite.
+     * Does nothing when servers are managed externally.
      */
-    private static void configureTimeouts() {
-        if (driver.get() != null) {
-            driver.get().manage().timeouts()
-                    .implicitlyWait(Duration.ofSeconds(config.getImplicitWait()));
-            logger.info("Configured implicit wait: {} seconds", config.getImplicitWait());
+    public static void startServers() {
+        if (serverPool != null) {
+            serverPool.startAll();
         }
     }
 
+    /**
+     * Check every device and its server in parallel and quarantine the ones that
+     * fail - call once at the start of the suite, after {@link #startServers()}.
+     * With session pooling the checked sessions stay open for the first tests.
+     */
+    public static void runPreflight() {
+        if (!config.isDevicePreflightEnabled()) {
+            return;
+        }
+        List<Device> devices = devicePool.getDevices();
+        long start = System.nanoTime();
+        ExecutorService executor = ExecutionThreads.newTaskExecutor("device-preflight", devices.size());
+        try {
+            List<Callable<Void>> checks = new ArrayList<>();
+            for (Device device : devices) {
+                checks.add(() -> {
+                    checkDevice(device);
+                    return null;
+                });
+            }
+            executor.invokeAll(checks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during device preflight", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int healthy = devicePool.getHealthyCount();
+        logger.info("Preflight finished in {} ms: {} of {} devices healthy", Duration.ofNanos(
+                System.nanoTime() - start).toMillis(), healthy, devices.size());
+        if (healthy == 0) {
+            throw new IllegalStateException("Preflight failed - no healthy device or Appium server available");
+        }
+    }
+
+    /**
+     * Check a device's server status endpoint, then run a trivial command in a session on it
+     *
+     * @param device device to check
+     */
+    private static void checkDevice(Device device) {
+        try {
+            URI statusUri = URI.create(getServerUrl(device).toString().replaceAll("/$", "") + "/status");
+            HttpResponse<Void> status = HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofSeconds(config.getHttpConnectTimeout()))
+                    .build()
+                    .send(HttpRequest.newBuilder(statusUri)
+                            .timeout(Duration.ofSeconds(config.getHttpConnectTimeout()))
+                            .build(), HttpResponse.BodyHandlers.discarding());
+            if (status.statusCode() != 200) {
+                throw new IllegalStateException("server status returned HTTP " + status.statusCode());
+            }
+
+            // With a matrix the first tests need cell sessions, so the check session is not pooled
+            SessionPool<AppiumDriver> sessionPool = matrix.isEnabled() ? null : getSessionPool(device, null);
+            AppiumDriver session = sessionPool != null ? sessionPool.acquire() : createDriver(device, null);
+            try {
+                session.manage().timeouts().getImplicitWaitTimeout();
+            } finally {
+                if (sessionPool != null) {
+                    sessionPool.release(session);
+                } else {
+                    session.quit();
+                }
+            }
+            logger.info("Preflight passed for device {}", device.getUdid());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            devicePool.quarantine(device, "preflight interrupted");
+        } catch (Exception e) {
+            devicePool.quarantine(device, "preflight failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Report a failed test so infrastructure failures count against the device
+     * and its session is discarded instead of pooled
+     *
+     * @param failure failure of the current thread's test
+     */
+    public static void reportTestFailure(Throwable failure) {
+        DriverContext current = context.get();
+        if (current != null && isInfrastructureFailure(failure)) {
+            current.infrastructureFailed = true;
+            devicePool.recordFailure(current.device, failure.getClass().getSimpleName() + ": " + failure.getMessage());
+        }
+    }
+
+    /**
+     * Check whether a failure comes from the device, server or session rather than the app under test
+     */
+    private static boolean isInfrastructureFailure(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof NoSuchSessionException
+                    || cause instanceof SessionNotCreatedException
+                    || cause instanceof UnreachableBrowserException
+                    || cause instanceof ConnectException
+                    || cause instanceof HttpTimeoutException) {
+                return true;
+            }
+            // UiAutomator2 reports a crashed on-device server only through the message
+            String message = cause.getMessage();
+            if (message != null && message.contains("instrumentation process is not running")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Configure driver timeouts
+     *
+     * @param newDriver driver to configure
+     */
+    private static void configureTimeouts(AppiumDriver newDriver) {
+        newDriver.manage().timeouts()
+                .implicitlyWait(Duration.ofSeconds(config.getImplicitWait()));
+        logger.info("Configured implicit wait: {} seconds", config.getImplicitWait());
+    }
+
     /**
      * Get the current thread's driver instance
      * 
      * @return AppiumDriver instance
      */
     public static AppiumDriver getDriver() {
-        if (driver.get() == null) {
+        DriverContext current = context.get();
+        if (current == null) {
             logger.error("Driver not initialized for thread: {}", Thread.currentThread().threadId());
             throw new IllegalStateException("Driver not initialized. Call initializeDriver() first.");
         }
-        return driver.get();
+        return current.driver;
+    }
+
+    /**
+     * Get the device leased by the current thread
+     *
+     * @return leased Device, or null if no driver is initialized
+     */
+    public static Device getCurrentDevice() {
+        DriverContext current = context.get();
+        return current != null ? current.device : null;
     }
 
     /**
-     * Quit driver and remove from ThreadLocal
+     * Quit driver (or return it to the session pool), release the device and
+     * remove both from ThreadLocal
      */
     public static void quitDriver() {
-        if (driver.get() != null) {
+        DriverContext current = context.get();
+        if (current != null) {
+            Device device = current.device;
+            SessionPool<AppiumDriver> sessionPool = getSessionPool(device, current.cell);
+            boolean broken = current.infrastructureFailed;
+            // quit() clears the session id, so read it before the driver is released
+            SessionId sessionId = current.driver.getSessionId();
             try {
-                driver.get().quit();
-                logger.info("Driver quit successfully for thread: {}", Thread.currentThread().threadId());
+                if (broken && sessionPool != null) {
+                    sessionPool.invalidate(current.driver);
+                    logger.info("Driver discarded after infrastructure failure for thread: {}",
+                            Thread.currentThread().threadId());
+                } else if (sessionPool != null) {
+                    sessionPool.release(current.driver);
+                    logger.info("Driver returned to session pool for thread: {}", Thread.currentThread().threadId());
+                } else {
+                    current.driver.quit();
+                    logger.info("Driver quit successfully for thread: {}", Thread.currentThread().threadId());
+                }
             } catch (Exception e) {
                 logger.error("Error while quitting driver: {}", e.getMessage(), e);
             } finally {
-                driver.remove();
+                ElementCache.discard(sessionId);
+                PageRegistry.discard(sessionId);
+                LayoutMap.discard(sessionId);
+                Viewport.discard(sessionId);
+                context.remove();
+                if (!broken) {
+                    devicePool.recordSuccess(device);
+                }
+                devicePool.release(device);
             }
         } else {
             logger.warn("No driver to quit for thread: {}", Thread.currentThread().threadId());
@@ -142,6 +536,59 @@ public final class DriverManager {
      * @return true if driver is initialized, false otherwise
      */
     public static boolean isDriverInitialized() {
-        return driver.get() != null;
+        return context.get() != null;
+    }
+
+    /**
+     * Quit all pooled sessions and stop managed servers - call once at the end of the suite
+     */
+    public static void shutdown() {
+        sessionPools.values().forEach(SessionPool::shutdown);
+        devicePool.getDevices().forEach(device -> logger.info("Device health {}", devicePool.getBreaker(device)));
+        httpClientFactory.close();
+        if (config.isCommandMetricsEnabled()) {
+            CommandMetrics.writeReport(
+                    new File(ShardContext.getReportsPath() + FrameworkConstants.COMMAND_LATENCY_FILE));
+        }
+        if (config.isElementCacheEnabled()) {
+            logger.info("Element cache {}", ElementCache.getStats());
+        }
+        logger.info("Page registry {}", PageRegistry.getStats());
+        logger.info("Layout map {}", LayoutMap.getStats());
+        logger.info("Viewport {}", Viewport.getStats());
+        logger.info("Scroll engine {}", ScrollEngine.getStats());
+        if (config.isLocatorTelemetryEnabled()) {
+            LocatorTelemetry.writeReport(
+                    new File(ShardContext.getReportsPath() + FrameworkConstants.LOCATOR_TELEMETRY_FILE),
+                    FrameworkConstants.LOCATOR_REPORT_TOP);
+        }
+        if (serverPool != null) {
+            serverPool.stopAll();
+        }
+    }
+
+    /**
+     * Get the number of registered devices
+     *
+     * @return device count
+     */
+    public static int getDeviceCount() {
+        return devicePool.getDevices().size();
+    }
+
+    /**
+     * Driver, leased device, matrix cell and health of the current test thread
+     */
+    private static final class DriverContext {
+        private final AppiumDriver driver;
+        private final Device device;
+        private final MatrixCell cell;
+        private boolean infrastructureFailed;
+
+        private DriverContext(AppiumDriver driver, Device device, MatrixCell cell) {
+            this.driver = driver;
+            this.device = device;
+            this.cell = cell;
+        }
     }
 }
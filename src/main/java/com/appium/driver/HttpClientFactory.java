@@ -0,0 +1,237 @@
+package com.appium.driver;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.openqa.selenium.remote.http.WebSocket;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * HttpClientFactory - Shared, tunable HTTP clients for driver command traffic
+ * All sessions that target the same Appium server share one underlying client,
+ * and therefore one connection pool, instead of each session opening its own.
+ * Every request is counted per session so connection usage can be inspected.
+ */
+public final class HttpClientFactory implements HttpClient.Factory {
+
+    private static final Logger logger = LogManager.getLogger(HttpClientFactory.class);
+    private static final String SESSION_PATH = "/session/";
+
+    private final HttpClient.Factory delegate;
+    private final Duration connectTimeout;
+    private final Duration readTimeout;
+    private final String httpVersion;
+    private final int maxConnectionsPerHost;
+    private final Map<URI, HttpClient> sharedClients = new ConcurrentHashMap<>();
+    private final Map<String, SessionStats> sessionStats = new ConcurrentHashMap<>();
+    private final List<Filter> filters = new CopyOnWriteArrayList<>();
+
+    /**
+     * Create a factory on top of Selenium's default HTTP client
+     *
+     * @param connectTimeout        socket connect timeout
+     * @param readTimeout           response timeout, must cover session creation
+     * @param maxConnectionsPerHost maximum concurrent requests (and so connections) per server
+     * @param httpVersion           HTTP_1_1 or HTTP_2
+     */
+    public HttpClientFactory(Duration connectTimeout, Duration readTimeout, int maxConnectionsPerHost,
+            String httpVersion) {
+        this.delegate = HttpClient.Factory.createDefault();
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+        this.maxConnectionsPerHost = maxConnectionsPerHost;
+        this.httpVersion = httpVersion;
+    }
+
+    @Override
+    public HttpClient createClient(ClientConfig config) {
+        HttpClient shared = sharedClients.computeIfAbsent(config.baseUri(), uri -> {
+            logger.info("Creating shared HTTP client for {} (connect: {} s, read: {} s, {}, max connections: {})",
+                    uri, connectTimeout.getSeconds(), readTimeout.getSeconds(), httpVersion, maxConnectionsPerHost);
+            return delegate.createClient(tune(config));
+        });
+        return new SharedClient(shared);
+    }
+
+    /**
+     * Add a filter applied to every command - only clients created afterwards use it
+     *
+     * @param filter filter wrapping each request
+     */
+    public void addFilter(Filter filter) {
+        filters.add(filter);
+    }
+
+    /**
+     * Get request statistics of one session
+     *
+     * @param sessionId session ID
+     * @return statistics, or null if the session sent no requests
+     */
+    public SessionStats getSessionStats(String sessionId) {
+        return sessionStats.get(sessionId);
+    }
+
+    public Map<String, SessionStats> getAllSessionStats() {
+        return Collections.unmodifiableMap(sessionStats);
+    }
+
+    public int getSharedClientCount() {
+        return sharedClients.size();
+    }
+
+    /**
+     * Log per-session statistics and close all shared clients
+     */
+    public void close() {
+        sessionStats.forEach((sessionId, stats) -> logger.info("HTTP stats for session {}: {}", sessionId, stats));
+        sharedClients.values().forEach(HttpClient::close);
+        sharedClients.clear();
+    }
+
+    private ClientConfig tune(ClientConfig config) {
+        ClientConfig tuned = config.connectionTimeout(connectTimeout)
+                .readTimeout(readTimeout)
+                .version(httpVersion)
+                .withFilter(limitConcurrency(new Semaphore(maxConnectionsPerHost)))
+                .withFilter(recordSessionStats());
+        for (Filter filter : filters) {
+            tuned = tuned.withFilter(filter);
+        }
+        return tuned;
+    }
+
+    /**
+     * Cap concurrent requests to one server so that high thread counts reuse a
+     * bounded set of connections instead of opening new sockets
+     */
+    private static Filter limitConcurrency(Semaphore permits) {
+        return next -> request -> {
+            permits.acquireUninterruptibly();
+            try {
+                return next.execute(request);
+            } finally {
+                permits.release();
+            }
+        };
+    }
+
+    private Filter recordSessionStats() {
+        return next -> request -> {
+            long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                HttpResponse response = next.execute(request);
+                failed = response.getStatus() >= 500;
+                return response;
+            } finally {
+                String sessionId = extractSessionId(request.getUri());
+                if (sessionId != null) {
+                    sessionStats.computeIfAbsent(sessionId, id -> new SessionStats())
+                            .record(System.nanoTime() - start, failed);
+                }
+            }
+        };
+    }
+
+    /**
+     * Extract the session ID from a command path such as /wd/hub/session/{id}/element
+     */
+    static String extractSessionId(String path) {
+        int index = path.indexOf(SESSION_PATH);
+        if (index < 0) {
+            return null;
+        }
+        int start = index + SESSION_PATH.length();
+        int end = path.indexOf('/', start);
+        return end < 0 ? path.substring(start) : path.substring(start, end);
+    }
+
+    /**
+     * Request counters of one session
+     */
+    public static final class SessionStats {
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private void record(long nanos, boolean failed) {
+            requests.incrementAndGet();
+            totalNanos.addAndGet(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            if (failed) {
+                failures.incrementAndGet();
+            }
+        }
+
+        public long getRequests() {
+            return requests.get();
+        }
+
+        public long getFailures() {
+            return failures.get();
+        }
+
+        public double getAverageMillis() {
+            long count = requests.get();
+            return count == 0 ? 0 : totalNanos.get() / 1_000_000.0 / count;
+        }
+
+        public double getMaxMillis() {
+            return maxNanos.get() / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("requests=%d, failures=%d, avg=%.1f ms, max=%.1f ms",
+                    getRequests(), getFailures(), getAverageMillis(), getMaxMillis());
+        }
+    }
+
+    /**
+     * Per-session view of a shared client - closing a session must not close
+     * the connection pool other sessions are using
+     */
+    private static final class SharedClient implements HttpClient {
+        private final HttpClient shared;
+
+        private SharedClient(HttpClient shared) {
+            this.shared = shared;
+        }
+
+        @Override
+        public HttpResponse execute(HttpRequest request) {
+            return shared.execute(request);
+        }
+
+        @Override
+        public CompletableFuture<HttpResponse> executeAsync(HttpRequest request) {
+            return shared.executeAsync(request);
+        }
+
+        @Override
+        public WebSocket openSocket(HttpRequest request, WebSocket.Listener listener) {
+            return shared.openSocket(request, listener);
+        }
+
+        @Override
+        public void close() {
+            // Shared clients are closed by the factory at the end of the suite
+        }
+    }
+}
@@ -0,0 +1,435 @@
+package com.appium.driver;
+
+import com.appium.utils.ExecutionThreads;
+import io.appium.java_client.InteractsWithApps;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * SessionPool - Keeps Appium sessions alive across tests
+ * Lends health-checked sessions to test threads, resets app state between
+ * tests and only recreates a session when it is broken or exhausted.
+ * With pre-warming enabled, replacement sessions are built in the background
+ * so that acquiring a session becomes a handoff instead of a full session creation.
+ * A pool serves one device, which runs one UiAutomator2 session at a time, so a
+ * warm-up only starts once the device has no leased, idle or warming session.
+ *
+ * @param <D> session type, AppiumDriver for the framework's own sessions
+ */
+public final class SessionPool<D extends RemoteWebDriver> {
+
+    private static final Logger logger = LogManager.getLogger(SessionPool.class);
+
+    private final Supplier<D> sessionFactory;
+    private final int maxIdleSessions;
+    private final Duration maxAge;
+    private final int maxTestsPerSession;
+    private final String appPackage;
+    private final boolean clearAppData;
+    private final LongSupplier clock;
+
+    private final Deque<PooledSession<D>> idleSessions = new ArrayDeque<>();
+    private final Map<D, PooledSession<D>> leasedSessions = new ConcurrentHashMap<>();
+    private final Deque<Future<PooledSession<D>>> warmSessions = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final ExecutorService prewarmExecutor;
+    private final Semaphore warmupPermits;
+    private volatile boolean closed;
+
+    private final AtomicLong sessionsCreated = new AtomicLong();
+    private final AtomicLong sessionsReused = new AtomicLong();
+    private final AtomicLong sessionsRetired = new AtomicLong();
+    private final AtomicLong creationMillis = new AtomicLong();
+    private final AtomicLong savedMillis = new AtomicLong();
+    private final AtomicLong sessionsPrewarmed = new AtomicLong();
+    private final AtomicLong acquisitions = new AtomicLong();
+    private final AtomicLong waitNanos = new AtomicLong();
+
+    /**
+     * Create a session pool
+     *
+     * @param sessionFactory     creates and configures a brand new session
+     * @param maxIdleSessions    maximum number of idle sessions kept alive
+     * @param maxAge             maximum age of a session before it is recreated
+     * @param maxTestsPerSession maximum number of tests served by one session
+     * @param appPackage         package of the app under test, used for state reset
+     * @param clearAppData       true to clear app data between tests instead of a restart
+     * @param maxConcurrentWarmups maximum concurrent background warm-ups, 0 disables pre-warming
+     */
+    public SessionPool(Supplier<D> sessionFactory, int maxIdleSessions, Duration maxAge,
+            int maxTestsPerSession, String appPackage, boolean clearAppData, int maxConcurrentWarmups) {
+        this(sessionFactory, maxIdleSessions, maxAge, maxTestsPerSession, appPackage, clearAppData,
+                maxConcurrentWarmups, System::nanoTime);
+    }
+
+    SessionPool(Supplier<D> sessionFactory, int maxIdleSessions, Duration maxAge, int maxTestsPerSession,
+            String appPackage, boolean clearAppData, int maxConcurrentWarmups, LongSupplier clock) {
+        this.sessionFactory = sessionFactory;
+        this.maxIdleSessions = Math.max(0, maxIdleSessions);
+        this.maxAge = maxAge;
+        this.maxTestsPerSession = Math.max(1, maxTestsPerSession);
+        this.appPackage = appPackage;
+        this.clearAppData = clearAppData;
+        this.clock = clock;
+        if (maxConcurrentWarmups > 0) {
+            this.prewarmExecutor = ExecutionThreads.newElasticExecutor("session-prewarm");
+            this.warmupPermits = new Semaphore(maxConcurrentWarmups);
+        } else {
+            this.prewarmExecutor = null;
+            this.warmupPermits = null;
+        }
+    }
+
+    /**
+     * Borrow a healthy session, creating a new one if none can be reused
+     *
+     * @return session with a freshly reset app state
+     */
+    public D acquire() {
+        long start = System.nanoTime();
+        try {
+            return lease();
+        } finally {
+            acquisitions.incrementAndGet();
+            waitNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    private D lease() {
+        PooledSession<D> session;
+        while ((session = pollIdle()) != null) {
+            if (isExhausted(session)) {
+                retire(session, "exhausted");
+            } else if (!resetAppState(session)) {
+                retire(session, "failed health check");
+            } else {
+                sessionsReused.incrementAndGet();
+                savedMillis.addAndGet(getAverageCreationMillis());
+                leasedSessions.put(session.driver, session);
+                logger.info("Reusing pooled session {} (tests served: {})",
+                        session.driver.getSessionId(), session.testsServed);
+                return session.driver;
+            }
+        }
+
+        Future<PooledSession<D>> warm;
+        while ((warm = pollWarm()) != null) {
+            session = awaitWarmSession(warm);
+            if (session != null) {
+                leasedSessions.put(session.driver, session);
+                logger.info("Handing off pre-warmed session {}", session.driver.getSessionId());
+                return session.driver;
+            }
+        }
+
+        session = createSession();
+        leasedSessions.put(session.driver, session);
+        return session.driver;
+    }
+
+    /**
+     * Return a session to the pool once a test is finished
+     *
+     * @param driver session previously obtained from {@link #acquire()}
+     */
+    public void release(D driver) {
+        PooledSession<D> session = leasedSessions.remove(driver);
+        if (session == null) {
+            logger.warn("Session {} does not belong to the pool, quitting it", driver.getSessionId());
+            quitQuietly(driver);
+            return;
+        }
+
+        session.testsServed++;
+        if (isExhausted(session)) {
+            retire(session, "exhausted");
+            scheduleWarmup();
+            return;
+        }
+        if (prewarmExecutor != null && !isResponsive(session)) {
+            // Detect a dead session now so its replacement warms up while the next test is prepared
+            retire(session, "failed health check");
+            scheduleWarmup();
+            return;
+        }
+
+        lock.lock();
+        try {
+            if (idleSessions.size() < maxIdleSessions) {
+                idleSessions.push(session);
+                logger.debug("Session {} returned to pool", driver.getSessionId());
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        retire(session, "pool is full");
+    }
+
+    /**
+     * Discard a session that hit an infrastructure failure instead of returning it
+     * to the pool. No replacement is warmed up, the device is likely unhealthy.
+     *
+     * @param driver session previously obtained from {@link #acquire()}
+     */
+    public void invalidate(D driver) {
+        PooledSession<D> session = leasedSessions.remove(driver);
+        if (session != null) {
+            retire(session, "infrastructure failure");
+        } else {
+            quitQuietly(driver);
+        }
+    }
+
+    /**
+     * Quit all idle sessions and log pool statistics
+     */
+    public void shutdown() {
+        closed = true;
+        if (prewarmExecutor != null) {
+            prewarmExecutor.shutdownNow();
+        }
+        lock.lock();
+        try {
+            PooledSession<D> session;
+            while ((session = idleSessions.poll()) != null) {
+                retire(session, "pool shutdown");
+            }
+            Future<PooledSession<D>> warm;
+            while ((warm = warmSessions.poll()) != null) {
+                cancelWarmSession(warm);
+            }
+        } finally {
+            lock.unlock();
+        }
+        logger.info("Session pool closed - created: {}, reused: {}, pre-warmed: {}, retired: {}, "
+                + "setup time saved: {} s, average wait for a session: {} ms",
+                sessionsCreated.get(), sessionsReused.get(), sessionsPrewarmed.get(), sessionsRetired.get(),
+                savedMillis.get() / 1000.0, getAverageWaitMillis());
+    }
+
+    /**
+     * Get the estimated session setup time saved by reusing sessions
+     *
+     * @return saved time in milliseconds
+     */
+    public long getSavedSetupMillis() {
+        return savedMillis.get();
+    }
+
+    public long getSessionsCreated() {
+        return sessionsCreated.get();
+    }
+
+    public long getSessionsReused() {
+        return sessionsReused.get();
+    }
+
+    /**
+     * Get the total time test threads spent waiting in {@link #acquire()}
+     *
+     * @return wait time in milliseconds
+     */
+    public long getSessionWaitMillis() {
+        return Duration.ofNanos(waitNanos.get()).toMillis();
+    }
+
+    public long getAverageWaitMillis() {
+        long count = acquisitions.get();
+        return count == 0 ? 0 : getSessionWaitMillis() / count;
+    }
+
+    private PooledSession<D> pollIdle() {
+        lock.lock();
+        try {
+            return idleSessions.poll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Future<PooledSession<D>> pollWarm() {
+        lock.lock();
+        try {
+            return warmSessions.poll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Start building a session in the background if the device has no session
+     * and the warm-up limit allows it. A second session on the same device and
+     * system port would make the driver kill the one a test is using.
+     */
+    private void scheduleWarmup() {
+        if (prewarmExecutor == null || closed) {
+            return;
+        }
+        lock.lock();
+        try {
+            int liveSessions = leasedSessions.size() + idleSessions.size() + warmSessions.size();
+            if (liveSessions > 0 || maxIdleSessions == 0 || !warmupPermits.tryAcquire()) {
+                return;
+            }
+            warmSessions.add(prewarmExecutor.submit(this::warmUp));
+            logger.debug("Scheduled background session warm-up");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private PooledSession<D> warmUp() {
+        try {
+            PooledSession<D> session = createSession();
+            sessionsPrewarmed.incrementAndGet();
+            if (closed) {
+                retire(session, "pool shutdown");
+                return null;
+            }
+            return session;
+        } finally {
+            warmupPermits.release();
+        }
+    }
+
+    private PooledSession<D> awaitWarmSession(Future<PooledSession<D>> warm) {
+        try {
+            return warm.get();
+        } catch (ExecutionException e) {
+            logger.warn("Background session warm-up failed: {}", e.getCause().getMessage());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a pre-warmed session", e);
+        }
+    }
+
+    private void cancelWarmSession(Future<PooledSession<D>> warm) {
+        if (!warm.isDone()) {
+            // A running warm-up sees the closed flag and quits its own session
+            warm.cancel(true);
+            return;
+        }
+        try {
+            PooledSession<D> session = warm.get();
+            if (session != null) {
+                retire(session, "pool shutdown");
+            }
+        } catch (Exception e) {
+            logger.debug("Discarding failed warm-up: {}", e.getMessage());
+        }
+    }
+
+    private PooledSession<D> createSession() {
+        long start = System.nanoTime();
+        D driver = sessionFactory.get();
+        long elapsed = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        sessionsCreated.incrementAndGet();
+        creationMillis.addAndGet(elapsed);
+        logger.info("Created new session {} in {} ms", driver.getSessionId(), elapsed);
+        return new PooledSession<>(driver, clock.getAsLong());
+    }
+
+    private long getAverageCreationMillis() {
+        long created = sessionsCreated.get();
+        return created == 0 ? 0 : creationMillis.get() / created;
+    }
+
+    private boolean isExhausted(PooledSession<D> session) {
+        return session.testsServed >= maxTestsPerSession
+                || clock.getAsLong() - session.createdAt > maxAge.toNanos();
+    }
+
+    /**
+     * Reset app state and verify the session responds. A session that fails
+     * either step is considered broken.
+     */
+    private boolean resetAppState(PooledSession<D> session) {
+        D driver = session.driver;
+        try {
+            if (driver.getSessionId() == null) {
+                return false;
+            }
+            String targetPackage = resolveAppPackage(driver);
+            if (targetPackage != null && driver instanceof InteractsWithApps) {
+                InteractsWithApps apps = (InteractsWithApps) driver;
+                if (clearAppData) {
+                    driver.executeScript("mobile: clearApp", Map.of("appId", targetPackage));
+                } else {
+                    apps.terminateApp(targetPackage);
+                }
+                apps.activateApp(targetPackage);
+                return true;
+            }
+            // No app to reset - a cheap session-scoped command is enough as a health check
+            return isResponsive(session);
+        } catch (Exception e) {
+            logger.warn("Pooled session {} is unhealthy: {}", driver.getSessionId(), e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean isResponsive(PooledSession<D> session) {
+        try {
+            session.driver.manage().timeouts().getImplicitWaitTimeout();
+            return true;
+        } catch (Exception e) {
+            logger.warn("Session {} stopped responding: {}", session.driver.getSessionId(), e.getMessage());
+            return false;
+        }
+    }
+
+    private String resolveAppPackage(D driver) {
+        if (appPackage != null && !appPackage.isEmpty()) {
+            return appPackage;
+        }
+        Object sessionPackage = driver.getCapabilities().getCapability("appPackage");
+        return sessionPackage != null ? sessionPackage.toString() : null;
+    }
+
+    private void retire(PooledSession<D> session, String reason) {
+        sessionsRetired.incrementAndGet();
+        logger.info("Retiring session {} ({})", session.driver.getSessionId(), reason);
+        quitQuietly(session.driver);
+    }
+
+    private static void quitQuietly(RemoteWebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            logger.debug("Error while quitting pooled session: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Pooled session with its bookkeeping
+     */
+    private static final class PooledSession<D extends RemoteWebDriver> {
+        private final D driver;
+        private final long createdAt;
+        private int testsServed;
+
+        private PooledSession(D driver, long createdAt) {
+            this.driver = driver;
+            this.createdAt = createdAt;
+        }
+    }
+}
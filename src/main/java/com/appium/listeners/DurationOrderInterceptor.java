@@ -0,0 +1,195 @@
+package com.appium.listeners;
+
+import com.appium.constants.FrameworkConstants;
+import com.appium.sharding.DurationHistory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ISuiteResult;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * DurationOrderInterceptor - Orders test methods longest first for parallel runs
+ * Starting long tests first keeps all devices busy until the end instead of
+ * leaving one slow test running alone, so wall-clock time approaches total / N.
+ * Priorities still come first, and a test is weighted by the longest chain of
+ * tests depending on it so dependency chains start early. Tests without
+ * history count as the average known test; without any history the order is
+ * left unchanged.
+ */
+public class DurationOrderInterceptor implements IMethodInterceptor, ISuiteListener {
+
+    private static final Logger logger = LogManager.getLogger(DurationOrderInterceptor.class);
+
+    private final Supplier<Map<String, Long>> history;
+    private Map<String, Long> durations;
+    private long predictedMillis;
+
+    public DurationOrderInterceptor() {
+        this(() -> DurationHistory.load(new File(FrameworkConstants.DURATION_HISTORY_PATH)).getDurations());
+    }
+
+    /**
+     * @param history historical test durations by test ID, loaded on the first intercept
+     */
+    DurationOrderInterceptor(Supplier<Map<String, Long>> history) {
+        this.history = history;
+    }
+
+    @Override
+    public synchronized List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (durations == null) {
+            durations = history.get();
+        }
+        if (durations.isEmpty() || methods.size() < 2) {
+            return methods;
+        }
+
+        Map<String, Long> estimates = estimate(methods);
+        Map<String, Long> chainLengths = chainLengths(methods, estimates);
+        List<IMethodInstance> ordered = new ArrayList<>(methods);
+        ordered.sort(Comparator.<IMethodInstance>comparingInt(instance -> instance.getMethod().getPriority())
+                .thenComparing(instance -> chainLengths.get(DurationHistory.testId(instance.getMethod())),
+                        Comparator.reverseOrder())
+                .thenComparing(instance -> DurationHistory.testId(instance.getMethod())));
+
+        int threads = context.getCurrentXmlTest().getParallel().isParallel()
+                ? Math.max(1, context.getCurrentXmlTest().getThreadCount())
+                : 1;
+        long total = 0;
+        for (IMethodInstance instance : ordered) {
+            total += estimates.get(DurationHistory.testId(instance.getMethod()));
+        }
+        long makespan = predictMakespan(ordered, estimates, threads);
+        predictedMillis += makespan;
+        logger.info("Ordered {} methods of test '{}' longest first on {} threads: predicted makespan {} ms "
+                + "(total {} ms, ideal {} ms)", ordered.size(), context.getName(), threads, makespan, total,
+                total / threads);
+        return ordered;
+    }
+
+    /**
+     * Get the predicted makespan of all tests ordered so far
+     *
+     * @return sum of the predicted makespans of each test, in milliseconds
+     */
+    public synchronized long getPredictedMillis() {
+        return predictedMillis;
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        long firstStart = Long.MAX_VALUE;
+        long lastEnd = 0;
+        for (ISuiteResult suiteResult : suite.getResults().values()) {
+            ITestContext context = suiteResult.getTestContext();
+            for (Set<ITestResult> results : List.of(context.getPassedTests().getAllResults(),
+                    context.getFailedTests().getAllResults(), context.getSkippedTests().getAllResults())) {
+                for (ITestResult result : results) {
+                    if (result.getEndMillis() > 0) {
+                        firstStart = Math.min(firstStart, result.getStartMillis());
+                        lastEnd = Math.max(lastEnd, result.getEndMillis());
+                    }
+                }
+            }
+        }
+        if (predictedMillis > 0 && lastEnd > 0) {
+            logger.info("Suite '{}' makespan: predicted {} ms, actual {} ms", suite.getName(), predictedMillis,
+                    lastEnd - firstStart);
+        }
+    }
+
+    /**
+     * Estimated duration of each test - its history, or the average known test
+     */
+    private Map<String, Long> estimate(List<IMethodInstance> methods) {
+        long known = 0;
+        long knownTotal = 0;
+        for (IMethodInstance instance : methods) {
+            Long duration = durations.get(DurationHistory.testId(instance.getMethod()));
+            if (duration != null) {
+                known++;
+                knownTotal += duration;
+            }
+        }
+        long fallback = known == 0 ? 1 : Math.max(1, knownTotal / known);
+
+        Map<String, Long> estimates = new HashMap<>();
+        for (IMethodInstance instance : methods) {
+            String id = DurationHistory.testId(instance.getMethod());
+            estimates.put(id, durations.getOrDefault(id, fallback));
+        }
+        return estimates;
+    }
+
+    /**
+     * Length of the longest dependency chain starting at each test, the test included
+     */
+    private static Map<String, Long> chainLengths(List<IMethodInstance> methods, Map<String, Long> estimates) {
+        Map<String, List<String>> dependents = new HashMap<>();
+        for (IMethodInstance instance : methods) {
+            ITestNGMethod method = instance.getMethod();
+            for (String dependency : method.getMethodsDependedUpon()) {
+                dependents.computeIfAbsent(dependency, key -> new ArrayList<>())
+                        .add(DurationHistory.testId(method));
+            }
+        }
+
+        Map<String, Long> lengths = new HashMap<>();
+        for (String id : estimates.keySet()) {
+            chainLength(id, estimates, dependents, lengths);
+        }
+        return lengths;
+    }
+
+    private static long chainLength(String id, Map<String, Long> estimates, Map<String, List<String>> dependents,
+            Map<String, Long> lengths) {
+        Long known = lengths.get(id);
+        if (known != null) {
+            return known;
+        }
+        // Placeholder guards against cycles, which TestNG rejects anyway
+        lengths.put(id, estimates.get(id));
+        long longestTail = 0;
+        for (String dependent : dependents.getOrDefault(id, List.of())) {
+            if (estimates.containsKey(dependent)) {
+                longestTail = Math.max(longestTail, chainLength(dependent, estimates, dependents, lengths));
+            }
+        }
+        long length = estimates.get(id) + longestTail;
+        lengths.put(id, length);
+        return length;
+    }
+
+    /**
+     * Simulate threads taking the next test in order as soon as they are free
+     */
+    private static long predictMakespan(List<IMethodInstance> ordered, Map<String, Long> estimates, int threads) {
+        PriorityQueue<Long> freeAt = new PriorityQueue<>();
+        for (int i = 0; i < threads; i++) {
+            freeAt.add(0L);
+        }
+        long makespan = 0;
+        for (IMethodInstance instance : ordered) {
+            long end = freeAt.poll() + estimates.get(DurationHistory.testId(instance.getMethod()));
+            makespan = Math.max(makespan, end);
+            freeAt.add(end);
+        }
+        return makespan;
+    }
+}
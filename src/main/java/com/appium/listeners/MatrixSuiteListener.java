@@ -0,0 +1,69 @@
+package com.appium.listeners;
+
+import com.appium.config.ConfigReader;
+import com.appium.constants.FrameworkConstants;
+import com.appium.matrix.CapabilityMatrix;
+import com.appium.matrix.MatrixCell;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * MatrixSuiteListener - Runs every test of the suite once per capability matrix cell
+ * Each &lt;test&gt; is cloned per cell as "name [cell]" with the cell ID as the
+ * matrix.cell parameter, and the clones run in parallel so the whole grid
+ * takes about as long as its slowest cell. Devices are leased per cell, so
+ * cells without a free matching device simply wait. Does nothing without
+ * matrix.file.
+ */
+public class MatrixSuiteListener implements IAlterSuiteListener {
+
+    private static final Logger logger = LogManager.getLogger(MatrixSuiteListener.class);
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        CapabilityMatrix matrix = CapabilityMatrix.getInstance();
+        if (!matrix.isEnabled()) {
+            return;
+        }
+        ConfigReader config = ConfigReader.getInstance();
+        int methodThreads = config.isParallelExecution() ? config.getThreadCount() : 0;
+        for (XmlSuite suite : suites) {
+            expand(suite, matrix.getCells(), methodThreads);
+        }
+    }
+
+    /**
+     * Replace the suite's tests with one copy per cell
+     *
+     * @param suite         suite to expand
+     * @param cells         matrix cells
+     * @param methodThreads threads running the methods of one cell in parallel, 0 to run them in order
+     */
+    public static void expand(XmlSuite suite, List<MatrixCell> cells, int methodThreads) {
+        List<XmlTest> originals = new ArrayList<>(suite.getTests());
+        suite.getTests().clear();
+        for (XmlTest original : originals) {
+            for (MatrixCell cell : cells) {
+                // Cloning registers the copy with the suite
+                XmlTest copy = (XmlTest) original.clone();
+                copy.setName(original.getName() + " [" + cell.getId() + "]");
+                copy.addParameter(FrameworkConstants.MATRIX_CELL_PARAMETER, cell.getId());
+                if (methodThreads > 0) {
+                    copy.setParallel(XmlSuite.ParallelMode.METHODS);
+                    copy.setThreadCount(methodThreads);
+                }
+            }
+        }
+
+        suite.setParallel(XmlSuite.ParallelMode.TESTS);
+        suite.setThreadCount(suite.getTests().size());
+        logger.info("Suite '{}' expanded to {} tests over {} matrix cells, all running in parallel",
+                suite.getName(), suite.getTests().size(), cells.size());
+    }
+}
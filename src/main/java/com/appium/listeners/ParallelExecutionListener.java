@@ -0,0 +1,35 @@
+package com.appium.listeners;
+
+import com.appium.config.ConfigReader;
+import com.appium.matrix.CapabilityMatrix;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+
+import java.util.List;
+
+/**
+ * ParallelExecutionListener - Applies parallel.execution and thread.count from
+ * config to the TestNG suite so that tests spread across all registered devices
+ * With a capability matrix, MatrixSuiteListener applies them per cell instead.
+ */
+public class ParallelExecutionListener implements IAlterSuiteListener {
+
+    private static final Logger logger = LogManager.getLogger(ParallelExecutionListener.class);
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        ConfigReader config = ConfigReader.getInstance();
+        if (!config.isParallelExecution() || CapabilityMatrix.getInstance().isEnabled()) {
+            return;
+        }
+
+        for (XmlSuite suite : suites) {
+            suite.setParallel(XmlSuite.ParallelMode.METHODS);
+            suite.setThreadCount(config.getThreadCount());
+            logger.info("Suite '{}' runs methods in parallel with {} threads", suite.getName(),
+                    config.getThreadCount());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.appium.listeners;
+
+import com.appium.constants.FrameworkConstants;
+import com.appium.sharding.DurationHistory;
+import com.appium.sharding.ShardContext;
+import com.appium.sharding.ShardPlanner;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * ShardInterceptor - Keeps only the test methods assigned to this shard
+ * Enabled by -Dshard.index=k -Dshard.total=n. Every node plans the whole suite
+ * from the same testng.xml and duration history, so shards are disjoint and
+ * together cover all tests. Each &lt;test&gt; is planned on its own, so tests that
+ * run in parallel (matrix cells) get the same plan whatever order they are
+ * intercepted in. Classes with dependsOnMethods/dependsOnGroups are kept whole
+ * on one shard.
+ */
+public class ShardInterceptor implements IMethodInterceptor {
+
+    private static final Logger logger = LogManager.getLogger(ShardInterceptor.class);
+
+    private final int shardIndex;
+    private final int shardTotal;
+    private final Supplier<Map<String, Long>> history;
+    private Map<String, Long> durations;
+
+    public ShardInterceptor() {
+        this(ShardContext.getIndex(), ShardContext.getTotal(),
+                () -> DurationHistory.load(new File(FrameworkConstants.DURATION_HISTORY_PATH)).getDurations());
+    }
+
+    /**
+     * @param shardIndex shard this node runs
+     * @param shardTotal number of shards
+     * @param history    historical test durations by test ID, loaded on the first sharded intercept
+     */
+    ShardInterceptor(int shardIndex, int shardTotal, Supplier<Map<String, Long>> history) {
+        this.shardIndex = shardIndex;
+        this.shardTotal = shardTotal;
+        this.history = history;
+    }
+
+    @Override
+    public synchronized List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (shardTotal <= 1) {
+            return methods;
+        }
+        if (durations == null) {
+            durations = history.get();
+        }
+
+        Set<String> dependentClasses = new HashSet<>();
+        for (IMethodInstance instance : methods) {
+            ITestNGMethod method = instance.getMethod();
+            if (method.getMethodsDependedUpon().length > 0 || method.getGroupsDependedUpon().length > 0) {
+                dependentClasses.add(method.getRealClass().getName());
+            }
+        }
+
+        // Units are planned together: single methods, or whole classes with dependencies
+        Map<String, String> unitByTest = new LinkedHashMap<>();
+        Map<String, Long> unitDurations = new HashMap<>();
+        for (IMethodInstance instance : methods) {
+            String testId = DurationHistory.testId(instance.getMethod());
+            String className = instance.getMethod().getRealClass().getName();
+            String unit = dependentClasses.contains(className) ? className : testId;
+            unitByTest.put(testId, unit);
+            Long duration = durations.get(testId);
+            if (duration != null) {
+                unitDurations.merge(unit, duration, Long::sum);
+            }
+        }
+
+        // A fresh planner per test: loads carried over from other tests would depend on intercept order
+        ShardPlanner planner = new ShardPlanner(shardTotal);
+        Map<String, Integer> assignment = planner.assign(new HashSet<>(unitByTest.values()), unitDurations);
+        List<IMethodInstance> selected = new ArrayList<>();
+        for (IMethodInstance instance : methods) {
+            String unit = unitByTest.get(DurationHistory.testId(instance.getMethod()));
+            if (assignment.get(unit) == shardIndex) {
+                selected.add(instance);
+            }
+        }
+
+        logger.info("Shard {}/{} runs {} of {} methods in test '{}' (planned load {} ms)", shardIndex, shardTotal,
+                selected.size(), methods.size(), context.getName(), planner.getLoad(shardIndex));
+        return selected;
+    }
+}
@@ -0,0 +1,79 @@
+package com.appium.listeners;
+
+import com.appium.constants.FrameworkConstants;
+import com.appium.sharding.DurationHistory;
+import com.appium.sharding.ShardContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ShardResultListener - Writes this run's test results to its reports directory
+ * The file is what the shard merge step combines into one report
+ */
+public class ShardResultListener implements ITestListener, ISuiteListener {
+
+    private static final Logger logger = LogManager.getLogger(ShardResultListener.class);
+
+    private final List<Map<String, Object>> results = Collections.synchronizedList(new ArrayList<>());
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        record(result, "PASS");
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        record(result, "FAIL");
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        record(result, "SKIP");
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        File file = new File(ShardContext.getReportsPath() + FrameworkConstants.SHARD_RESULTS_FILE);
+        try {
+            file.getParentFile().mkdirs();
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, results);
+            logger.info("Results of {} tests written to: {}", results.size(), file.getAbsolutePath());
+        } catch (IOException e) {
+            logger.error("Failed to write test results: {}", e.getMessage(), e);
+        }
+    }
+
+    private void record(ITestResult result, String status) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", DurationHistory.testId(result.getMethod()));
+        row.put("suite", result.getTestContext().getSuite().getName());
+        row.put("test", result.getTestContext().getName());
+        String cell = result.getTestContext().getCurrentXmlTest()
+                .getParameter(FrameworkConstants.MATRIX_CELL_PARAMETER);
+        if (cell != null) {
+            row.put("cell", cell);
+        }
+        row.put("status", status);
+        // Tests skipped before starting have no end time
+        row.put("durationMs", Math.max(0, result.getEndMillis() - result.getStartMillis()));
+        row.put("shard", ShardContext.getIndex());
+        if (result.getThrowable() != null) {
+            row.put("error", String.valueOf(result.getThrowable().getMessage()));
+        }
+        results.add(row);
+    }
+}
@@ -0,0 +1,208 @@
+package com.appium.matrix;
+
+import com.appium.config.ConfigReader;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * CapabilityMatrix - Expands a JSON compatibility matrix into run cells
+ * Every combination of the platformVersions, deviceTags and apps axes becomes
+ * one cell, minus the combinations listed under exclude. A missing axis means
+ * "any device" or "the configured app". Example:
+ * <pre>
+ * {
+ *   "platformVersions": ["13", "14"],
+ *   "deviceTags": [["phone"], ["tablet"]],
+ *   "apps": [{"name": "release", "app": "/builds/app-release.apk"},
+ *            {"name": "beta", "app": "/builds/app-beta.apk"}],
+ *   "capabilities": {"appium:language": "en"},
+ *   "exclude": [{"platformVersion": "13", "deviceTags": ["tablet"]}]
+ * }
+ * </pre>
+ */
+public final class CapabilityMatrix {
+
+    private static final Logger logger = LogManager.getLogger(CapabilityMatrix.class);
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static volatile CapabilityMatrix instance;
+
+    private final Map<String, MatrixCell> cells;
+
+    private CapabilityMatrix(List<MatrixCell> cells) {
+        Map<String, MatrixCell> byId = new LinkedHashMap<>();
+        for (MatrixCell cell : cells) {
+            if (byId.put(cell.getId(), cell) != null) {
+                throw new IllegalArgumentException("Duplicate matrix cell " + cell.getId());
+            }
+        }
+        this.cells = Collections.unmodifiableMap(byId);
+    }
+
+    /**
+     * Get the matrix named by matrix.file, loaded once (Thread-safe)
+     *
+     * @return CapabilityMatrix instance, without cells when no matrix is configured
+     */
+    public static CapabilityMatrix getInstance() {
+        if (instance == null) {
+            synchronized (CapabilityMatrix.class) {
+                if (instance == null) {
+                    String path = ConfigReader.getInstance().getMatrixFile();
+                    instance = path != null ? load(new File(path)) : new CapabilityMatrix(List.of());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Load and expand a matrix definition
+     *
+     * @param file JSON matrix definition
+     * @return expanded matrix
+     */
+    public static CapabilityMatrix load(File file) {
+        try {
+            CapabilityMatrix matrix = expand(mapper.readTree(file));
+            logger.info("Loaded capability matrix {} with {} cells: {}", file.getPath(), matrix.cells.size(),
+                    matrix.cells.keySet());
+            return matrix;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot read capability matrix " + file.getAbsolutePath() + ": "
+                    + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Expand a parsed matrix definition into its cells
+     *
+     * @param definition JSON matrix definition
+     * @return expanded matrix
+     */
+    public static CapabilityMatrix expand(JsonNode definition) {
+        List<String> versions = new ArrayList<>();
+        definition.path("platformVersions").forEach(version -> versions.add(version.asText()));
+        if (versions.isEmpty()) {
+            versions.add(null);
+        }
+
+        List<Set<String>> tagSets = new ArrayList<>();
+        definition.path("deviceTags").forEach(tags -> tagSets.add(toTags(tags)));
+        if (tagSets.isEmpty()) {
+            tagSets.add(Collections.emptySet());
+        }
+
+        List<JsonNode> apps = new ArrayList<>();
+        definition.path("apps").forEach(apps::add);
+        if (apps.isEmpty()) {
+            apps.add(mapper.createObjectNode());
+        }
+
+        Map<String, Object> sharedCapabilities = toCapabilities(definition.path("capabilities"));
+        List<MatrixCell> cells = new ArrayList<>();
+        for (String version : versions) {
+            for (Set<String> tags : tagSets) {
+                for (JsonNode app : apps) {
+                    String appName = text(app, "name");
+                    if (isExcluded(definition.path("exclude"), version, tags, appName)) {
+                        continue;
+                    }
+                    Map<String, Object> capabilities = new LinkedHashMap<>(sharedCapabilities);
+                    capabilities.putAll(toCapabilities(app.path("capabilities")));
+                    cells.add(new MatrixCell(cellId(version, tags, appName), version, tags, appName,
+                            text(app, "app"), text(app, "appPackage"), text(app, "appActivity"), capabilities));
+                }
+            }
+        }
+        return new CapabilityMatrix(cells);
+    }
+
+    public boolean isEnabled() {
+        return !cells.isEmpty();
+    }
+
+    public List<MatrixCell> getCells() {
+        return List.copyOf(cells.values());
+    }
+
+    /**
+     * Get a cell by ID
+     *
+     * @param id cell ID
+     * @return MatrixCell instance
+     */
+    public MatrixCell getCell(String id) {
+        MatrixCell cell = cells.get(id);
+        if (cell == null) {
+            throw new IllegalArgumentException("Unknown matrix cell " + id + ", known cells: " + cells.keySet());
+        }
+        return cell;
+    }
+
+    /**
+     * Readable, stable cell ID such as android-14_tablet_beta
+     */
+    private static String cellId(String version, Set<String> tags, String appName) {
+        List<String> parts = new ArrayList<>();
+        parts.add(version != null ? "android-" + version : "android");
+        if (!tags.isEmpty()) {
+            parts.add(String.join("+", tags));
+        }
+        if (appName != null) {
+            parts.add(appName);
+        }
+        return String.join("_", parts);
+    }
+
+    private static boolean isExcluded(JsonNode excludes, String version, Set<String> tags, String appName) {
+        for (JsonNode exclude : excludes) {
+            String excludedVersion = text(exclude, "platformVersion");
+            String excludedApp = text(exclude, "app");
+            boolean matches = (excludedVersion == null || excludedVersion.equals(version))
+                    && (!exclude.has("deviceTags") || toTags(exclude.get("deviceTags")).equals(tags))
+                    && (excludedApp == null || excludedApp.equals(appName));
+            if (matches) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Set<String> toTags(JsonNode tags) {
+        Set<String> parsed = new LinkedHashSet<>();
+        if (tags.isArray()) {
+            tags.forEach(tag -> parsed.add(tag.asText()));
+        } else if (!tags.isMissingNode() && !tags.isNull()) {
+            parsed.add(tags.asText());
+        }
+        return parsed;
+    }
+
+    private static Map<String, Object> toCapabilities(JsonNode capabilities) {
+        Map<String, Object> parsed = new LinkedHashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = capabilities.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            parsed.put(field.getKey(), mapper.convertValue(field.getValue(), Object.class));
+        }
+        return parsed;
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value != null && !value.isNull() && !value.asText().isBlank() ? value.asText() : null;
+    }
+}
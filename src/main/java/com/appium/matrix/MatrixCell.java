@@ -0,0 +1,86 @@
+package com.appium.matrix;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * MatrixCell - One combination of Android version, device tags and app build
+ * Describes what a device must offer and which capabilities a session on it
+ * gets; unset fields fall back to config.properties.
+ */
+public final class MatrixCell {
+
+    private final String id;
+    private final String platformVersion;
+    private final Set<String> deviceTags;
+    private final String appName;
+    private final String app;
+    private final String appPackage;
+    private final String appActivity;
+    private final Map<String, Object> capabilities;
+
+    public MatrixCell(String id, String platformVersion, Set<String> deviceTags, String appName, String app,
+            String appPackage, String appActivity, Map<String, Object> capabilities) {
+        if (id == null || id.isEmpty()) {
+            throw new IllegalArgumentException("Matrix cell ID must not be empty");
+        }
+        this.id = id;
+        this.platformVersion = platformVersion;
+        this.deviceTags = Collections.unmodifiableSet(new LinkedHashSet<>(deviceTags));
+        this.appName = appName;
+        this.app = app;
+        this.appPackage = appPackage;
+        this.appActivity = appActivity;
+        this.capabilities = Collections.unmodifiableMap(new LinkedHashMap<>(capabilities));
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return Android version the device must run, or null for any
+     */
+    public String getPlatformVersion() {
+        return platformVersion;
+    }
+
+    public Set<String> getDeviceTags() {
+        return deviceTags;
+    }
+
+    public String getAppName() {
+        return appName;
+    }
+
+    /**
+     * @return APK path or URL to install, or null to use an installed app
+     */
+    public String getApp() {
+        return app;
+    }
+
+    public String getAppPackage() {
+        return appPackage;
+    }
+
+    public String getAppActivity() {
+        return appActivity;
+    }
+
+    /**
+     * @return extra capabilities of this cell, applied over the configured ones
+     */
+    public Map<String, Object> getCapabilities() {
+        return capabilities;
+    }
+
+    @Override
+    public String toString() {
+        return id + " (Android " + (platformVersion != null ? platformVersion : "any") + ", tags " + deviceTags
+                + ", app " + (appName != null ? appName : "default") + ")";
+    }
+}
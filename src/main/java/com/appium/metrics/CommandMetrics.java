@@ -0,0 +1,156 @@
+package com.appium.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpRequest;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * CommandMetrics - Per-command latency histograms keyed by command, device and test
+ * Latencies are recorded by an HTTP filter on the driver's command client, so
+ * driver and element commands are covered without wrapping the driver. The hot
+ * path is a ThreadLocal read, an array lookup and lock-free histogram updates.
+ */
+public final class CommandMetrics {
+
+    private static final Logger logger = LogManager.getLogger(CommandMetrics.class);
+    private static final String UNSCOPED = "none";
+    private static final DriverCommand[] COMMANDS = DriverCommand.values();
+
+    private static final Map<String, Scope> scopes = new ConcurrentHashMap<>();
+    private static final Scope unscoped = new Scope(UNSCOPED, UNSCOPED);
+    private static final ThreadLocal<Scope> currentScope = new ThreadLocal<>();
+
+    // Private constructor to prevent instantiation
+    private CommandMetrics() {
+        throw new UnsupportedOperationException("CommandMetrics is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Attribute commands sent by the current thread to a device and test
+     *
+     * @param device device UDID
+     * @param test   test name
+     */
+    public static void beginScope(String device, String test) {
+        currentScope.set(scopes.computeIfAbsent(device + '|' + test, key -> new Scope(device, test)));
+    }
+
+    /**
+     * Stop attributing commands of the current thread to a test
+     */
+    public static void endScope() {
+        currentScope.remove();
+    }
+
+    /**
+     * Record a command latency for the current thread's scope
+     *
+     * @param command command
+     * @param nanos   latency in nanoseconds
+     */
+    public static void record(DriverCommand command, long nanos) {
+        Scope scope = currentScope.get();
+        (scope != null ? scope : unscoped).histogram(command).recordNanos(nanos);
+    }
+
+    /**
+     * HTTP filter timing every command sent through a driver's client
+     *
+     * @return Filter instance
+     */
+    public static Filter filter() {
+        return next -> request -> {
+            long start = System.nanoTime();
+            try {
+                return next.execute(request);
+            } finally {
+                record(classify(request), System.nanoTime() - start);
+            }
+        };
+    }
+
+    private static DriverCommand classify(HttpRequest request) {
+        return DriverCommand.classify(request.getMethod(), request.getUri());
+    }
+
+    /**
+     * Write all non-empty histograms to a JSON file
+     *
+     * @param file destination file
+     */
+    public static void writeReport(File file) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        List<Scope> allScopes = new ArrayList<>(scopes.values());
+        allScopes.add(unscoped);
+        for (Scope scope : allScopes) {
+            for (DriverCommand command : COMMANDS) {
+                LatencyHistogram histogram = scope.histograms.get(command.ordinal());
+                if (histogram != null && histogram.getCount() > 0) {
+                    rows.add(toRow(scope, command, histogram));
+                }
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        try {
+            file.getParentFile().mkdirs();
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, rows);
+            logger.info("Command latency histograms written to: {}", file.getAbsolutePath());
+        } catch (IOException e) {
+            logger.error("Failed to write command latency report: {}", e.getMessage(), e);
+        }
+    }
+
+    private static Map<String, Object> toRow(Scope scope, DriverCommand command, LatencyHistogram histogram) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("device", scope.device);
+        row.put("test", scope.test);
+        row.put("command", command.name());
+        row.put("count", histogram.getCount());
+        row.put("meanMs", histogram.getMeanMillis());
+        row.put("p50Ms", histogram.getPercentileMillis(50));
+        row.put("p90Ms", histogram.getPercentileMillis(90));
+        row.put("p99Ms", histogram.getPercentileMillis(99));
+        row.put("maxMs", histogram.getMaxMillis());
+        return row;
+    }
+
+    /**
+     * Histograms of one device and test, indexed by command ordinal
+     */
+    private static final class Scope {
+        private final String device;
+        private final String test;
+        private final AtomicReferenceArray<LatencyHistogram> histograms =
+                new AtomicReferenceArray<>(COMMANDS.length);
+
+        private Scope(String device, String test) {
+            this.device = device;
+            this.test = test;
+        }
+
+        private LatencyHistogram histogram(DriverCommand command) {
+            LatencyHistogram histogram = histograms.get(command.ordinal());
+            if (histogram == null) {
+                // Allocated once per scope and command, never on later calls
+                histograms.compareAndSet(command.ordinal(), null, new LatencyHistogram());
+                histogram = histograms.get(command.ordinal());
+            }
+            return histogram;
+        }
+    }
+}
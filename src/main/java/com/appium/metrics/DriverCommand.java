@@ -0,0 +1,101 @@
+package com.appium.metrics;
+
+import org.openqa.selenium.remote.http.HttpMethod;
+
+/**
+ * DriverCommand - WebDriver commands tracked by the latency histograms
+ * Commands are classified from the HTTP method and path without allocating
+ */
+public enum DriverCommand {
+    NEW_SESSION,
+    QUIT,
+    FIND_ELEMENT,
+    FIND_ELEMENTS,
+    CLICK,
+    SEND_KEYS,
+    CLEAR,
+    GET_TEXT,
+    GET_ATTRIBUTE,
+    IS_DISPLAYED,
+    IS_ENABLED,
+    GET_ELEMENT_RECT,
+    GET_WINDOW_RECT,
+    GET_PAGE_SOURCE,
+    PERFORM_ACTIONS,
+    SCREENSHOT,
+    EXECUTE_SCRIPT,
+    TIMEOUTS,
+    APP_MANAGEMENT,
+    OTHER;
+
+    private static final String SESSION = "/session";
+
+    /**
+     * Classify a command from its HTTP method and path
+     *
+     * @param method HTTP method
+     * @param path   request path, e.g. /session/{id}/element/{elementId}/click
+     * @return classified command
+     */
+    public static DriverCommand classify(HttpMethod method, String path) {
+        if (path.endsWith(SESSION)) {
+            return method == HttpMethod.POST ? NEW_SESSION : OTHER;
+        }
+        if (method == HttpMethod.DELETE && path.lastIndexOf('/') == path.lastIndexOf(SESSION) + SESSION.length()) {
+            return QUIT;
+        }
+        if (path.endsWith("/element")) {
+            return FIND_ELEMENT;
+        }
+        if (path.endsWith("/elements")) {
+            return FIND_ELEMENTS;
+        }
+        // Before suffix checks - attribute names such as text or enabled end the path
+        if (path.contains("/attribute/") || path.contains("/property/")) {
+            return GET_ATTRIBUTE;
+        }
+        if (path.endsWith("/click")) {
+            return CLICK;
+        }
+        if (path.endsWith("/value")) {
+            return SEND_KEYS;
+        }
+        if (path.endsWith("/clear")) {
+            return CLEAR;
+        }
+        if (path.endsWith("/text")) {
+            return GET_TEXT;
+        }
+        if (path.endsWith("/displayed")) {
+            return IS_DISPLAYED;
+        }
+        if (path.endsWith("/enabled")) {
+            return IS_ENABLED;
+        }
+        if (path.endsWith("/window/rect") || path.endsWith("/window/size")) {
+            return GET_WINDOW_RECT;
+        }
+        if (path.endsWith("/rect") || path.endsWith("/location") || path.endsWith("/size")) {
+            return GET_ELEMENT_RECT;
+        }
+        if (path.endsWith("/source")) {
+            return GET_PAGE_SOURCE;
+        }
+        if (path.endsWith("/actions")) {
+            return PERFORM_ACTIONS;
+        }
+        if (path.endsWith("/screenshot")) {
+            return SCREENSHOT;
+        }
+        if (path.endsWith("/execute/sync")) {
+            return EXECUTE_SCRIPT;
+        }
+        if (path.endsWith("/timeouts")) {
+            return TIMEOUTS;
+        }
+        if (path.contains("/appium/device/")) {
+            return APP_MANAGEMENT;
+        }
+        return OTHER;
+    }
+}
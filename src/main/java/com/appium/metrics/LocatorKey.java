@@ -0,0 +1,75 @@
+package com.appium.metrics;
+
+import org.openqa.selenium.By;
+
+import java.util.Objects;
+
+/**
+ * LocatorKey - Identity of a locator in the telemetry: page, strategy and value
+ * The strategy and value are read from the locator's description, e.g.
+ * "AppiumBy.id: pkg:id/eq" gives strategy "id" and value "pkg:id/eq".
+ */
+public final class LocatorKey {
+
+    private final String page;
+    private final String strategy;
+    private final String value;
+
+    public LocatorKey(String page, String strategy, String value) {
+        this.page = page;
+        this.strategy = strategy;
+        this.value = value;
+    }
+
+    /**
+     * Create the key of a locator
+     *
+     * @param page page class name, or any label for locators used outside page objects
+     * @param by   locator
+     * @return LocatorKey instance
+     */
+    public static LocatorKey of(String page, By by) {
+        String description = by.toString();
+        int colon = description.indexOf(": ");
+        if (colon < 0) {
+            return new LocatorKey(page, by.getClass().getSimpleName(), description);
+        }
+        String strategy = description.substring(0, colon);
+        return new LocatorKey(page, strategy.substring(strategy.lastIndexOf('.') + 1),
+                description.substring(colon + 2));
+    }
+
+    public String getPage() {
+        return page;
+    }
+
+    public String getStrategy() {
+        return strategy;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof LocatorKey)) {
+            return false;
+        }
+        LocatorKey key = (LocatorKey) other;
+        return page.equals(key.page) && strategy.equals(key.strategy) && value.equals(key.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(page, strategy, value);
+    }
+
+    @Override
+    public String toString() {
+        return page + " " + strategy + "=" + value;
+    }
+}
@@ -0,0 +1,105 @@
+package com.appium.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LocatorStats - Find and wait totals of one locator
+ * Find time made inside a wait on the same locator is part of the wait time,
+ * so the cost of a locator is its wait time plus the find time outside waits.
+ */
+public final class LocatorStats {
+
+    private final LocatorKey key;
+    private final LongAdder finds = new LongAdder();
+    private final LongAdder notFound = new LongAdder();
+    private final LongAdder findNanos = new LongAdder();
+    private final LongAdder unwaitedFindNanos = new LongAdder();
+    private final AtomicLong maxFindNanos = new AtomicLong();
+    private final LongAdder waits = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder polls = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    LocatorStats(LocatorKey key) {
+        this.key = key;
+    }
+
+    void recordFind(long nanos, boolean found, boolean inWait) {
+        finds.increment();
+        if (!found) {
+            notFound.increment();
+        }
+        findNanos.add(nanos);
+        if (!inWait) {
+            unwaitedFindNanos.add(nanos);
+        }
+        maxFindNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    void recordWait(long nanos, int checks, boolean timedOut) {
+        waits.increment();
+        if (timedOut) {
+            timeouts.increment();
+        }
+        polls.add(checks);
+        waitNanos.add(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public LocatorKey getKey() {
+        return key;
+    }
+
+    public long getFinds() {
+        return finds.sum();
+    }
+
+    public long getNotFound() {
+        return notFound.sum();
+    }
+
+    public double getMeanFindMillis() {
+        long count = finds.sum();
+        return count == 0 ? 0 : findNanos.sum() / 1e6 / count;
+    }
+
+    public double getMaxFindMillis() {
+        return maxFindNanos.get() / 1e6;
+    }
+
+    public long getWaits() {
+        return waits.sum();
+    }
+
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    public long getPolls() {
+        return polls.sum();
+    }
+
+    public double getWaitMillis() {
+        return waitNanos.sum() / 1e6;
+    }
+
+    public double getMaxWaitMillis() {
+        return maxWaitNanos.get() / 1e6;
+    }
+
+    /**
+     * @return wait time plus the time of finds made outside waits, in milliseconds
+     */
+    public double getCostMillis() {
+        return (waitNanos.sum() + unwaitedFindNanos.sum()) / 1e6;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %.0f ms (%d finds, %d not found, mean find %.1f ms; "
+                + "%d waits, %d timed out, %d polls)", key, getCostMillis(), getFinds(), getNotFound(), getMeanFindMillis(), getWaits(), getTimeouts(),
+                getPolls());
+    }
+}
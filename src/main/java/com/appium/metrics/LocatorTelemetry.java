@@ -0,0 +1,207 @@
+package com.appium.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpResponse;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * LocatorTelemetry - Per-locator find and wait statistics with a slow-locator ranking
+ * Page object proxies and the WaitEngine mark which locator the current thread
+ * is working with; an HTTP filter times the find commands sent meanwhile and
+ * the WaitEngine reports wait time, polls and timeouts. At the end of the suite
+ * locators are ranked by the time they cost.
+ */
+public final class LocatorTelemetry {
+
+    private static final Logger logger = LogManager.getLogger(LocatorTelemetry.class);
+
+    private static final Map<LocatorKey, LocatorStats> stats = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Trace> traces = ThreadLocal.withInitial(Trace::new);
+
+    // Private constructor to prevent instantiation
+    private LocatorTelemetry() {
+        throw new UnsupportedOperationException("LocatorTelemetry is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Attribute finds of the current thread to a locator until exit() - call around element calls
+     *
+     * @param key locator key
+     * @return previously attributed locator, to pass to exit()
+     */
+    public static LocatorKey enter(LocatorKey key) {
+        Trace trace = traces.get();
+        LocatorKey previous = trace.key;
+        trace.key = key;
+        return previous;
+    }
+
+    /**
+     * Restore the locator attributed before enter()
+     *
+     * @param previous value returned by enter()
+     */
+    public static void exit(LocatorKey previous) {
+        traces.get().key = previous;
+    }
+
+    /**
+     * Attribute finds of the current thread to a wait on a locator until endWait()
+     *
+     * @param key locator key
+     * @return previously attributed locator, to pass to endWait()
+     */
+    public static LocatorKey beginWait(LocatorKey key) {
+        Trace trace = traces.get();
+        trace.waitKey = key;
+        return enter(key);
+    }
+
+    /**
+     * End the wait started by beginWait()
+     *
+     * @param previous value returned by beginWait()
+     */
+    public static void endWait(LocatorKey previous) {
+        Trace trace = traces.get();
+        trace.waitKey = null;
+        trace.key = previous;
+    }
+
+    /**
+     * Record one find command
+     *
+     * @param key   locator key
+     * @param nanos find latency in nanoseconds
+     * @param found true if the server returned an element
+     */
+    public static void recordFind(LocatorKey key, long nanos, boolean found) {
+        stats(key).recordFind(nanos, found, key.equals(traces.get().waitKey));
+    }
+
+    /**
+     * Record one completed wait
+     *
+     * @param key      locator key
+     * @param nanos    wait time in nanoseconds
+     * @param checks   number of times the condition was checked
+     * @param timedOut true if the wait timed out
+     */
+    public static void recordWait(LocatorKey key, long nanos, int checks, boolean timedOut) {
+        stats(key).recordWait(nanos, checks, timedOut);
+    }
+
+    private static LocatorStats stats(LocatorKey key) {
+        return stats.computeIfAbsent(key, LocatorStats::new);
+    }
+
+    /**
+     * HTTP filter timing find commands sent while a locator is attributed
+     *
+     * @return Filter instance
+     */
+    public static Filter filter() {
+        return next -> request -> {
+            LocatorKey key = traces.get().key;
+            if (key == null || !isFind(DriverCommand.classify(request.getMethod(), request.getUri()))) {
+                return next.execute(request);
+            }
+            long start = System.nanoTime();
+            boolean found = false;
+            try {
+                HttpResponse response = next.execute(request);
+                found = response.getStatus() == 200;
+                return response;
+            } finally {
+                recordFind(key, System.nanoTime() - start, found);
+            }
+        };
+    }
+
+    private static boolean isFind(DriverCommand command) {
+        return command == DriverCommand.FIND_ELEMENT || command == DriverCommand.FIND_ELEMENTS;
+    }
+
+    /**
+     * Get all locators, most expensive first
+     *
+     * @return locator statistics ranked by cost
+     */
+    public static List<LocatorStats> getRanking() {
+        List<LocatorStats> ranking = new ArrayList<>(stats.values());
+        ranking.sort(Comparator.comparingDouble(LocatorStats::getCostMillis).reversed());
+        return ranking;
+    }
+
+    /**
+     * Log the most expensive locators and write the full ranking to a JSON file
+     *
+     * @param file destination file
+     * @param top  number of locators to log
+     */
+    public static void writeReport(File file, int top) {
+        List<LocatorStats> ranking = getRanking();
+        if (ranking.isEmpty()) {
+            return;
+        }
+        logger.info("Slowest locators:");
+        ranking.stream().limit(top).forEach(locator -> logger.info("  {}", locator));
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (LocatorStats locator : ranking) {
+            rows.add(toRow(locator));
+        }
+        try {
+            file.getParentFile().mkdirs();
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, rows);
+            logger.info("Locator telemetry written to: {}", file.getAbsolutePath());
+        } catch (IOException e) {
+            logger.error("Failed to write locator telemetry report: {}", e.getMessage(), e);
+        }
+    }
+
+    private static Map<String, Object> toRow(LocatorStats locator) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("page", locator.getKey().getPage());
+        row.put("strategy", locator.getKey().getStrategy());
+        row.put("value", locator.getKey().getValue());
+        row.put("costMs", Math.round(locator.getCostMillis()));
+        row.put("finds", locator.getFinds());
+        row.put("notFound", locator.getNotFound());
+        row.put("meanFindMs", locator.getMeanFindMillis());
+        row.put("maxFindMs", locator.getMaxFindMillis());
+        row.put("waits", locator.getWaits());
+        row.put("timeouts", locator.getTimeouts());
+        row.put("polls", locator.getPolls());
+        row.put("waitMs", Math.round(locator.getWaitMillis()));
+        row.put("maxWaitMs", Math.round(locator.getMaxWaitMillis()));
+        return row;
+    }
+
+    /**
+     * Drop all statistics
+     */
+    static void reset() {
+        stats.clear();
+    }
+
+    /**
+     * Locators the current thread is working with
+     */
+    private static final class Trace {
+        private LocatorKey key;
+        private LocatorKey waitKey;
+    }
+}
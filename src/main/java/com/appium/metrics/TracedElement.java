@@ -0,0 +1,14 @@
+package com.appium.metrics;
+
+/**
+ * TracedElement - Element proxy that knows the locator it is found with
+ * Implemented by page object field proxies so waits on the element can be
+ * attributed to its locator.
+ */
+public interface TracedElement {
+
+    /**
+     * @return key of the locator the element is found with
+     */
+    LocatorKey getLocatorKey();
+}
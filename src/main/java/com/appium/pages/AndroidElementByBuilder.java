@@ -0,0 +1,66 @@
+package com.appium.pages;
+
+import io.appium.java_client.pagefactory.AndroidFindAll;
+import io.appium.java_client.pagefactory.AndroidFindBy;
+import io.appium.java_client.pagefactory.AndroidFindBys;
+import io.appium.java_client.pagefactory.DefaultElementByBuilder;
+import io.appium.java_client.pagefactory.bys.builder.HowToUseSelectors;
+import org.openqa.selenium.By;
+
+import java.lang.reflect.AnnotatedElement;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * AndroidElementByBuilder - Annotation reader returning plain Android locators
+ * DefaultElementByBuilder wraps even a single @AndroidFindBy in a one-element
+ * By.chained, which finds the same elements but hides the strategy. This
+ * builder returns the AppiumBy itself in that case, so the locator can be
+ * rewritten or evaluated against a page snapshot. Built locators are cached
+ * per builder type, platform and field, so annotations are read once per run
+ * rather than once per page instance.
+ */
+public class AndroidElementByBuilder extends DefaultElementByBuilder {
+
+    private static final Map<List<Object>, Optional<By>> built = new ConcurrentHashMap<>();
+
+    public AndroidElementByBuilder(String platform, String automation) {
+        super(platform, automation);
+    }
+
+    /**
+     * Read the Android locator of a field
+     *
+     * @param annotated page object field
+     * @return Android locator, or null if the field has no Android locator annotation
+     */
+    public By buildNativeBy(AnnotatedElement annotated) {
+        setAnnotated(annotated);
+        return buildMobileNativeBy();
+    }
+
+    @Override
+    public By buildBy() {
+        List<Object> key = List.of(getClass(), String.valueOf(platform), String.valueOf(automation),
+                annotatedElementContainer.getAnnotated());
+        Optional<By> by = built.get(key);
+        if (by == null) {
+            by = Optional.ofNullable(super.buildBy());
+            built.put(key, by);
+        }
+        return by.orElse(null);
+    }
+
+    @Override
+    protected By buildMobileNativeBy() {
+        AnnotatedElement annotated = annotatedElementContainer.getAnnotated();
+        AndroidFindBy[] findBys = annotated.getAnnotationsByType(AndroidFindBy.class);
+        if (findBys.length == 1 && !annotated.isAnnotationPresent(AndroidFindBys.class)
+                && !annotated.isAnnotationPresent(AndroidFindAll.class)) {
+            return createBy(findBys, HowToUseSelectors.USE_ONE);
+        }
+        return super.buildMobileNativeBy();
+    }
+}
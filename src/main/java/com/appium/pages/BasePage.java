@@ -1,17 +1,38 @@
 package com.appium.pages;
 
+import com.appium.config.ConfigReader;
 import com.appium.driver.DriverManager;
+import com.appium.pagesource.PageNode;
+import com.appium.pagesource.PageSnapshot;
+import com.appium.utils.GestureChain;
 import com.appium.utils.GestureUtils;
+import com.appium.utils.ImplicitWait;
 import com.appium.utils.ScreenshotUtils;
+import com.appium.utils.ScrollEngine;
+import com.appium.utils.Viewport;
 import com.appium.utils.WaitUtils;
 import io.appium.java_client.AppiumDriver;
 import io.appium.java_client.pagefactory.AppiumFieldDecorator;
+import io.appium.java_client.pagefactory.bys.builder.AppiumByBuilder;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.ScreenOrientation;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.PageFactory;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.SessionId;
+import org.openqa.selenium.support.pagefactory.FieldDecorator;
 
+import java.lang.reflect.Field;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * BasePage - Base class for all page objects
@@ -21,13 +42,32 @@ public abstract class BasePage {
 
     protected final Logger logger = LogManager.getLogger(this.getClass());
     protected AppiumDriver driver;
+    private ElementCache elementCache;
 
     /**
      * Constructor - Initialize driver and page elements
      */
     public BasePage() {
         this.driver = DriverManager.getDriver();
-        PageFactory.initElements(new AppiumFieldDecorator(driver, Duration.ofSeconds(10)), this);
+        ConfigReader config = ConfigReader.getInstance();
+        // Lookups make one attempt; waiting happens in the WaitEngine, never inside a field proxy
+        Duration timeout = Duration.ZERO;
+        FieldDecorator decorator = new AppiumFieldDecorator(driver, timeout);
+        AppiumByBuilder byBuilder = new AndroidElementByBuilder(config.getPlatformName(), config.getAutomationName());
+        if (config.isLocatorCompilerEnabled()) {
+            CompilingElementByBuilder compilingBuilder = new CompilingElementByBuilder(config.getPlatformName(),
+                    config.getAutomationName());
+            decorator = new CompilingFieldDecorator(driver, timeout, compilingBuilder, decorator);
+            byBuilder = compilingBuilder;
+        }
+        if (config.isElementCacheEnabled()) {
+            elementCache = ElementCache.forSession(((RemoteWebDriver) driver).getSessionId());
+            decorator = new CachingFieldDecorator(driver, timeout, byBuilder, decorator, elementCache);
+        }
+        if (config.isLocatorTelemetryEnabled()) {
+            decorator = new TracingFieldDecorator(byBuilder, decorator);
+        }
+        PageMetadata.initElements(this, decorator);
         logger.debug("Initialized page: {}", this.getClass().getSimpleName());
     }
 
@@ -84,14 +124,14 @@ public abstract class BasePage {
     }
 
     /**
-     * Check if element is displayed
+     * Check if element is displayed, without waiting for it to appear
      * 
      * @param element element to check
      * @return true if displayed, false otherwise
      */
     protected boolean isDisplayed(WebElement element) {
         try {
-            boolean displayed = element.isDisplayed();
+            boolean displayed = ImplicitWait.suspended(element::isDisplayed);
             logger.debug("Element displayed status: {}", displayed);
             return displayed;
         } catch (Exception e) {
@@ -101,14 +141,14 @@ public abstract class BasePage {
     }
 
     /**
-     * Check if element is enabled
+     * Check if element is enabled, without waiting for it to appear
      * 
      * @param element element to check
      * @return true if enabled, false otherwise
      */
     protected boolean isEnabled(WebElement element) {
         try {
-            boolean enabled = element.isEnabled();
+            boolean enabled = ImplicitWait.suspended(element::isEnabled);
             logger.debug("Element enabled status: {}", enabled);
             return enabled;
         } catch (Exception e) {
@@ -117,6 +157,29 @@ public abstract class BasePage {
         }
     }
 
+    /**
+     * Check if an element exists right now - one findElements round trip, never waits
+     *
+     * @param by element locator
+     * @return true if at least one element matches
+     */
+    protected boolean isPresentNow(By by) {
+        boolean present = ImplicitWait.suspended(() -> !driver.findElements(by).isEmpty());
+        logger.debug("Element {} present: {}", by, present);
+        return present;
+    }
+
+    /**
+     * Check that no element matches - one findElements round trip, never waits.
+     * Use it for negative assertions instead of catching a failed lookup
+     *
+     * @param by element locator
+     * @return true if no element matches
+     */
+    protected boolean isAbsent(By by) {
+        return !isPresentNow(by);
+    }
+
     /**
      * Wait for element to be visible
      * 
@@ -181,7 +244,106 @@ public abstract class BasePage {
      * @return true if element found, false otherwise
      */
     protected boolean scrollToElement(WebElement element, int maxSwipes) {
-        return GestureUtils.scrollToElement(element, maxSwipes);
+        By by = locatorOf(element);
+        return by != null ? scrollToElement(by, maxSwipes) : GestureUtils.scrollToElement(element, maxSwipes);
+    }
+
+    /**
+     * Scroll to element - one UiScrollable command when the locator has a UiSelector
+     * equivalent, swipes that stop at the end of the list otherwise
+     *
+     * @param by        locator of the element to scroll to
+     * @param maxSwipes maximum swipes to attempt
+     * @return true if element found, false otherwise
+     */
+    protected boolean scrollToElement(By by, int maxSwipes) {
+        return ScrollEngine.scrollTo(by, maxSwipes).isFound();
+    }
+
+    /**
+     * Get the layout of this page's controls in the current orientation, captured
+     * from one snapshot on first use. Only for screens whose controls never move
+     *
+     * @return bounds of the displayed controls
+     */
+    protected LayoutMap layout() {
+        return LayoutMap.get(((RemoteWebDriver) driver).getSessionId(), Viewport.orientation(), getClass(),
+                () -> LayoutMap.capture(snapshot(), LayoutMap.controlsOf(getClass(), nativeBuilder())));
+    }
+
+    /**
+     * Tap controls of a static screen at their mapped centers, in one gesture and
+     * without finding them. Falls back to click() when a control is not in the layout
+     *
+     * @param elements element fields of this page, in tap order
+     */
+    protected void tapFixed(WebElement... elements) {
+        LayoutMap layout = layout();
+        List<Point> points = new ArrayList<>();
+        for (WebElement element : elements) {
+            By by = locatorOf(element);
+            Point center = by != null ? layout.center(by) : null;
+            if (center == null) {
+                logger.debug("Control not in the layout of {}, clicking instead", getClass().getSimpleName());
+                Arrays.stream(elements).forEach(this::click);
+                return;
+            }
+            points.add(center);
+        }
+        GestureChain chain = gestures();
+        points.forEach(point -> chain.tap(point.getX(), point.getY()));
+        chain.perform();
+    }
+
+    /**
+     * Check one control against the layout with a single rect query. When it moved,
+     * the layout is captured again so the next tap uses the new coordinates
+     *
+     * @param element element field of this page
+     * @return true if the control is where the layout has it, false if the layout drifted
+     */
+    protected boolean verifyLayout(WebElement element) {
+        By by = locatorOf(element);
+        if (by == null) {
+            throw new IllegalArgumentException("Element is not a field of " + getClass().getSimpleName());
+        }
+        SessionId sessionId = ((RemoteWebDriver) driver).getSessionId();
+        ScreenOrientation orientation = Viewport.orientation();
+        Rectangle mapped = layout().get(by);
+        Rectangle actual = ImplicitWait.suspended(element::getRect);
+        if (actual.equals(mapped)) {
+            return true;
+        }
+        logger.warn("{} moved from {} to {}", by, mapped, actual);
+        LayoutMap.drifted(sessionId, orientation, getClass());
+        layout();
+        return false;
+    }
+
+    /**
+     * Annotation reader matching the page's decorators, rewriting XPath when the locator compiler is on
+     */
+    private AndroidElementByBuilder nativeBuilder() {
+        ConfigReader config = ConfigReader.getInstance();
+        return config.isLocatorCompilerEnabled()
+                ? new CompilingElementByBuilder(config.getPlatformName(), config.getAutomationName())
+                : new AndroidElementByBuilder(config.getPlatformName(), config.getAutomationName());
+    }
+
+    /**
+     * Find the locator of one of this page's element fields
+     */
+    private By locatorOf(WebElement element) {
+        for (Field field : PageMetadata.fieldsOf(getClass())) {
+            try {
+                if (field.get(this) == element) {
+                    return nativeBuilder().buildNativeBy(field);
+                }
+            } catch (IllegalAccessException e) {
+                logger.debug("Cannot read field {}: {}", field.getName(), e.getMessage());
+            }
+        }
+        return null;
     }
 
     /**
@@ -193,6 +355,15 @@ public abstract class BasePage {
         GestureUtils.tap(element);
     }
 
+    /**
+     * Start a chain of gestures sent to the device in one request
+     *
+     * @return empty GestureChain
+     */
+    protected GestureChain gestures() {
+        return new GestureChain();
+    }
+
     /**
      * Long press on element
      * 
@@ -207,7 +378,7 @@ public abstract class BasePage {
      * Capture screenshot
      * 
      * @param screenshotName name for the screenshot
-     * @return path to saved screenshot
+     * @return path the screenshot is being written to in the background
      */
     protected String captureScreenshot(String screenshotName) {
         return ScreenshotUtils.captureScreenshot(screenshotName);
@@ -253,6 +424,7 @@ public abstract class BasePage {
     protected void navigateBack() {
         try {
             driver.navigate().back();
+            pageTransition();
             logger.info("Navigated back");
         } catch (Exception e) {
             logger.error("Failed to navigate back: {}", e.getMessage(), e);
@@ -260,6 +432,80 @@ public abstract class BasePage {
         }
     }
 
+    /**
+     * Signal that the app left this screen - cached elements are located again on next use.
+     * Call after actions that replace the screen content without going through navigateBack
+     */
+    protected void pageTransition() {
+        if (elementCache != null) {
+            elementCache.clear();
+        }
+    }
+
+    /**
+     * Fetch the page source once and parse it for local, read-only checks.
+     * Use it when a check would otherwise query several locators one after
+     * another; take a new snapshot after every action
+     *
+     * @return parsed page source
+     */
+    protected PageSnapshot snapshot() {
+        long start = System.currentTimeMillis();
+        PageSnapshot snapshot = PageSnapshot.parse(driver.getPageSource());
+        logger.debug("Page snapshot of {} nodes taken in {} ms", snapshot.getNodeCount(),
+                System.currentTimeMillis() - start);
+        return snapshot;
+    }
+
+    /**
+     * Check several locators on one page snapshot instead of one find per locator.
+     * A locator matches when it finds a displayed element; locators that cannot be
+     * evaluated locally (such as UiSelector) are asked from the server
+     *
+     * @param condition whether all or any of the locators must match
+     * @param locators  locators by name
+     * @return per-locator results
+     */
+    protected PresenceResult checkPresence(PresenceResult.Condition condition, Map<String, By> locators) {
+        long start = System.currentTimeMillis();
+        PageSnapshot page = snapshot();
+        Map<String, Boolean> results = new LinkedHashMap<>();
+        for (Map.Entry<String, By> locator : locators.entrySet()) {
+            boolean present;
+            try {
+                present = page.findAll(locator.getValue()).stream().anyMatch(PageNode::isDisplayed);
+            } catch (IllegalArgumentException e) {
+                logger.debug("Checking {} on the server: {}", locator.getKey(), e.getMessage());
+                present = ImplicitWait.suspended(() -> driver.findElements(locator.getValue()).stream()
+                        .anyMatch(WebElement::isDisplayed));
+            }
+            results.put(locator.getKey(), present);
+        }
+        PresenceResult result = new PresenceResult(condition, results);
+        logger.debug("Presence check {} in {} ms", result, System.currentTimeMillis() - start);
+        return result;
+    }
+
+    /**
+     * Check the page's @PageAnchor fields in one round trip
+     *
+     * @param condition whether all or any of the anchors must be displayed
+     * @return per-anchor results keyed by field name, all missing if the page source cannot be read
+     */
+    protected PresenceResult checkAnchors(PresenceResult.Condition condition) {
+        ConfigReader config = ConfigReader.getInstance();
+        Map<String, By> anchors = PageAnchors.of(getClass(), config.getPlatformName(), config.getAutomationName());
+        if (anchors.isEmpty()) {
+            throw new IllegalStateException(getClass().getSimpleName() + " declares no @PageAnchor fields");
+        }
+        try {
+            return checkPresence(condition, anchors);
+        } catch (WebDriverException e) {
+            logger.warn("Could not check anchors of {}: {}", getClass().getSimpleName(), e.getMessage());
+            return PresenceResult.missing(condition, anchors.keySet());
+        }
+    }
+
     /**
      * Get page title or current activity
      * 
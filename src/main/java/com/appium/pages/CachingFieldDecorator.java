@@ -0,0 +1,128 @@
+package com.appium.pages;
+
+import io.appium.java_client.pagefactory.AppiumElementLocatorFactory;
+import io.appium.java_client.pagefactory.bys.builder.AppiumByBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+import org.openqa.selenium.support.pagefactory.FieldDecorator;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+
+/**
+ * CachingFieldDecorator - Page factory decorator that reuses located elements
+ * Single WebElement fields become proxies that resolve their element through
+ * the session's ElementCache, so a wait followed by a click finds the element
+ * once. A call failing with StaleElementReferenceException re-locates the
+ * element and is retried once. Lists and widgets go to the next decorator.
+ */
+public class CachingFieldDecorator implements FieldDecorator {
+
+    private static final Logger logger = LogManager.getLogger(CachingFieldDecorator.class);
+
+    private final FieldDecorator next;
+    private final AppiumElementLocatorFactory locatorFactory;
+    private final ElementCache cache;
+
+    /**
+     * Create a decorator
+     *
+     * @param context   driver or element the fields are searched in
+     * @param timeout   time a lookup waits for the element to appear
+     * @param byBuilder annotation reader building the field locators
+     * @param next      decorator for fields that are not cached
+     * @param cache     element cache of the driver session
+     */
+    public CachingFieldDecorator(SearchContext context, Duration timeout, AppiumByBuilder byBuilder,
+            FieldDecorator next, ElementCache cache) {
+        this.next = next;
+        this.locatorFactory = new AppiumElementLocatorFactory(context, timeout, byBuilder);
+        this.cache = cache;
+    }
+
+    @Override
+    public Object decorate(ClassLoader loader, Field field) {
+        if (field.getType() != WebElement.class) {
+            return next.decorate(loader, field);
+        }
+        ElementLocator locator = locatorFactory.createLocator(field);
+        if (locator == null) {
+            return next.decorate(loader, field);
+        }
+        String key = field.getDeclaringClass().getName() + "." + field.getName();
+        logger.debug("Caching lookups of {}", key);
+        return proxyFor(loader, key, locator, cache);
+    }
+
+    /**
+     * Create an element proxy resolving through the cache
+     *
+     * @param loader  class loader for the proxy
+     * @param key     cache key of the field
+     * @param locator finds the element on a cache miss
+     * @param cache   element cache of the driver session
+     * @return WebElement proxy
+     */
+    static WebElement proxyFor(ClassLoader loader, String key, ElementLocator locator, ElementCache cache) {
+        return (WebElement) Proxy.newProxyInstance(loader,
+                new Class<?>[] {WebElement.class, WrapsElement.class, Locatable.class},
+                new CachedElementHandler(key, locator, cache));
+    }
+
+    /**
+     * Resolves the cached element for every call, re-locating it once when stale
+     */
+    private static final class CachedElementHandler implements InvocationHandler {
+        private final String key;
+        private final ElementLocator locator;
+        private final ElementCache cache;
+
+        private CachedElementHandler(String key, ElementLocator locator, ElementCache cache) {
+            this.key = key;
+            this.locator = locator;
+            this.cache = cache;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if ("toString".equals(method.getName()) && method.getParameterCount() == 0) {
+                return "Cached proxy element for: " + locator;
+            }
+            if ("hashCode".equals(method.getName()) && method.getParameterCount() == 0) {
+                return System.identityHashCode(proxy);
+            }
+            if ("equals".equals(method.getName()) && method.getParameterCount() == 1) {
+                return proxy == args[0];
+            }
+
+            WebElement element = cache.get(key, locator::findElement);
+            if ("getWrappedElement".equals(method.getName())) {
+                return element;
+            }
+            try {
+                return method.invoke(element, args);
+            } catch (InvocationTargetException e) {
+                if (!(e.getCause() instanceof StaleElementReferenceException)) {
+                    throw e.getCause();
+                }
+            }
+            // The view behind the cached ID is gone - find it again and retry once
+            element = cache.relocate(key, locator::findElement);
+            try {
+                return method.invoke(element, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -1,15 +1,25 @@
 package com.appium.pages;
 
+import com.appium.utils.GestureChain;
 import io.appium.java_client.pagefactory.AndroidFindBy;
+import org.openqa.selenium.Point;
 import org.openqa.selenium.WebElement;
 
+import java.util.List;
+
 /**
  * CalculatorPage - Sample page object for Android Calculator app
  * Demonstrates POM pattern with Appium page factory
  */
 public class CalculatorPage extends BasePage {
 
+    private static final String APP_PACKAGE = "com.android.calculator2";
+
     // Page Elements using AndroidFindBy
+    @AndroidFindBy(id = "com.android.calculator2:id/digit_0")
+    private WebElement digit0;
+
+    @PageAnchor
     @AndroidFindBy(id = "com.android.calculator2:id/digit_1")
     private WebElement digit1;
 
@@ -25,6 +35,21 @@ public class CalculatorPage extends BasePage {
     @AndroidFindBy(id = "com.android.calculator2:id/digit_5")
     private WebElement digit5;
 
+    @AndroidFindBy(id = "com.android.calculator2:id/digit_6")
+    private WebElement digit6;
+
+    @AndroidFindBy(id = "com.android.calculator2:id/digit_7")
+    private WebElement digit7;
+
+    @AndroidFindBy(id = "com.android.calculator2:id/digit_8")
+    private WebElement digit8;
+
+    @AndroidFindBy(id = "com.android.calculator2:id/digit_9")
+    private WebElement digit9;
+
+    @AndroidFindBy(id = "com.android.calculator2:id/dec_point")
+    private WebElement decimalPoint;
+
     @AndroidFindBy(id = "com.android.calculator2:id/op_add")
     private WebElement addButton;
 
@@ -37,6 +62,7 @@ public class CalculatorPage extends BasePage {
     @AndroidFindBy(id = "com.android.calculator2:id/op_div")
     private WebElement divideButton;
 
+    @PageAnchor
     @AndroidFindBy(id = "com.android.calculator2:id/eq")
     private WebElement equalsButton;
 
@@ -53,7 +79,7 @@ public class CalculatorPage extends BasePage {
      * Click digit 1
      */
     public CalculatorPage clickDigit1() {
-        click(digit1);
+        tapFixed(digit1);
         logger.info("Clicked digit 1");
         return this;
     }
@@ -62,7 +88,7 @@ public class CalculatorPage extends BasePage {
      * Click digit 2
      */
     public CalculatorPage clickDigit2() {
-        click(digit2);
+        tapFixed(digit2);
         logger.info("Clicked digit 2");
         return this;
     }
@@ -71,7 +97,7 @@ public class CalculatorPage extends BasePage {
      * Click digit 3
      */
     public CalculatorPage clickDigit3() {
-        click(digit3);
+        tapFixed(digit3);
         logger.info("Clicked digit 3");
         return this;
     }
@@ -80,7 +106,7 @@ public class CalculatorPage extends BasePage {
      * Click digit 4
      */
     public CalculatorPage clickDigit4() {
-        click(digit4);
+        tapFixed(digit4);
         logger.info("Clicked digit 4");
         return this;
     }
@@ -89,7 +115,7 @@ public class CalculatorPage extends BasePage {
      * Click digit 5
      */
     public CalculatorPage clickDigit5() {
-        click(digit5);
+        tapFixed(digit5);
         logger.info("Clicked digit 5");
         return this;
     }
@@ -98,7 +124,7 @@ public class CalculatorPage extends BasePage {
      * Click add button
      */
     public CalculatorPage clickAdd() {
-        click(addButton);
+        tapFixed(addButton);
         logger.info("Clicked add button");
         return this;
     }
@@ -107,7 +133,7 @@ public class CalculatorPage extends BasePage {
      * Click subtract button
      */
     public CalculatorPage clickSubtract() {
-        click(subtractButton);
+        tapFixed(subtractButton);
         logger.info("Clicked subtract button");
         return this;
     }
@@ -116,7 +142,7 @@ public class CalculatorPage extends BasePage {
      * Click multiply button
      */
     public CalculatorPage clickMultiply() {
-        click(multiplyButton);
+        tapFixed(multiplyButton);
         logger.info("Clicked multiply button");
         return this;
     }
@@ -125,7 +151,7 @@ public class CalculatorPage extends BasePage {
      * Click divide button
      */
     public CalculatorPage clickDivide() {
-        click(divideButton);
+        tapFixed(divideButton);
         logger.info("Clicked divide button");
         return this;
     }
@@ -134,7 +160,7 @@ public class CalculatorPage extends BasePage {
      * Click equals button
      */
     public CalculatorPage clickEquals() {
-        click(equalsButton);
+        tapFixed(equalsButton);
         logger.info("Clicked equals button");
         return this;
     }
@@ -165,11 +191,67 @@ public class CalculatorPage extends BasePage {
      * Clear calculator
      */
     public CalculatorPage clear() {
-        click(clearButton);
+        tapFixed(clearButton);
         logger.info("Cleared calculator");
         return this;
     }
 
+    /**
+     * Type a number or expression, e.g. "123*45-6=", in one gesture and verify the formula
+     * Keys are tapped at their mapped coordinates in a single actions request and
+     * the formula is read once at the end. If it does not show the input because
+     * the keypad moved, the input is cleared and typed again on the new layout.
+     * A final '=' is tapped only after the formula is verified, as it replaces the
+     * formula with the result.
+     *
+     * @param input digits, '.', + - * / and an optional final '='
+     * @return this page
+     * @throws IllegalArgumentException if the input has a character without a key
+     * @throws IllegalStateException    if the formula does not show the typed input
+     */
+    public CalculatorPage enter(String input) {
+        List<String> keys = KeypadInput.compile(input);
+        List<String> formulaKeys = KeypadInput.formulaKeys(keys);
+        String expected = KeypadInput.expectedFormula(input);
+        type(formulaKeys);
+        String formula = getFormula();
+        if (!KeypadInput.normalize(formula).equals(expected) && !verifyLayout(equalsButton)) {
+            clear();
+            type(formulaKeys);
+            formula = getFormula();
+        }
+        if (!KeypadInput.normalize(formula).equals(expected)) {
+            throw new IllegalStateException("Calculator formula '" + formula + "' does not match input '" + input
+                    + "'");
+        }
+        type(keys.subList(formulaKeys.size(), keys.size()));
+        logger.info("Entered '{}' as {} taps", input, keys.size());
+        return this;
+    }
+
+    private void type(List<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        GestureChain chain = gestures();
+        for (Point center : KeypadInput.taps(layout(), APP_PACKAGE, keys)) {
+            chain.tap(center.getX(), center.getY());
+        }
+        chain.perform();
+    }
+
+    /**
+     * Evaluate an expression
+     *
+     * @param expression expression such as "12*3-4", with or without the final '='
+     * @return result as string
+     */
+    public String calculate(String expression) {
+        logger.info("Calculating: {}", expression);
+        enter(expression.strip().endsWith("=") ? expression : expression + "=");
+        return getResult();
+    }
+
     /**
      * Perform addition
      * 
@@ -179,38 +261,7 @@ public class CalculatorPage extends BasePage {
      */
     public String performAddition(int num1, int num2) {
         logger.info("Performing addition: {} + {}", num1, num2);
-        enterNumber(num1);
-        clickAdd();
-        enterNumber(num2);
-        clickEquals();
-        return getResult();
-    }
-
-    /**
-     * Enter a number (supports 1-5 for demo)
-     * 
-     * @param number number to enter
-     */
-    private void enterNumber(int number) {
-        switch (number) {
-            case 1:
-                clickDigit1();
-                break;
-            case 2:
-                clickDigit2();
-                break;
-            case 3:
-                clickDigit3();
-                break;
-            case 4:
-                clickDigit4();
-                break;
-            case 5:
-                clickDigit5();
-                break;
-            default:
-                logger.warn("Number {} not supported in demo", number);
-        }
+        return calculate(num1 + "+" + num2);
     }
 
     @Override
@@ -220,6 +271,6 @@ public class CalculatorPage extends BasePage {
 
     @Override
     public boolean isPageLoaded() {
-        return isDisplayed(digit1) && isDisplayed(equalsButton);
+        return checkAnchors(PresenceResult.Condition.ALL).isSatisfied();
     }
 }
@@ -0,0 +1,40 @@
+package com.appium.pages;
+
+import com.appium.pagesource.LocatorCompiler;
+import org.openqa.selenium.By;
+
+import java.lang.reflect.AnnotatedElement;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * CompilingElementByBuilder - Annotation reader that rewrites XPath locators
+ * Reads @AndroidFindBy and friends like AndroidElementByBuilder, then passes
+ * each native locator through LocatorCompiler so equivalent XPath locators
+ * run as id, accessibility-id or UiSelector lookups.
+ */
+public class CompilingElementByBuilder extends AndroidElementByBuilder {
+
+    private static final Set<AnnotatedElement> rewrittenElements = ConcurrentHashMap.newKeySet();
+
+    public CompilingElementByBuilder(String platform, String automation) {
+        super(platform, automation);
+    }
+
+    @Override
+    protected By buildMobileNativeBy() {
+        By by = super.buildMobileNativeBy();
+        By compiled = LocatorCompiler.compile(by);
+        if (compiled != by) {
+            rewrittenElements.add(annotatedElementContainer.getAnnotated());
+        }
+        return compiled;
+    }
+
+    /**
+     * @return true if the locator of the current field was rewritten
+     */
+    public boolean isRewritten() {
+        return rewrittenElements.contains(annotatedElementContainer.getAnnotated());
+    }
+}
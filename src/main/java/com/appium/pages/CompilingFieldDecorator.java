@@ -0,0 +1,64 @@
+package com.appium.pages;
+
+import io.appium.java_client.pagefactory.AppiumElementLocatorFactory;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.pagefactory.DefaultFieldDecorator;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+import org.openqa.selenium.support.pagefactory.FieldDecorator;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * CompilingFieldDecorator - Page factory decorator using rewritten XPath locators
+ * WebElement and List&lt;WebElement&gt; fields whose XPath LocatorCompiler could
+ * rewrite are proxied with the faster locator and the usual Appium waiting
+ * behaviour. All other fields go to the next decorator unchanged.
+ */
+public class CompilingFieldDecorator extends DefaultFieldDecorator {
+
+    private final CompilingElementByBuilder byBuilder;
+    private final FieldDecorator next;
+
+    /**
+     * Create a decorator
+     *
+     * @param context   driver or element the fields are searched in
+     * @param timeout   time a lookup waits for the element to appear
+     * @param byBuilder annotation reader rewriting XPath locators
+     * @param next      decorator for fields that keep their locator
+     */
+    public CompilingFieldDecorator(SearchContext context, Duration timeout, CompilingElementByBuilder byBuilder,
+            FieldDecorator next) {
+        super(new AppiumElementLocatorFactory(context, timeout, byBuilder));
+        this.byBuilder = byBuilder;
+        this.next = next;
+    }
+
+    @Override
+    public Object decorate(ClassLoader loader, Field field) {
+        if (field.getType() == WebElement.class || isDecoratableList(field)) {
+            ElementLocator locator = factory.createLocator(field);
+            if (locator != null && byBuilder.isRewritten()) {
+                return field.getType() == WebElement.class
+                        ? proxyForLocator(loader, locator)
+                        : proxyForListLocator(loader, locator);
+            }
+        }
+        return next.decorate(loader, field);
+    }
+
+    @Override
+    protected boolean isDecoratableList(Field field) {
+        if (field.getType() != List.class) {
+            return false;
+        }
+        Type type = field.getGenericType();
+        return type instanceof ParameterizedType
+                && ((ParameterizedType) type).getActualTypeArguments()[0] == WebElement.class;
+    }
+}
@@ -0,0 +1,124 @@
+package com.appium.pages;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.SessionId;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * ElementCache - Resolved page object elements of one driver session
+ * Elements are cached by page field, so repeated waits and clicks on the same
+ * field reuse the element ID instead of running a find each time. Entries are
+ * dropped when the server reports them stale, on a page transition, and when
+ * the test releases the session. Counters cover all sessions.
+ */
+public final class ElementCache {
+
+    private static final Logger logger = LogManager.getLogger(ElementCache.class);
+    private static final Map<SessionId, ElementCache> sessions = new ConcurrentHashMap<>();
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static final AtomicLong relocations = new AtomicLong();
+    private static final AtomicLong transitions = new AtomicLong();
+
+    private final Map<String, WebElement> elements = new ConcurrentHashMap<>();
+
+    ElementCache() {
+    }
+
+    /**
+     * Get the cache of a session, creating it on first use
+     *
+     * @param sessionId driver session ID
+     * @return ElementCache instance
+     */
+    public static ElementCache forSession(SessionId sessionId) {
+        return sessions.computeIfAbsent(sessionId, id -> new ElementCache());
+    }
+
+    /**
+     * Drop the cache of a session - call when the test releases it, as the app is reset
+     * before the session serves the next test
+     *
+     * @param sessionId driver session ID
+     */
+    public static void discard(SessionId sessionId) {
+        if (sessionId != null) {
+            sessions.remove(sessionId);
+        }
+    }
+
+    /**
+     * Get a cached element, locating and caching it on a miss
+     *
+     * @param key     page field key
+     * @param locator finds the element
+     * @return cached or freshly located element
+     */
+    WebElement get(String key, Supplier<WebElement> locator) {
+        WebElement element = elements.get(key);
+        if (element != null) {
+            hits.incrementAndGet();
+            return element;
+        }
+        misses.incrementAndGet();
+        element = locator.get();
+        elements.put(key, element);
+        return element;
+    }
+
+    /**
+     * Locate an element again after the server reported the cached one stale
+     *
+     * @param key     page field key
+     * @param locator finds the element
+     * @return freshly located element
+     */
+    WebElement relocate(String key, Supplier<WebElement> locator) {
+        relocations.incrementAndGet();
+        elements.remove(key);
+        logger.debug("Re-locating stale element {}", key);
+        WebElement element = locator.get();
+        elements.put(key, element);
+        return element;
+    }
+
+    /**
+     * Forget every element - the screen changed, so cached IDs may point to old views
+     */
+    public void clear() {
+        if (!elements.isEmpty()) {
+            transitions.incrementAndGet();
+            elements.clear();
+        }
+    }
+
+    public static long getHits() {
+        return hits.get();
+    }
+
+    public static long getMisses() {
+        return misses.get();
+    }
+
+    public static long getRelocations() {
+        return relocations.get();
+    }
+
+    /**
+     * Summarize the cache counters of all sessions
+     *
+     * @return counters as a log-friendly string
+     */
+    public static String getStats() {
+        long lookups = hits.get() + misses.get();
+        return String.format("hits=%d, misses=%d, hit rate=%.1f%%, stale re-locations=%d, page transitions=%d",
+                hits.get(), misses.get(), lookups == 0 ? 0.0 : 100.0 * hits.get() / lookups, relocations.get(),
+                transitions.get());
+    }
+}
@@ -0,0 +1,154 @@
+package com.appium.pages;
+
+import io.appium.java_client.AppiumBy;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Point;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * KeypadInput - Compiles calculator input into the keys that type it
+ * Numbers and expressions such as "123*45-6=" become a list of key ids
+ * (digit_1, op_mul, eq, ...) whose locators match the page's key fields, so
+ * the whole input can be tapped from the page's LayoutMap in a single gesture
+ * chain. The expected formula is the input as the display shows it, compared
+ * after normalizing the display's operator symbols.
+ */
+final class KeypadInput {
+
+    private static final String EQUALS = "eq";
+
+    private KeypadInput() {
+        throw new UnsupportedOperationException("KeypadInput is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Compile input into key ids
+     *
+     * @param input digits, '.', operators (+ - * / or the display's own signs) and an optional final '=';
+     *              spaces are ignored
+     * @return key ids in typing order
+     * @throws IllegalArgumentException if the input has no keys, a character without a key, or '=' before the end
+     */
+    static List<String> compile(String input) {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            if (!keys.isEmpty() && EQUALS.equals(keys.get(keys.size() - 1))) {
+                throw new IllegalArgumentException("'=' must be the last key of calculator input: " + input);
+            }
+            keys.add(keyOf(c, input));
+        }
+        if (keys.isEmpty()) {
+            throw new IllegalArgumentException("Calculator input has no keys: '" + input + "'");
+        }
+        return keys;
+    }
+
+    private static String keyOf(char c, String input) {
+        if (c >= '0' && c <= '9') {
+            return "digit_" + c;
+        }
+        switch (c) {
+            case '.':
+                return "dec_point";
+            case '+':
+                return "op_add";
+            case '-':
+            case '\u2212':
+                return "op_sub";
+            case '*':
+            case '\u00d7':
+                return "op_mul";
+            case '/':
+            case '\u00f7':
+                return "op_div";
+            case '=':
+                return EQUALS;
+            default:
+                throw new IllegalArgumentException("No calculator key for '" + c + "' in: " + input);
+        }
+    }
+
+    /**
+     * @param keys key ids in typing order
+     * @return keys that build the formula, without a final '=' which replaces the formula with the result
+     */
+    static List<String> formulaKeys(List<String> keys) {
+        return !keys.isEmpty() && EQUALS.equals(keys.get(keys.size() - 1)) ? keys.subList(0, keys.size() - 1) : keys;
+    }
+
+    /**
+     * @param packageName app package prefixing the key resource ids
+     * @param key         key id
+     * @return native locator of the key, as declared by the page's element field
+     */
+    static By locator(String packageName, String key) {
+        return AppiumBy.id(packageName + ":id/" + key);
+    }
+
+    /**
+     * Resolve the tap point of every key from the page's layout
+     *
+     * @param layout      layout of the calculator's controls
+     * @param packageName app package prefixing the key resource ids
+     * @param keys        key ids in typing order
+     * @return key centers in typing order
+     * @throws IllegalStateException if a key is not in the layout
+     */
+    static List<Point> taps(LayoutMap layout, String packageName, List<String> keys) {
+        List<Point> taps = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            Point center = layout.center(locator(packageName, key));
+            if (center == null) {
+                throw new IllegalStateException("Calculator key " + key + " is not on the screen");
+            }
+            taps.add(center);
+        }
+        return taps;
+    }
+
+    /**
+     * @param input calculator input
+     * @return formula the display should show once the input is typed, normalized
+     */
+    static String expectedFormula(String input) {
+        String formula = normalize(input);
+        return formula.endsWith("=") ? formula.substring(0, formula.length() - 1) : formula;
+    }
+
+    /**
+     * Map the display's operator symbols to ASCII and drop spaces and digit grouping
+     *
+     * @param formula formula as displayed or typed
+     * @return normalized formula
+     */
+    static String normalize(String formula) {
+        StringBuilder normalized = new StringBuilder(formula.length());
+        for (int i = 0; i < formula.length(); i++) {
+            char c = formula.charAt(i);
+            switch (c) {
+                case '\u2212':
+                    normalized.append('-');
+                    break;
+                case '\u00d7':
+                    normalized.append('*');
+                    break;
+                case '\u00f7':
+                    normalized.append('/');
+                    break;
+                case ',':
+                    break;
+                default:
+                    if (!Character.isWhitespace(c)) {
+                        normalized.append(c);
+                    }
+            }
+        }
+        return normalized.toString();
+    }
+}
@@ -0,0 +1,180 @@
+package com.appium.pages;
+
+import com.appium.pagesource.PageNode;
+import com.appium.pagesource.PageSnapshot;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.ScreenOrientation;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.SessionId;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * LayoutMap - Bounds of a static screen's controls, captured from one snapshot
+ * Screens such as a keypad never move, so the bounds of every declared
+ * control are read from a single page source and kept per session, screen
+ * orientation and page class. Page objects then tap at precomputed
+ * coordinates without finding the element or waiting for it. A map is
+ * captured again after BasePage.verifyLayout() sees a control that moved, and
+ * dropped when the session is released. Counters cover all sessions.
+ */
+public final class LayoutMap {
+
+    private static final Logger logger = LogManager.getLogger(LayoutMap.class);
+    private static final Map<SessionId, Map<List<Object>, LayoutMap>> sessions = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, List<By>> locators = new ConcurrentHashMap<>();
+    private static final AtomicLong captures = new AtomicLong();
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong drifts = new AtomicLong();
+
+    private final Map<By, Rectangle> bounds;
+
+    private LayoutMap(Map<By, Rectangle> bounds) {
+        this.bounds = Collections.unmodifiableMap(bounds);
+    }
+
+    /**
+     * Read the bounds of the displayed controls from a snapshot. Controls that are
+     * not displayed, or whose locator cannot be evaluated locally, are left out
+     *
+     * @param snapshot page snapshot
+     * @param controls native locators of the controls
+     * @return layout of the controls found
+     */
+    static LayoutMap capture(PageSnapshot snapshot, Collection<By> controls) {
+        Map<By, Rectangle> bounds = new LinkedHashMap<>();
+        for (By by : controls) {
+            try {
+                snapshot.findAll(by).stream()
+                        .filter(PageNode::isDisplayed)
+                        .map(PageNode::getRect)
+                        .filter(rect -> rect != null && rect.getWidth() > 0 && rect.getHeight() > 0)
+                        .findFirst()
+                        .ifPresent(rect -> bounds.put(by, rect));
+            } catch (IllegalArgumentException e) {
+                logger.debug("Leaving {} out of the layout: {}", by, e.getMessage());
+            }
+        }
+        return new LayoutMap(bounds);
+    }
+
+    /**
+     * Get the layout of a page in a session and orientation, capturing it on first use
+     *
+     * @param sessionId   driver session ID
+     * @param orientation current screen orientation
+     * @param pageClass   page object class
+     * @param capture     captures the layout from a new snapshot
+     * @return layout of the page's controls
+     */
+    static LayoutMap get(SessionId sessionId, ScreenOrientation orientation, Class<?> pageClass,
+            Supplier<LayoutMap> capture) {
+        Map<List<Object>, LayoutMap> layouts = sessions.computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>());
+        List<Object> key = List.of(pageClass, orientation);
+        LayoutMap layout = layouts.get(key);
+        if (layout != null) {
+            hits.incrementAndGet();
+            return layout;
+        }
+        captures.incrementAndGet();
+        long start = System.currentTimeMillis();
+        layout = capture.get();
+        layouts.put(key, layout);
+        logger.debug("Captured {} controls of {} ({}) in {} ms", layout.size(), pageClass.getSimpleName(),
+                orientation, System.currentTimeMillis() - start);
+        return layout;
+    }
+
+    /**
+     * Drop the layout of a page after its controls moved; the next get() captures it again
+     *
+     * @param sessionId   driver session ID
+     * @param orientation screen orientation of the stale layout
+     * @param pageClass   page object class
+     */
+    static void drifted(SessionId sessionId, ScreenOrientation orientation, Class<?> pageClass) {
+        Map<List<Object>, LayoutMap> layouts = sessions.get(sessionId);
+        if (layouts != null && layouts.remove(List.of(pageClass, orientation)) != null) {
+            drifts.incrementAndGet();
+            logger.info("Layout of {} ({}) drifted, capturing it again", pageClass.getSimpleName(), orientation);
+        }
+    }
+
+    /**
+     * Get the native locators of a page class's element fields, read once per class
+     *
+     * @param pageClass page object class
+     * @param builder   builder used to read the locator annotations
+     * @return locators of the WebElement fields that declare one
+     */
+    static List<By> controlsOf(Class<?> pageClass, AndroidElementByBuilder builder) {
+        return locators.computeIfAbsent(pageClass, type -> {
+            List<By> controls = new ArrayList<>();
+            for (Field field : PageMetadata.fieldsOf(type)) {
+                By by = WebElement.class.isAssignableFrom(field.getType()) ? builder.buildNativeBy(field) : null;
+                if (by != null) {
+                    controls.add(by);
+                }
+            }
+            return Collections.unmodifiableList(controls);
+        });
+    }
+
+    /**
+     * Forget the layouts of a session - call when the test releases it
+     *
+     * @param sessionId driver session ID
+     */
+    public static void discard(SessionId sessionId) {
+        if (sessionId != null) {
+            sessions.remove(sessionId);
+        }
+    }
+
+    /**
+     * Summarize the layout counters of all sessions
+     *
+     * @return counters as a log-friendly string
+     */
+    public static String getStats() {
+        return "captures=" + captures.get() + ", cached=" + hits.get() + ", drifts=" + drifts.get();
+    }
+
+    /**
+     * @param by native locator of a control
+     * @return bounds of the control, or null if it was not on the captured screen
+     */
+    public Rectangle get(By by) {
+        return bounds.get(by);
+    }
+
+    /**
+     * @param by native locator of a control
+     * @return center of the control, or null if it was not on the captured screen
+     */
+    public Point center(By by) {
+        Rectangle rect = bounds.get(by);
+        return rect != null ? new Point(rect.getX() + rect.getWidth() / 2, rect.getY() + rect.getHeight() / 2) : null;
+    }
+
+    public boolean contains(By by) {
+        return bounds.containsKey(by);
+    }
+
+    public int size() {
+        return bounds.size();
+    }
+}
@@ -0,0 +1,23 @@
+package com.appium.pages;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * PageAnchor - Marks a page object element that identifies the page
+ * Anchored fields are checked together by BasePage.checkAnchors() on one page
+ * source snapshot, so a readiness check costs one request however many
+ * anchors the page declares. The field keeps its normal locator annotation.
+ *
+ * <pre>
+ * &#64;PageAnchor
+ * &#64;AndroidFindBy(id = "com.android.calculator2:id/eq")
+ * private WebElement equalsButton;
+ * </pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface PageAnchor {
+}
@@ -0,0 +1,59 @@
+package com.appium.pages;
+
+import org.openqa.selenium.By;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * PageAnchors - Reads and caches the @PageAnchor locators of page classes
+ * Locators are the native (Android) locators of the anchored fields, read once
+ * per page class and keyed by field name, superclass anchors first.
+ */
+final class PageAnchors {
+
+    private static final Map<Class<?>, Map<String, By>> anchors = new ConcurrentHashMap<>();
+
+    private PageAnchors() {
+        throw new UnsupportedOperationException("PageAnchors is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Get the anchor locators of a page class
+     *
+     * @param pageClass  page object class
+     * @param platform   platform used to pick the locator annotation
+     * @param automation automation used to pick the locator annotation
+     * @return locators by field name, empty if the page declares no anchors
+     */
+    static Map<String, By> of(Class<?> pageClass, String platform, String automation) {
+        return anchors.computeIfAbsent(pageClass, type -> read(type, new AndroidElementByBuilder(platform, automation)));
+    }
+
+    private static Map<String, By> read(Class<?> pageClass, AndroidElementByBuilder builder) {
+        List<Class<?>> hierarchy = new ArrayList<>();
+        for (Class<?> type = pageClass; type != null && type != BasePage.class; type = type.getSuperclass()) {
+            hierarchy.add(0, type);
+        }
+        Map<String, By> locators = new LinkedHashMap<>();
+        for (Class<?> type : hierarchy) {
+            for (Field field : type.getDeclaredFields()) {
+                if (!field.isAnnotationPresent(PageAnchor.class)) {
+                    continue;
+                }
+                By by = builder.buildNativeBy(field);
+                if (by == null) {
+                    throw new IllegalArgumentException("@PageAnchor field " + type.getSimpleName() + "."
+                            + field.getName() + " has no Android locator annotation");
+                }
+                locators.put(field.getName(), by);
+            }
+        }
+        return Collections.unmodifiableMap(locators);
+    }
+}
@@ -0,0 +1,80 @@
+package com.appium.pages;
+
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.pagefactory.FieldDecorator;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * PageMetadata - Element fields of page classes, found once per class
+ * Replaces the class hierarchy walk PageFactory repeats for every page
+ * instance: the fields a decorator can fill (elements, element lists and
+ * widgets) are collected and made accessible once, superclass fields first.
+ */
+final class PageMetadata {
+
+    private static final Map<Class<?>, List<Field>> fields = new ConcurrentHashMap<>();
+
+    private PageMetadata() {
+        throw new UnsupportedOperationException("PageMetadata is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Get the decoratable fields of a page class
+     *
+     * @param pageClass page object class
+     * @return fields declared below BasePage that may hold elements
+     */
+    static List<Field> fieldsOf(Class<?> pageClass) {
+        return fields.computeIfAbsent(pageClass, PageMetadata::read);
+    }
+
+    private static List<Field> read(Class<?> pageClass) {
+        List<Field> found = new ArrayList<>();
+        for (Class<?> type = pageClass; type != null && type != BasePage.class && type != Object.class;
+                type = type.getSuperclass()) {
+            List<Field> declared = new ArrayList<>();
+            for (Field field : type.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers) || field.isSynthetic()
+                        || field.getType().isPrimitive()) {
+                    continue;
+                }
+                if (WebElement.class.isAssignableFrom(field.getType()) || field.getType() == List.class
+                        || !field.getType().getName().startsWith("java.")) {
+                    field.setAccessible(true);
+                    declared.add(field);
+                }
+            }
+            found.addAll(0, declared);
+        }
+        return Collections.unmodifiableList(found);
+    }
+
+    /**
+     * Fill the element fields of a page instance
+     *
+     * @param page      page object
+     * @param decorator creates the value of each field, or returns null to leave it untouched
+     */
+    static void initElements(Object page, FieldDecorator decorator) {
+        ClassLoader loader = page.getClass().getClassLoader();
+        for (Field field : fieldsOf(page.getClass())) {
+            Object value = decorator.decorate(loader, field);
+            if (value == null) {
+                continue;
+            }
+            try {
+                field.set(page, value);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot initialize " + field, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.appium.pages;
+
+import com.appium.driver.DriverManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.SessionId;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * PageRegistry - Page objects of one driver session, built once per page class
+ * Page objects hold nothing but the driver and lazy element proxies, so one
+ * instance per class can serve every navigation to that page while the test
+ * holds the session. Instances are dropped when the session is released, as
+ * the app is reset before the session serves the next test. Counters cover
+ * all sessions.
+ */
+public final class PageRegistry {
+
+    private static final Logger logger = LogManager.getLogger(PageRegistry.class);
+    private static final Map<SessionId, Map<Class<?>, Object>> sessions = new ConcurrentHashMap<>();
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static final AtomicLong constructionNanos = new AtomicLong();
+
+    private PageRegistry() {
+        throw new UnsupportedOperationException("PageRegistry is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Get the page object of the current session, building it on first use
+     *
+     * @param pageClass page object class with a public no-argument constructor
+     * @param <P>       page type
+     * @return page object of the current session
+     */
+    public static <P extends BasePage> P get(Class<P> pageClass) {
+        SessionId sessionId = ((RemoteWebDriver) DriverManager.getDriver()).getSessionId();
+        return get(sessionId, pageClass, PageRegistry::instantiate);
+    }
+
+    /**
+     * Get the page object of a session, building it with the factory on first use
+     *
+     * @param sessionId driver session ID
+     * @param pageClass page object class
+     * @param factory   builds the page object
+     * @param <P>       page type
+     * @return page object of the session
+     */
+    static <P> P get(SessionId sessionId, Class<P> pageClass, Function<Class<P>, P> factory) {
+        Map<Class<?>, Object> pages = sessions.computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>());
+        Object page = pages.get(pageClass);
+        if (page != null) {
+            hits.incrementAndGet();
+            return pageClass.cast(page);
+        }
+        // Not computeIfAbsent: a page constructor may itself ask for another page
+        misses.incrementAndGet();
+        long start = System.nanoTime();
+        P created = factory.apply(pageClass);
+        long nanos = System.nanoTime() - start;
+        constructionNanos.addAndGet(nanos);
+        logger.debug("Built {} for session {} in {} us", pageClass.getSimpleName(), sessionId, nanos / 1000);
+        Object existing = pages.putIfAbsent(pageClass, created);
+        return existing != null ? pageClass.cast(existing) : created;
+    }
+
+    private static <P> P instantiate(Class<P> pageClass) {
+        try {
+            return pageClass.getConstructor().newInstance();
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Failed to build " + pageClass.getSimpleName(), e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException(pageClass.getSimpleName()
+                    + " needs a public no-argument constructor to be registered", e);
+        }
+    }
+
+    /**
+     * Drop the page objects of a session - call when the test releases it
+     *
+     * @param sessionId driver session ID
+     */
+    public static void discard(SessionId sessionId) {
+        if (sessionId != null) {
+            sessions.remove(sessionId);
+        }
+    }
+
+    public static long getHits() {
+        return hits.get();
+    }
+
+    public static long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Summarize the registry counters of all sessions
+     *
+     * @return counters as a log-friendly string
+     */
+    public static String getStats() {
+        long lookups = hits.get() + misses.get();
+        return String.format("hits=%d, builds=%d, hit rate=%.1f%%, mean build=%.2f ms", hits.get(), misses.get(),
+                lookups == 0 ? 0.0 : 100.0 * hits.get() / lookups,
+                misses.get() == 0 ? 0.0 : constructionNanos.get() / 1e6 / misses.get());
+    }
+}
@@ -0,0 +1,90 @@
+package com.appium.pages;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PresenceResult - Outcome of checking several locators on one page snapshot
+ * Holds whether each named locator matched a displayed element and whether
+ * the requested condition (all or any of them) is met.
+ */
+public final class PresenceResult {
+
+    /**
+     * How many locators must match for the check to pass
+     */
+    public enum Condition {
+        ALL, ANY
+    }
+
+    private final Condition condition;
+    private final Map<String, Boolean> results;
+
+    public PresenceResult(Condition condition, Map<String, Boolean> results) {
+        this.condition = condition;
+        this.results = Collections.unmodifiableMap(new LinkedHashMap<>(results));
+    }
+
+    /**
+     * Result in which none of the locators matched, e.g. when the page could not be read
+     *
+     * @param condition whether all or any of the locators must match
+     * @param names     locator names
+     * @return unsatisfied result
+     */
+    public static PresenceResult missing(Condition condition, Collection<String> names) {
+        Map<String, Boolean> results = new LinkedHashMap<>();
+        names.forEach(name -> results.put(name, false));
+        return new PresenceResult(condition, results);
+    }
+
+    /**
+     * @return true if all (ALL) or at least one (ANY) of the locators matched
+     */
+    public boolean isSatisfied() {
+        if (condition == Condition.ALL) {
+            return !results.isEmpty() && !results.containsValue(false);
+        }
+        return results.containsValue(true);
+    }
+
+    /**
+     * @param name locator name, the field name for page anchors
+     * @return true if the locator matched a displayed element
+     */
+    public boolean isPresent(String name) {
+        Boolean present = results.get(name);
+        if (present == null) {
+            throw new IllegalArgumentException("No locator named " + name + ", checked: " + results.keySet());
+        }
+        return present;
+    }
+
+    public Condition getCondition() {
+        return condition;
+    }
+
+    public Map<String, Boolean> getResults() {
+        return results;
+    }
+
+    public List<String> getMissing() {
+        List<String> missing = new ArrayList<>();
+        results.forEach((name, present) -> {
+            if (!present) {
+                missing.add(name);
+            }
+        });
+        return missing;
+    }
+
+    @Override
+    public String toString() {
+        return condition + " of " + results.keySet() + (isSatisfied() ? " satisfied" : " not satisfied, missing "
+                + getMissing());
+    }
+}
@@ -9,26 +9,29 @@ import org.openqa.selenium.WebElement;
  */
 public class SettingsPage extends BasePage {
 
+    @PageAnchor
     @AndroidFindBy(xpath = "//android.widget.TextView[@text='Settings']")
     private WebElement settingsTitle;
 
+    @PageAnchor
     @AndroidFindBy(xpath = "//android.widget.TextView[contains(@text, 'Network')]")
     private WebElement networkOption;
 
     @AndroidFindBy(xpath = "//android.widget.TextView[contains(@text, 'Connected devices') or contains(@text, 'Bluetooth')]")
     private WebElement connectedDevicesOption;
 
+    @PageAnchor
     @AndroidFindBy(xpath = "//android.widget.TextView[contains(@text, 'Apps')]")
     private WebElement appsOption;
 
     /**
-     * Check if Settings page is loaded
+     * Check if Settings page is loaded - any anchor, checked in one round trip
      * 
      * @return true if page is loaded
      */
     public boolean isSettingsPageDisplayed() {
         try {
-            return isDisplayed(settingsTitle) || isDisplayed(networkOption) || isDisplayed(appsOption);
+            return checkAnchors(PresenceResult.Condition.ANY).isSatisfied();
         } catch (Exception e) {
             logger.debug("Settings page elements not found");
             return true; // Settings app is open even if specific elements vary by Android version
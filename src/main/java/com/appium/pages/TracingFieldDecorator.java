@@ -0,0 +1,117 @@
+package com.appium.pages;
+
+import com.appium.metrics.LocatorKey;
+import com.appium.metrics.LocatorTelemetry;
+import com.appium.metrics.TracedElement;
+import io.appium.java_client.pagefactory.bys.builder.AppiumByBuilder;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+import org.openqa.selenium.support.pagefactory.FieldDecorator;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+/**
+ * TracingFieldDecorator - Page factory decorator attributing lookups to their locator
+ * Wraps the WebElement and List&lt;WebElement&gt; proxies of the next decorator so
+ * that every call marks the field's locator in LocatorTelemetry; the finds the
+ * call triggers, and waits on the element, are then recorded against it. Other
+ * fields are returned unchanged.
+ */
+public class TracingFieldDecorator implements FieldDecorator {
+
+    private final AppiumByBuilder byBuilder;
+    private final FieldDecorator next;
+
+    /**
+     * Create a decorator
+     *
+     * @param byBuilder annotation reader building the locators the next decorator uses
+     * @param next      decorator creating the element proxies
+     */
+    public TracingFieldDecorator(AppiumByBuilder byBuilder, FieldDecorator next) {
+        this.byBuilder = byBuilder;
+        this.next = next;
+    }
+
+    @Override
+    public Object decorate(ClassLoader loader, Field field) {
+        Object decorated = next.decorate(loader, field);
+        if (decorated == null || !(field.getType() == WebElement.class || isElementList(field))) {
+            return decorated;
+        }
+        byBuilder.setAnnotated(field);
+        By by = byBuilder.buildBy();
+        if (by == null) {
+            return decorated;
+        }
+        LocatorKey key = LocatorKey.of(field.getDeclaringClass().getSimpleName(), by);
+        return field.getType() == WebElement.class
+                ? proxyFor(loader, key, (WebElement) decorated)
+                : Proxy.newProxyInstance(loader, new Class<?>[] {List.class}, new TracingHandler(key, decorated));
+    }
+
+    private static boolean isElementList(Field field) {
+        return field.getType() == List.class && field.getGenericType() instanceof ParameterizedType
+                && ((ParameterizedType) field.getGenericType()).getActualTypeArguments()[0] == WebElement.class;
+    }
+
+    /**
+     * Create an element proxy marking the locator around every call
+     *
+     * @param loader  class loader for the proxy
+     * @param key     locator key
+     * @param element element proxy to delegate to
+     * @return WebElement proxy
+     */
+    static WebElement proxyFor(ClassLoader loader, LocatorKey key, WebElement element) {
+        return (WebElement) Proxy.newProxyInstance(loader,
+                new Class<?>[] {WebElement.class, WrapsElement.class, Locatable.class, TracedElement.class},
+                new TracingHandler(key, element));
+    }
+
+    /**
+     * Delegates every call with the locator marked on the calling thread
+     */
+    private static final class TracingHandler implements InvocationHandler {
+        private final LocatorKey key;
+        private final Object target;
+
+        private TracingHandler(LocatorKey key, Object target) {
+            this.key = key;
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if ("getLocatorKey".equals(method.getName()) && method.getParameterCount() == 0) {
+                return key;
+            }
+            if ("hashCode".equals(method.getName()) && method.getParameterCount() == 0) {
+                return System.identityHashCode(proxy);
+            }
+            if ("equals".equals(method.getName()) && method.getParameterCount() == 1) {
+                return proxy == args[0];
+            }
+            if ("getWrappedElement".equals(method.getName()) && !(target instanceof WrapsElement)) {
+                return target;
+            }
+
+            LocatorKey previous = LocatorTelemetry.enter(key);
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            } finally {
+                LocatorTelemetry.exit(previous);
+            }
+        }
+    }
+}
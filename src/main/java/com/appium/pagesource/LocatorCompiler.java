@@ -0,0 +1,300 @@
+package com.appium.pagesource;
+
+import io.appium.java_client.AppiumBy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * LocatorCompiler - Rewrites XPath locators into faster UiAutomator2 strategies
+ * A single //class[...] step whose predicates are ANDed attribute tests maps to
+ * one UiSelector, which the server matches while walking the accessibility tree
+ * instead of serializing the whole hierarchy for an XPath query. ORs over one
+ * attribute become a *Matches regex. Exact resource-id or content-desc lookups
+ * become id and accessibility-id lookups. Everything else (several steps,
+ * positions, not(), empty values, mixed-attribute ORs) is kept as XPath, since
+ * UiSelector has no equivalent with the same document-order result.
+ */
+public final class LocatorCompiler {
+
+    private static final Logger logger = LogManager.getLogger(LocatorCompiler.class);
+    private static final Map<String, Optional<By>> compiled = new ConcurrentHashMap<>();
+
+    /** Characters that would need escaping in a UiSelector string literal */
+    private static final Pattern UNSAFE_LITERAL = Pattern.compile("[\"\\\\]");
+    /** Characters that would need escaping in a regex - dots are written as [.] */
+    private static final Pattern UNSAFE_REGEX = Pattern.compile("[\"\\\\*+?()\\[\\]{}|^$]");
+    private static final Pattern DIGITS = Pattern.compile("\\d+");
+
+    private static final Map<String, String> BOOLEAN_ATTRIBUTES = Map.of(
+            "checkable", "checkable", "checked", "checked", "clickable", "clickable", "enabled", "enabled",
+            "focusable", "focusable", "focused", "focused", "scrollable", "scrollable", "selected", "selected",
+            "long-clickable", "longClickable");
+
+    private LocatorCompiler() {
+        throw new UnsupportedOperationException("LocatorCompiler is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Rewrite an XPath locator, or keep it
+     *
+     * @param by locator from a page object annotation
+     * @return equivalent faster locator, or the locator itself
+     */
+    public static By compile(By by) {
+        if (!(by instanceof By.ByXPath)) {
+            return by;
+        }
+        By rewritten = compile(String.valueOf(((By.Remotable) by).getRemoteParameters().value()));
+        return rewritten != null ? rewritten : by;
+    }
+
+    /**
+     * Rewrite an XPath expression (results are cached and logged once)
+     *
+     * @param xpath XPath expression
+     * @return equivalent id, accessibility-id or UiSelector locator, or null to keep the XPath
+     */
+    public static By compile(String xpath) {
+        return compiled.computeIfAbsent(xpath, expression -> {
+            try {
+                By rewritten = rewrite(PageXPath.compile(expression));
+                logger.info("Rewrote XPath {} as {}", expression, rewritten);
+                return Optional.of(rewritten);
+            } catch (IllegalArgumentException e) {
+                logger.info("Keeping XPath {}: {}", expression, e.getMessage());
+                return Optional.empty();
+            }
+        }).orElse(null);
+    }
+
+    /**
+     * Express a locator as a UiSelector, e.g. as the target of UiScrollable.scrollIntoView
+     *
+     * @param by id, accessibility-id, class name, UiSelector or rewritable XPath locator
+     * @return UiSelector expression, or null if the locator has no UiSelector equivalent
+     */
+    public static String toUiSelector(By by) {
+        By target = compile(by);
+        if (!(target instanceof By.Remotable)) {
+            return null;
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) target).getRemoteParameters();
+        String value = String.valueOf(parameters.value());
+        try {
+            switch (parameters.using()) {
+                case "-android uiautomator":
+                    return value.startsWith("new UiSelector()") && !value.contains(";") ? value : null;
+                case "id":
+                    return value.contains(":id/")
+                            ? "new UiSelector().resourceId(" + quote(value) + ")"
+                            : "new UiSelector().resourceIdMatches(\".*:id/" + safe(value, UNSAFE_REGEX)
+                                    .replace(".", "[.]") + "\")";
+                case "accessibility id":
+                    return "new UiSelector().description(" + quote(value) + ")";
+                case "class name":
+                    return "new UiSelector().className(" + quote(value) + ")";
+                default:
+                    return null;
+            }
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static By rewrite(PageXPath xpath) {
+        List<PageXPath.Step> steps = xpath.getSteps();
+        if (steps.size() != 1 || !steps.get(0).isDescendant()) {
+            throw new IllegalArgumentException("only a single // step maps to UiSelector");
+        }
+        PageXPath.Step step = steps.get(0);
+
+        List<PageXPath.Predicate> terms = new ArrayList<>();
+        for (PageXPath.Predicate predicate : step.getPredicates()) {
+            if (predicate.getKind() == PageXPath.Kind.AND) {
+                terms.addAll(predicate.getOperands());
+            } else {
+                terms.add(predicate);
+            }
+        }
+
+        // Selector method -> argument literal, each method at most once
+        Map<String, String> selector = new LinkedHashMap<>();
+        if (step.getName() != null) {
+            put(selector, "className", quote(step.getName()));
+        }
+        for (PageXPath.Predicate term : terms) {
+            switch (term.getKind()) {
+                case EQUALS:
+                    putEquals(selector, term.getAttribute(), term.getValue());
+                    break;
+                case CONTAINS:
+                case STARTS_WITH:
+                    putPartial(selector, term);
+                    break;
+                case OR:
+                    putAlternatives(selector, term.getOperands());
+                    break;
+                default:
+                    throw new IllegalArgumentException(term.getKind() + " predicates have no UiSelector equivalent");
+            }
+        }
+        if (selector.isEmpty()) {
+            throw new IllegalArgumentException("nothing to select on");
+        }
+
+        if (selector.size() == 1 && selector.containsKey("resourceId")
+                && unquote(selector.get("resourceId")).contains(":id/")) {
+            return AppiumBy.id(unquote(selector.get("resourceId")));
+        }
+        if (selector.size() == 1 && selector.containsKey("description")) {
+            return AppiumBy.accessibilityId(unquote(selector.get("description")));
+        }
+        StringBuilder expression = new StringBuilder("new UiSelector()");
+        selector.forEach((method, argument) -> expression.append('.').append(method).append('(').append(argument)
+                .append(')'));
+        return AppiumBy.androidUIAutomator(expression.toString());
+    }
+
+    private static void putEquals(Map<String, String> selector, String attribute, String value) {
+        String method;
+        switch (attribute) {
+            case "text":
+                method = "text";
+                break;
+            case "resource-id":
+                method = "resourceId";
+                break;
+            case "content-desc":
+                method = "description";
+                break;
+            case "class":
+                method = "className";
+                break;
+            case "package":
+                method = "packageName";
+                break;
+            case "index":
+                if (!DIGITS.matcher(value).matches()) {
+                    throw new IllegalArgumentException("@index must be a number");
+                }
+                put(selector, "index", value);
+                return;
+            default:
+                String booleanMethod = BOOLEAN_ATTRIBUTES.get(attribute);
+                if (booleanMethod == null || !("true".equals(value) || "false".equals(value))) {
+                    throw new IllegalArgumentException("@" + attribute + " has no UiSelector equivalent");
+                }
+                put(selector, booleanMethod, value);
+                return;
+        }
+        put(selector, method, quote(value));
+    }
+
+    private static void putPartial(Map<String, String> selector, PageXPath.Predicate term) {
+        boolean contains = term.getKind() == PageXPath.Kind.CONTAINS;
+        switch (term.getAttribute()) {
+            case "text":
+                put(selector, contains ? "textContains" : "textStartsWith", quote(term.getValue()));
+                break;
+            case "content-desc":
+                put(selector, contains ? "descriptionContains" : "descriptionStartsWith", quote(term.getValue()));
+                break;
+            default:
+                // resourceId and className only offer regex matching
+                putAlternatives(selector, List.of(term));
+        }
+    }
+
+    /**
+     * ORed tests on one attribute as a single *Matches regex, e.g.
+     * contains(@text, 'A') or @text='B' becomes textMatches("(?s)(.*A.*|B)")
+     */
+    private static void putAlternatives(Map<String, String> selector, List<PageXPath.Predicate> operands) {
+        String attribute = null;
+        List<String> alternatives = new ArrayList<>();
+        for (PageXPath.Predicate operand : operands) {
+            if (operand.getKind() == PageXPath.Kind.OR) {
+                putAlternatives(selector, operand.getOperands());
+                continue;
+            }
+            if (attribute != null && !attribute.equals(operand.getAttribute())) {
+                throw new IllegalArgumentException("or over different attributes has no UiSelector equivalent");
+            }
+            attribute = operand.getAttribute();
+            String value = safe(operand.getValue(), UNSAFE_REGEX).replace(".", "[.]");
+            switch (operand.getKind()) {
+                case EQUALS:
+                    alternatives.add(value);
+                    break;
+                case CONTAINS:
+                    alternatives.add(".*" + value + ".*");
+                    break;
+                case STARTS_WITH:
+                    alternatives.add(value + ".*");
+                    break;
+                default:
+                    throw new IllegalArgumentException(operand.getKind() + " inside or has no UiSelector equivalent");
+            }
+        }
+        if (attribute == null) {
+            return;
+        }
+        String method;
+        switch (attribute) {
+            case "text":
+                method = "textMatches";
+                break;
+            case "content-desc":
+                method = "descriptionMatches";
+                break;
+            case "resource-id":
+                method = "resourceIdMatches";
+                break;
+            case "class":
+                method = "classNameMatches";
+                break;
+            case "package":
+                method = "packageNameMatches";
+                break;
+            default:
+                throw new IllegalArgumentException("@" + attribute + " has no UiSelector regex equivalent");
+        }
+        put(selector, method, "\"(?s)(" + String.join("|", alternatives) + ")\"");
+    }
+
+    private static void put(Map<String, String> selector, String method, String argument) {
+        if (selector.putIfAbsent(method, argument) != null) {
+            throw new IllegalArgumentException("UiSelector." + method + " would be set twice");
+        }
+    }
+
+    private static String quote(String value) {
+        return "\"" + safe(value, UNSAFE_LITERAL) + "\"";
+    }
+
+    /**
+     * Accept only values that need no escaping, so they mean the same as in the XPath
+     */
+    private static String safe(String value, Pattern unsafe) {
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("empty values match differently in UiSelector");
+        }
+        if (unsafe.matcher(value).find()) {
+            throw new IllegalArgumentException("'" + value + "' needs escaping");
+        }
+        return value;
+    }
+
+    private static String unquote(String literal) {
+        return literal.substring(1, literal.length() - 1);
+    }
+}
@@ -0,0 +1,128 @@
+package com.appium.pagesource;
+
+import org.openqa.selenium.Rectangle;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * PageNode - One view of a parsed page source
+ * Read-only copy of the element's attributes as reported by UiAutomator2; the
+ * tag name is the view class (android.widget.TextView).
+ */
+public final class PageNode {
+
+    private static final Pattern BOUNDS = Pattern.compile("\\[(-?\\d+),(-?\\d+)]\\[(-?\\d+),(-?\\d+)]");
+
+    private final String tag;
+    private final Map<String, String> attributes;
+    private final PageNode parent;
+    private final int order;
+    private final List<PageNode> children = new ArrayList<>();
+
+    PageNode(String tag, Map<String, String> attributes, PageNode parent, int order) {
+        this.tag = tag;
+        this.attributes = Collections.unmodifiableMap(attributes);
+        this.parent = parent;
+        this.order = order;
+        if (parent != null) {
+            parent.children.add(this);
+        }
+    }
+
+    public String getTag() {
+        return tag;
+    }
+
+    /**
+     * @param name attribute name, e.g. resource-id
+     * @return attribute value, or null when the node has no such attribute
+     */
+    public String getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+
+    public String getText() {
+        return attributes.get("text");
+    }
+
+    public String getResourceId() {
+        return attributes.get("resource-id");
+    }
+
+    public String getContentDesc() {
+        return attributes.get("content-desc");
+    }
+
+    public String getBounds() {
+        return attributes.get("bounds");
+    }
+
+    /**
+     * @return bounds as a rectangle in viewport coordinates, or null when the node reports none
+     */
+    public Rectangle getRect() {
+        String bounds = getBounds();
+        Matcher matcher = bounds != null ? BOUNDS.matcher(bounds) : null;
+        if (matcher == null || !matcher.matches()) {
+            return null;
+        }
+        int left = Integer.parseInt(matcher.group(1));
+        int top = Integer.parseInt(matcher.group(2));
+        return new Rectangle(left, top, Integer.parseInt(matcher.group(4)) - top,
+                Integer.parseInt(matcher.group(3)) - left);
+    }
+
+    /**
+     * @return true unless the source reports the view as not displayed
+     */
+    public boolean isDisplayed() {
+        return !"false".equals(attributes.get("displayed"));
+    }
+
+    public boolean isEnabled() {
+        return !"false".equals(attributes.get("enabled"));
+    }
+
+    /**
+     * @return parent node, or null for the document
+     */
+    public PageNode getParent() {
+        return parent;
+    }
+
+    public List<PageNode> getChildren() {
+        return Collections.unmodifiableList(children);
+    }
+
+    /**
+     * @return position of the node in document order, the document being 0
+     */
+    int getOrder() {
+        return order;
+    }
+
+    List<PageNode> children() {
+        return children;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder description = new StringBuilder(tag);
+        for (String name : new String[] {"resource-id", "text", "content-desc"}) {
+            String value = attributes.get(name);
+            if (value != null && !value.isEmpty()) {
+                description.append(" ").append(name).append("='").append(value).append("'");
+            }
+        }
+        return description.toString();
+    }
+}
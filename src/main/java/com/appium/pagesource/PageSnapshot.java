@@ -0,0 +1,246 @@
+package com.appium.pagesource;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PageSnapshot - Parsed copy of one page source for local, read-only checks
+ * The source is fetched once and streamed into a tree indexed by view class,
+ * resource-id, text and content-desc, so checking several locators costs one
+ * getPageSource() call instead of one server-side XPath query each. A snapshot
+ * does not follow the screen - take a new one after every action.
+ */
+public final class PageSnapshot {
+
+    private static final Logger logger = LogManager.getLogger(PageSnapshot.class);
+    private static final XMLInputFactory inputFactory = createInputFactory();
+
+    private static final String[] INDEXED_ATTRIBUTES = {"resource-id", "text", "content-desc"};
+
+    private final PageNode document;
+    private final List<PageNode> nodes;
+    private final Map<String, List<PageNode>> byClass = new HashMap<>();
+    private final Map<String, Map<String, List<PageNode>>> byAttribute = new HashMap<>();
+
+    private PageSnapshot(PageNode document, List<PageNode> nodes) {
+        this.document = document;
+        this.nodes = Collections.unmodifiableList(nodes);
+        for (String attribute : INDEXED_ATTRIBUTES) {
+            byAttribute.put(attribute, new HashMap<>());
+        }
+        for (PageNode node : nodes) {
+            byClass.computeIfAbsent(node.getTag(), tag -> new ArrayList<>()).add(node);
+            for (String attribute : INDEXED_ATTRIBUTES) {
+                String value = node.getAttribute(attribute);
+                if (value != null && !value.isEmpty()) {
+                    byAttribute.get(attribute).computeIfAbsent(value, key -> new ArrayList<>()).add(node);
+                }
+            }
+        }
+    }
+
+    /**
+     * Parse a page source as returned by getPageSource()
+     *
+     * @param xml page source
+     * @return parsed snapshot
+     * @throws IllegalArgumentException if the source is not well-formed XML
+     */
+    public static PageSnapshot parse(String xml) {
+        long start = System.nanoTime();
+        PageNode document = new PageNode("#document", Map.of(), null, 0);
+        List<PageNode> nodes = new ArrayList<>();
+        try {
+            XMLStreamReader reader = inputFactory.createXMLStreamReader(new StringReader(xml));
+            try {
+                PageNode current = document;
+                while (reader.hasNext()) {
+                    int event = reader.next();
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        Map<String, String> attributes = new LinkedHashMap<>();
+                        for (int i = 0; i < reader.getAttributeCount(); i++) {
+                            attributes.put(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+                        }
+                        current = new PageNode(reader.getLocalName(), attributes, current, nodes.size() + 1);
+                        nodes.add(current);
+                    } else if (event == XMLStreamConstants.END_ELEMENT) {
+                        current = current.getParent();
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IllegalArgumentException("Cannot parse page source: " + e.getMessage(), e);
+        }
+        PageSnapshot snapshot = new PageSnapshot(document, nodes);
+        logger.debug("Parsed page source of {} chars into {} nodes in {} us", xml.length(), nodes.size(),
+                (System.nanoTime() - start) / 1000);
+        return snapshot;
+    }
+
+    /**
+     * Find all nodes matching an XPath expression
+     *
+     * @param xpath expression in the subset supported by PageXPath
+     * @return matching nodes in document order
+     */
+    public List<PageNode> findAll(String xpath) {
+        return PageXPath.compile(xpath).evaluate(this);
+    }
+
+    /**
+     * Find the first node matching an XPath expression
+     *
+     * @param xpath expression in the subset supported by PageXPath
+     * @return first match, or null if none
+     */
+    public PageNode find(String xpath) {
+        List<PageNode> matches = findAll(xpath);
+        return matches.isEmpty() ? null : matches.get(0);
+    }
+
+    /**
+     * Check whether any node matches an XPath expression
+     *
+     * @param xpath expression in the subset supported by PageXPath
+     * @return true if at least one node matches
+     */
+    public boolean exists(String xpath) {
+        return !findAll(xpath).isEmpty();
+    }
+
+    /**
+     * Check whether a displayed node matches an XPath expression - the local
+     * equivalent of isDisplayed() on a located element
+     *
+     * @param xpath expression in the subset supported by PageXPath
+     * @return true if a matching node is displayed
+     */
+    public boolean isDisplayed(String xpath) {
+        return findAll(xpath).stream().anyMatch(PageNode::isDisplayed);
+    }
+
+    /**
+     * Find all nodes matching a locator - xpath, id, accessibility id and class name
+     * locators are evaluated locally
+     *
+     * @param by locator
+     * @return matching nodes in document order
+     * @throws IllegalArgumentException if the strategy or expression cannot be evaluated locally
+     */
+    public List<PageNode> findAll(By by) {
+        if (!(by instanceof By.Remotable)) {
+            throw new IllegalArgumentException("Locator " + by + " cannot be evaluated locally");
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) by).getRemoteParameters();
+        String value = String.valueOf(parameters.value());
+        switch (parameters.using()) {
+            case "xpath":
+                return findAll(value);
+            case "id":
+                if (value.contains(":id/")) {
+                    return findByResourceId(value);
+                }
+                // UiAutomator2 prefixes short IDs with the package of the app under test
+                List<PageNode> matches = new ArrayList<>();
+                for (PageNode node : nodes) {
+                    String resourceId = node.getResourceId();
+                    if (resourceId != null && resourceId.endsWith(":id/" + value)) {
+                        matches.add(node);
+                    }
+                }
+                return matches;
+            case "accessibility id":
+                return findByContentDesc(value);
+            case "class name":
+                return findByClass(value);
+            default:
+                throw new IllegalArgumentException("Locator strategy " + parameters.using()
+                        + " cannot be evaluated locally");
+        }
+    }
+
+    public List<PageNode> findByResourceId(String resourceId) {
+        return byAttribute.get("resource-id").getOrDefault(resourceId, List.of());
+    }
+
+    public List<PageNode> findByText(String text) {
+        return byAttribute.get("text").getOrDefault(text, List.of());
+    }
+
+    public List<PageNode> findByContentDesc(String contentDesc) {
+        return byAttribute.get("content-desc").getOrDefault(contentDesc, List.of());
+    }
+
+    public List<PageNode> findByClass(String className) {
+        return byClass.getOrDefault(className, List.of());
+    }
+
+    /**
+     * Check whether any view shows a text
+     *
+     * @param text text to look for
+     * @return true if a node's text contains it
+     */
+    public boolean containsText(String text) {
+        for (PageNode node : nodes) {
+            String value = node.getText();
+            if (value != null && value.contains(text)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int getNodeCount() {
+        return nodes.size();
+    }
+
+    PageNode getDocument() {
+        return document;
+    }
+
+    /**
+     * Nodes a leading //step can match: the smallest of the class index and the
+     * indexes of its attribute equality predicates, in document order
+     */
+    List<PageNode> candidates(PageXPath.Step step) {
+        List<PageNode> best = step.getName() != null ? findByClass(step.getName()) : nodes;
+        for (PageXPath.Predicate predicate : step.getPredicates()) {
+            List<PageXPath.Predicate> terms = predicate.getKind() == PageXPath.Kind.AND
+                    ? predicate.getOperands() : List.of(predicate);
+            for (PageXPath.Predicate term : terms) {
+                if (term.getKind() == PageXPath.Kind.EQUALS && byAttribute.containsKey(term.getAttribute())) {
+                    List<PageNode> indexed = term.getValue().isEmpty() ? best
+                            : byAttribute.get(term.getAttribute()).getOrDefault(term.getValue(), List.of());
+                    if (indexed.size() < best.size()) {
+                        best = indexed;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+        return factory;
+    }
+}
@@ -0,0 +1,450 @@
+package com.appium.pagesource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * PageXPath - Compiled XPath evaluated against a PageSnapshot
+ * Supports the subset page objects use: absolute paths of / and // steps with
+ * a view class or * and predicates built from @attr, @attr='v', @attr!='v',
+ * contains(@attr, 'v'), starts-with(@attr, 'v'), and, or, not() and [n].
+ * Anything else is rejected with IllegalArgumentException, so callers can fall
+ * back to a server-side lookup. Compiled expressions are cached.
+ */
+public final class PageXPath {
+
+    private static final Map<String, PageXPath> compiled = new ConcurrentHashMap<>();
+
+    private final String expression;
+    private final List<Step> steps;
+
+    private PageXPath(String expression, List<Step> steps) {
+        this.expression = expression;
+        this.steps = Collections.unmodifiableList(steps);
+    }
+
+    /**
+     * Compile an expression, reusing an earlier compilation
+     *
+     * @param expression XPath expression
+     * @return compiled expression
+     * @throws IllegalArgumentException if the expression is outside the supported subset
+     */
+    public static PageXPath compile(String expression) {
+        PageXPath xpath = compiled.get(expression);
+        if (xpath == null) {
+            xpath = new Parser(expression).parse();
+            compiled.putIfAbsent(expression, xpath);
+        }
+        return xpath;
+    }
+
+    /**
+     * Check whether an expression can be evaluated locally
+     *
+     * @param expression XPath expression
+     * @return true if compile() accepts it
+     */
+    public static boolean isSupported(String expression) {
+        try {
+            compile(expression);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    public List<Step> getSteps() {
+        return steps;
+    }
+
+    /**
+     * Evaluate against a snapshot
+     *
+     * @param snapshot parsed page source
+     * @return matching nodes in document order
+     */
+    List<PageNode> evaluate(PageSnapshot snapshot) {
+        List<PageNode> context = List.of(snapshot.getDocument());
+        int first = 0;
+        Step head = steps.get(0);
+        if (head.isDescendant() && !head.hasPosition()) {
+            // //class[...] from the document - start from the index instead of walking the tree
+            context = filter(snapshot.candidates(head), head);
+            first = 1;
+        }
+        for (int i = first; i < steps.size() && !context.isEmpty(); i++) {
+            context = apply(steps.get(i), context);
+        }
+        return context;
+    }
+
+    private static List<PageNode> apply(Step step, List<PageNode> context) {
+        Set<PageNode> matches = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (PageNode node : context) {
+            if (step.isDescendant()) {
+                collectDescendants(step, node, matches);
+            } else {
+                matches.addAll(filter(node.children(), step));
+            }
+        }
+        List<PageNode> ordered = new ArrayList<>(matches);
+        ordered.sort(Comparator.comparingInt(PageNode::getOrder));
+        return ordered;
+    }
+
+    /**
+     * Descendant step: the children of the node and every node below it, with
+     * positions counted per parent as in descendant-or-self::node()/child::step
+     */
+    private static void collectDescendants(Step step, PageNode node, Set<PageNode> matches) {
+        matches.addAll(filter(node.children(), step));
+        for (PageNode child : node.children()) {
+            collectDescendants(step, child, matches);
+        }
+    }
+
+    private static List<PageNode> filter(List<PageNode> nodes, Step step) {
+        List<PageNode> selected = new ArrayList<>();
+        for (PageNode node : nodes) {
+            if (step.getName() == null || step.getName().equals(node.getTag())) {
+                selected.add(node);
+            }
+        }
+        for (Predicate predicate : step.getPredicates()) {
+            if (predicate.getKind() == Kind.POSITION) {
+                int position = predicate.getPosition();
+                selected = position <= selected.size() ? List.of(selected.get(position - 1)) : List.of();
+            } else {
+                selected.removeIf(node -> !predicate.test(node));
+            }
+        }
+        return selected;
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+
+    /**
+     * Predicate kinds
+     */
+    public enum Kind {
+        EXISTS, EQUALS, NOT_EQUALS, CONTAINS, STARTS_WITH, AND, OR, NOT, POSITION
+    }
+
+    /**
+     * One location step: / or //, a view class (null for *) and its predicates
+     */
+    public static final class Step {
+        private final boolean descendant;
+        private final String name;
+        private final List<Predicate> predicates;
+
+        private Step(boolean descendant, String name, List<Predicate> predicates) {
+            this.descendant = descendant;
+            this.name = name;
+            this.predicates = Collections.unmodifiableList(predicates);
+        }
+
+        public boolean isDescendant() {
+            return descendant;
+        }
+
+        /**
+         * @return view class, or null for *
+         */
+        public String getName() {
+            return name;
+        }
+
+        public List<Predicate> getPredicates() {
+            return predicates;
+        }
+
+        boolean hasPosition() {
+            return predicates.stream().anyMatch(predicate -> predicate.getKind() == Kind.POSITION);
+        }
+    }
+
+    /**
+     * Predicate tree node: an attribute test, a boolean combination or a position
+     */
+    public static final class Predicate {
+        private final Kind kind;
+        private final String attribute;
+        private final String value;
+        private final List<Predicate> operands;
+        private final int position;
+
+        private Predicate(Kind kind, String attribute, String value, List<Predicate> operands, int position) {
+            this.kind = kind;
+            this.attribute = attribute;
+            this.value = value;
+            this.operands = operands;
+            this.position = position;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public String getAttribute() {
+            return attribute;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public List<Predicate> getOperands() {
+            return operands;
+        }
+
+        /**
+         * @return 1-based position for POSITION predicates
+         */
+        public int getPosition() {
+            return position;
+        }
+
+        boolean test(PageNode node) {
+            String actual = attribute != null ? node.getAttribute(attribute) : null;
+            switch (kind) {
+                case EXISTS:
+                    return actual != null;
+                case EQUALS:
+                    return value.equals(actual);
+                case NOT_EQUALS:
+                    // XPath compares against an empty node set as false
+                    return actual != null && !value.equals(actual);
+                case CONTAINS:
+                    return (actual != null ? actual : "").contains(value);
+                case STARTS_WITH:
+                    return (actual != null ? actual : "").startsWith(value);
+                case AND:
+                    return operands.stream().allMatch(operand -> operand.test(node));
+                case OR:
+                    return operands.stream().anyMatch(operand -> operand.test(node));
+                case NOT:
+                    return !operands.get(0).test(node);
+                default:
+                    throw new IllegalStateException("Position predicates are applied per step");
+            }
+        }
+    }
+
+    /**
+     * Recursive descent parser for the supported subset
+     */
+    private static final class Parser {
+        private final String expression;
+        private int pos;
+
+        private Parser(String expression) {
+            this.expression = expression;
+        }
+
+        private PageXPath parse() {
+            List<Step> steps = new ArrayList<>();
+            skipSpaces();
+            if (!peek('/')) {
+                throw unsupported("expression must start with / or //");
+            }
+            while (peek('/')) {
+                pos++;
+                boolean descendant = false;
+                if (peek('/')) {
+                    pos++;
+                    descendant = true;
+                }
+                steps.add(step(descendant));
+                skipSpaces();
+            }
+            if (pos < expression.length()) {
+                throw unsupported("unexpected '" + expression.substring(pos) + "'");
+            }
+            return new PageXPath(expression, steps);
+        }
+
+        private Step step(boolean descendant) {
+            String name;
+            if (peek('*')) {
+                pos++;
+                name = null;
+            } else {
+                name = name();
+                if (name.startsWith(".") || peek('(') || peek(':')) {
+                    throw unsupported("expected a view class or *");
+                }
+            }
+            List<Predicate> predicates = new ArrayList<>();
+            skipSpaces();
+            while (peek('[')) {
+                pos++;
+                skipSpaces();
+                if (pos < expression.length() && Character.isDigit(expression.charAt(pos))) {
+                    int position = Integer.parseInt(number());
+                    if (position < 1) {
+                        throw unsupported("positions start at 1");
+                    }
+                    predicates.add(new Predicate(Kind.POSITION, null, null, null, position));
+                } else {
+                    predicates.add(or());
+                }
+                expect(']');
+                skipSpaces();
+            }
+            return new Step(descendant, name, predicates);
+        }
+
+        private Predicate or() {
+            List<Predicate> operands = new ArrayList<>();
+            operands.add(and());
+            while (keyword("or")) {
+                operands.add(and());
+            }
+            return operands.size() == 1 ? operands.get(0) : new Predicate(Kind.OR, null, null, operands, 0);
+        }
+
+        private Predicate and() {
+            List<Predicate> operands = new ArrayList<>();
+            operands.add(unary());
+            while (keyword("and")) {
+                operands.add(unary());
+            }
+            return operands.size() == 1 ? operands.get(0) : new Predicate(Kind.AND, null, null, operands, 0);
+        }
+
+        private Predicate unary() {
+            skipSpaces();
+            if (peek('(')) {
+                pos++;
+                Predicate inner = or();
+                expect(')');
+                return inner;
+            }
+            if (peek('@')) {
+                pos++;
+                String attribute = name();
+                skipSpaces();
+                if (peek('=')) {
+                    pos++;
+                    return new Predicate(Kind.EQUALS, attribute, literal(), null, 0);
+                }
+                if (expression.startsWith("!=", pos)) {
+                    pos += 2;
+                    return new Predicate(Kind.NOT_EQUALS, attribute, literal(), null, 0);
+                }
+                return new Predicate(Kind.EXISTS, attribute, null, null, 0);
+            }
+            String function = name();
+            expect('(');
+            switch (function) {
+                case "not": {
+                    Predicate inner = or();
+                    expect(')');
+                    return new Predicate(Kind.NOT, null, null, List.of(inner), 0);
+                }
+                case "contains":
+                case "starts-with": {
+                    expect('@');
+                    String attribute = name();
+                    expect(',');
+                    String value = literal();
+                    expect(')');
+                    return new Predicate("contains".equals(function) ? Kind.CONTAINS : Kind.STARTS_WITH, attribute,
+                            value, null, 0);
+                }
+                default:
+                    throw unsupported("function " + function + "() is not supported");
+            }
+        }
+
+        private String literal() {
+            skipSpaces();
+            if (pos < expression.length() && Character.isDigit(expression.charAt(pos))) {
+                return number();
+            }
+            if (!peek('\'') && !peek('"')) {
+                throw unsupported("expected a string literal");
+            }
+            char quote = expression.charAt(pos++);
+            int end = expression.indexOf(quote, pos);
+            if (end < 0) {
+                throw unsupported("unterminated string literal");
+            }
+            String value = expression.substring(pos, end);
+            pos = end + 1;
+            return value;
+        }
+
+        private String name() {
+            skipSpaces();
+            int start = pos;
+            while (pos < expression.length()) {
+                char c = expression.charAt(pos);
+                if (!Character.isLetterOrDigit(c) && c != '.' && c != '_' && c != '-' && c != '$') {
+                    break;
+                }
+                pos++;
+            }
+            if (start == pos) {
+                throw unsupported("expected a name");
+            }
+            return expression.substring(start, pos);
+        }
+
+        private String number() {
+            int start = pos;
+            while (pos < expression.length() && Character.isDigit(expression.charAt(pos))) {
+                pos++;
+            }
+            return expression.substring(start, pos);
+        }
+
+        private boolean keyword(String keyword) {
+            skipSpaces();
+            int end = pos + keyword.length();
+            if (expression.startsWith(keyword, pos)
+                    && (end == expression.length() || !Character.isLetterOrDigit(expression.charAt(end)))) {
+                pos = end;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char c) {
+            skipSpaces();
+            if (!peek(c)) {
+                throw unsupported("expected '" + c + "'");
+            }
+            pos++;
+        }
+
+        private boolean peek(char c) {
+            return pos < expression.length() && expression.charAt(pos) == c;
+        }
+
+        private void skipSpaces() {
+            while (pos < expression.length() && Character.isWhitespace(expression.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private IllegalArgumentException unsupported(String reason) {
+            return new IllegalArgumentException("Unsupported XPath " + expression + " at " + pos + ": " + reason);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.appium.runner;
+
+import com.appium.utils.ExecutionThreads;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.TestNG;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * SuiteLauncher - Runs TestNG suites with the configured execution mode
+ * Surefire cannot hand TestNG an executor factory, so virtual-thread runs go
+ * through this launcher (mvn test -Pvirtual-threads). Usage:
+ * SuiteLauncher [suite.xml ...], defaulting to src/test/resources/testng.xml.
+ */
+public final class SuiteLauncher {
+
+    private static final Logger logger = LogManager.getLogger(SuiteLauncher.class);
+    private static final String DEFAULT_SUITE = "src/test/resources/testng.xml";
+
+    // Private constructor to prevent instantiation
+    private SuiteLauncher() {
+        throw new UnsupportedOperationException("SuiteLauncher is a utility class and cannot be instantiated");
+    }
+
+    public static void main(String[] args) {
+        List<String> suites = args.length > 0 ? Arrays.asList(args) : List.of(DEFAULT_SUITE);
+
+        TestNG testng = new TestNG();
+        testng.setTestSuites(suites);
+        if (ExecutionThreads.isVirtual()) {
+            testng.setExecutorFactory(new VirtualThreadExecutorFactory());
+            logger.info("Running suites {} with test workers on virtual threads", suites);
+        } else {
+            logger.info("Running suites {} with test workers on platform threads", suites);
+        }
+        testng.run();
+        System.exit(testng.getStatus());
+    }
+}
@@ -0,0 +1,54 @@
+package com.appium.runner;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IDynamicGraph;
+import org.testng.ISuite;
+import org.testng.ITestNGMethod;
+import org.testng.internal.thread.DefaultThreadPoolExecutorFactory;
+import org.testng.thread.ITestNGThreadPoolExecutor;
+import org.testng.thread.IThreadWorkerFactory;
+
+import java.util.Comparator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * VirtualThreadExecutorFactory - Runs TestNG suite and test method workers on virtual threads
+ * Keeps TestNG's dependency-graph scheduling and thread-count limits and only
+ * swaps the thread factory of its pools, which create their threads lazily.
+ * A worker waiting on Appium, a device lease or an explicit wait then parks
+ * its virtual thread instead of holding a platform thread.
+ */
+public class VirtualThreadExecutorFactory extends DefaultThreadPoolExecutorFactory {
+
+    private static final Logger logger = LogManager.getLogger(VirtualThreadExecutorFactory.class);
+
+    @Override
+    public ITestNGThreadPoolExecutor newSuiteExecutor(String name, IDynamicGraph<ISuite> graph,
+            IThreadWorkerFactory<ISuite> factory, int corePoolSize, int maximumPoolSize, long keepAliveTime,
+            TimeUnit unit, BlockingQueue<Runnable> workQueue, Comparator<ISuite> comparator) {
+        return onVirtualThreads(super.newSuiteExecutor(name, graph, factory, corePoolSize, maximumPoolSize,
+                keepAliveTime, unit, workQueue, comparator), "testng-suite");
+    }
+
+    @Override
+    public ITestNGThreadPoolExecutor newTestMethodExecutor(String name, IDynamicGraph<ITestNGMethod> graph,
+            IThreadWorkerFactory<ITestNGMethod> factory, int corePoolSize, int maximumPoolSize, long keepAliveTime,
+            TimeUnit unit, BlockingQueue<Runnable> workQueue, Comparator<ITestNGMethod> comparator) {
+        return onVirtualThreads(super.newTestMethodExecutor(name, graph, factory, corePoolSize, maximumPoolSize,
+                keepAliveTime, unit, workQueue, comparator), "testng-worker");
+    }
+
+    private static ITestNGThreadPoolExecutor onVirtualThreads(ITestNGThreadPoolExecutor executor, String prefix) {
+        if (executor instanceof ThreadPoolExecutor) {
+            ((ThreadPoolExecutor) executor).setThreadFactory(Thread.ofVirtual().name(prefix + "-", 1).factory());
+            logger.debug("TestNG {} threads are virtual", prefix);
+        } else {
+            logger.warn("Unknown TestNG executor {}, {} threads stay on platform threads",
+                    executor.getClass().getName(), prefix);
+        }
+        return executor;
+    }
+}
@@ -0,0 +1,89 @@
+package com.appium.sharding;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.ITestNGMethod;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * DurationHistory - Historical test durations used to balance shards
+ * Stored as a JSON object of test ID to milliseconds. New measurements are
+ * averaged with the previous value so a single slow run does not skew plans.
+ */
+public final class DurationHistory {
+
+    private static final Logger logger = LogManager.getLogger(DurationHistory.class);
+    private static final ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final File file;
+    private final Map<String, Long> durations;
+
+    private DurationHistory(File file, Map<String, Long> durations) {
+        this.file = file;
+        this.durations = durations;
+    }
+
+    /**
+     * Load history from a file, starting empty if it does not exist or is unreadable
+     *
+     * @param file history file
+     * @return DurationHistory instance
+     */
+    public static DurationHistory load(File file) {
+        Map<String, Long> durations = new TreeMap<>();
+        if (file.isFile()) {
+            try {
+                durations.putAll(mapper.readValue(file, new TypeReference<Map<String, Long>>() { }));
+                logger.info("Loaded durations of {} tests from {}", durations.size(), file.getAbsolutePath());
+            } catch (IOException e) {
+                logger.warn("Ignoring unreadable duration history {}: {}", file.getAbsolutePath(), e.getMessage());
+            }
+        }
+        return new DurationHistory(file, durations);
+    }
+
+    /**
+     * Stable ID of a test method shared by sharding, ordering and the history file
+     *
+     * @param method test method
+     * @return fully qualified class name and method name
+     */
+    public static String testId(ITestNGMethod method) {
+        return method.getRealClass().getName() + "." + method.getMethodName();
+    }
+
+    public synchronized Map<String, Long> getDurations() {
+        return Collections.unmodifiableMap(new TreeMap<>(durations));
+    }
+
+    /**
+     * Record a measured duration
+     *
+     * @param testId test ID
+     * @param millis measured duration in milliseconds
+     */
+    public synchronized void record(String testId, long millis) {
+        durations.merge(testId, millis, (previous, current) -> (previous + current) / 2);
+    }
+
+    /**
+     * Write the history back to its file
+     */
+    public synchronized void save() {
+        try {
+            file.getParentFile().mkdirs();
+            mapper.writeValue(file, durations);
+            logger.info("Saved durations of {} tests to {}", durations.size(), file.getAbsolutePath());
+        } catch (IOException e) {
+            logger.error("Failed to save duration history: {}", e.getMessage(), e);
+        }
+    }
+}
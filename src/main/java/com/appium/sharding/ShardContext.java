@@ -0,0 +1,66 @@
+package com.appium.sharding;
+
+import com.appium.config.ConfigReader;
+import com.appium.constants.FrameworkConstants;
+
+import java.io.File;
+
+/**
+ * ShardContext - The shard this JVM runs and where it writes its artifacts
+ * Without sharding every path resolves to the regular reports and screenshots
+ * directories, so single-node runs are unchanged.
+ */
+public final class ShardContext {
+
+    private static final int INDEX;
+    private static final int TOTAL;
+
+    static {
+        ConfigReader config = ConfigReader.getInstance();
+        INDEX = config.getShardIndex();
+        TOTAL = config.getShardTotal();
+        if (TOTAL < 1 || INDEX < 0 || INDEX >= TOTAL) {
+            throw new IllegalArgumentException("Invalid shard " + INDEX + " of " + TOTAL
+                    + " - shard.index must be between 0 and shard.total - 1");
+        }
+    }
+
+    // Private constructor to prevent instantiation
+    private ShardContext() {
+        throw new UnsupportedOperationException("ShardContext is a utility class and cannot be instantiated");
+    }
+
+    public static boolean isSharded() {
+        return TOTAL > 1;
+    }
+
+    public static int getIndex() {
+        return INDEX;
+    }
+
+    public static int getTotal() {
+        return TOTAL;
+    }
+
+    /**
+     * Get the directory receiving this shard's reports
+     *
+     * @return reports path ending with a separator
+     */
+    public static String getReportsPath() {
+        return isSharded()
+                ? FrameworkConstants.REPORTS_PATH + FrameworkConstants.SHARD_DIR_PREFIX + INDEX + File.separator
+                : FrameworkConstants.REPORTS_PATH;
+    }
+
+    /**
+     * Get the directory receiving this shard's screenshots
+     *
+     * @return screenshots path ending with a separator
+     */
+    public static String getScreenshotsPath() {
+        return isSharded()
+                ? getReportsPath() + "screenshots" + File.separator
+                : FrameworkConstants.SCREENSHOTS_PATH;
+    }
+}
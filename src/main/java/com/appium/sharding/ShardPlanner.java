@@ -0,0 +1,88 @@
+package com.appium.sharding;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ShardPlanner - Deterministic, duration-balanced assignment of tests to shards
+ * Tests are placed longest first on the least loaded shard (ties broken by test
+ * ID and shard index), so every node computes the same plan independently.
+ * Loads carry over between calls, keeping shards balanced across several
+ * TestNG test tags planned one after another.
+ */
+public final class ShardPlanner {
+
+    private static final long DEFAULT_DURATION = 1;
+
+    private final long[] loads;
+
+    public ShardPlanner(int shardTotal) {
+        if (shardTotal < 1) {
+            throw new IllegalArgumentException("Shard total must be at least 1");
+        }
+        this.loads = new long[shardTotal];
+    }
+
+    /**
+     * Assign tests to shards
+     *
+     * @param testIds   tests to place, in any order
+     * @param durations historical durations in milliseconds by test ID, may miss tests
+     * @return shard index by test ID
+     */
+    public Map<String, Integer> assign(Collection<String> testIds, Map<String, Long> durations) {
+        long fallback = estimateUnknown(testIds, durations);
+        List<String> ordered = new ArrayList<>(testIds);
+        ordered.sort(Comparator.<String>comparingLong(id -> durations.getOrDefault(id, fallback)).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+
+        Map<String, Integer> assignment = new HashMap<>();
+        for (String id : ordered) {
+            int shard = leastLoaded();
+            loads[shard] += durations.getOrDefault(id, fallback);
+            assignment.put(id, shard);
+        }
+        return assignment;
+    }
+
+    /**
+     * Get the planned total duration of a shard
+     *
+     * @param shard shard index
+     * @return planned duration in milliseconds
+     */
+    public long getLoad(int shard) {
+        return loads[shard];
+    }
+
+    private int leastLoaded() {
+        int best = 0;
+        for (int shard = 1; shard < loads.length; shard++) {
+            if (loads[shard] < loads[best]) {
+                best = shard;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Tests without history count as the average known test, or equally when
+     * there is no history at all
+     */
+    private static long estimateUnknown(Collection<String> testIds, Map<String, Long> durations) {
+        long total = 0;
+        int known = 0;
+        for (String id : testIds) {
+            Long duration = durations.get(id);
+            if (duration != null) {
+                total += duration;
+                known++;
+            }
+        }
+        return known == 0 ? DEFAULT_DURATION : Math.max(DEFAULT_DURATION, total / known);
+    }
+}
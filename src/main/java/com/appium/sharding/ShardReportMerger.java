@@ -0,0 +1,137 @@
+package com.appium.sharding;
+
+import com.appium.constants.FrameworkConstants;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * ShardReportMerger - Combines the outputs of all shards into one report
+ * Reads reports/shard-k/ directories (copied from the CI nodes), writes
+ * reports/merged/ with the combined results, command latencies and an HTML
+ * summary, and updates the duration history used to plan the next run.
+ */
+public final class ShardReportMerger {
+
+    private static final Logger logger = LogManager.getLogger(ShardReportMerger.class);
+    private static final ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final TypeReference<List<Map<String, Object>>> ROWS =
+            new TypeReference<List<Map<String, Object>>>() { };
+
+    private final File reportsDir;
+
+    public ShardReportMerger(File reportsDir) {
+        this.reportsDir = reportsDir;
+    }
+
+    /**
+     * Merge shard outputs of the default reports directory, or of the directory given as argument
+     *
+     * @param args optional reports directory
+     */
+    public static void main(String[] args) throws IOException {
+        File reportsDir = new File(args.length > 0 ? args[0] : FrameworkConstants.REPORTS_PATH);
+        if (new ShardReportMerger(reportsDir).merge() == 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Merge all shard directories
+     *
+     * @return number of merged shards
+     */
+    public int merge() throws IOException {
+        File[] shardDirs = reportsDir.listFiles(file -> file.isDirectory()
+                && file.getName().startsWith(FrameworkConstants.SHARD_DIR_PREFIX));
+        if (shardDirs == null || shardDirs.length == 0) {
+            logger.warn("No shard directories found in {}", reportsDir.getAbsolutePath());
+            return 0;
+        }
+        Arrays.sort(shardDirs, Comparator.comparing(File::getName));
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        List<Map<String, Object>> latencies = new ArrayList<>();
+        for (File shardDir : shardDirs) {
+            File resultsFile = new File(shardDir, FrameworkConstants.SHARD_RESULTS_FILE);
+            if (!resultsFile.isFile()) {
+                logger.warn("Shard {} has no results - did it finish?", shardDir.getName());
+            }
+            results.addAll(readRows(resultsFile));
+            latencies.addAll(readRows(new File(shardDir, FrameworkConstants.COMMAND_LATENCY_FILE)));
+        }
+
+        File mergedDir = new File(reportsDir, FrameworkConstants.MERGED_REPORT_DIR);
+        mergedDir.mkdirs();
+        mapper.writeValue(new File(mergedDir, FrameworkConstants.SHARD_RESULTS_FILE), results);
+        if (!latencies.isEmpty()) {
+            mapper.writeValue(new File(mergedDir, FrameworkConstants.COMMAND_LATENCY_FILE), latencies);
+        }
+        Files.write(new File(mergedDir, "index.html").toPath(),
+                toHtml(results, shardDirs.length).getBytes(StandardCharsets.UTF_8));
+
+        DurationHistory history = DurationHistory.load(new File(reportsDir, FrameworkConstants.DURATION_HISTORY_FILE));
+        for (Map<String, Object> row : results) {
+            if (!"SKIP".equals(row.get("status"))) {
+                history.record((String) row.get("id"), ((Number) row.get("durationMs")).longValue());
+            }
+        }
+        history.save();
+
+        logger.info("Merged {} results from {} shards into {}", results.size(), shardDirs.length,
+                mergedDir.getAbsolutePath());
+        return shardDirs.length;
+    }
+
+    private static List<Map<String, Object>> readRows(File file) throws IOException {
+        if (!file.isFile()) {
+            return new ArrayList<>();
+        }
+        return mapper.readValue(file, ROWS);
+    }
+
+    private static String toHtml(List<Map<String, Object>> results, int shardCount) {
+        Map<String, Integer> statusCounts = new TreeMap<>();
+        Map<Object, Long> shardMillis = new TreeMap<>();
+        for (Map<String, Object> row : results) {
+            statusCounts.merge(String.valueOf(row.get("status")), 1, Integer::sum);
+            shardMillis.merge(row.get("shard"), ((Number) row.get("durationMs")).longValue(), Long::sum);
+        }
+
+        StringBuilder html = new StringBuilder();
+        html.append("<!DOCTYPE html>\n<html><head><meta charset=\"UTF-8\"><title>")
+                .append(FrameworkConstants.EXTENT_REPORT_TITLE).append(" - Merged</title></head><body>\n")
+                .append("<h1>").append(FrameworkConstants.EXTENT_REPORT_TITLE).append("</h1>\n")
+                .append("<p>").append(results.size()).append(" tests from ").append(shardCount)
+                .append(" shards: ").append(escape(statusCounts.toString())).append("</p>\n")
+                .append("<p>Test time per shard (ms): ").append(escape(shardMillis.toString())).append("</p>\n")
+                .append("<table border=\"1\" cellpadding=\"4\">\n")
+                .append("<tr><th>Test</th><th>Status</th><th>Duration (ms)</th><th>Shard</th><th>Error</th></tr>\n");
+        for (Map<String, Object> row : results) {
+            html.append("<tr><td>").append(escape(row.get("id")))
+                    .append("</td><td>").append(escape(row.get("status")))
+                    .append("</td><td>").append(escape(row.get("durationMs")))
+                    .append("</td><td>").append(escape(row.get("shard")))
+                    .append("</td><td>").append(escape(row.getOrDefault("error", "")))
+                    .append("</td></tr>\n");
+        }
+        return html.append("</table>\n</body></html>\n").toString();
+    }
+
+    private static String escape(Object value) {
+        return String.valueOf(value).replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
@@ -0,0 +1,78 @@
+package com.appium.utils;
+
+import com.appium.config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * ExecutionThreads - Creates the threads of the configured execution mode
+ * With execution.mode=virtual every task gets its own virtual thread, so
+ * hundreds of tests or warm-ups blocked on HTTP calls and waits cost a few
+ * kilobytes each instead of a platform thread. Platform mode keeps bounded
+ * pools of daemon threads.
+ */
+public final class ExecutionThreads {
+
+    private static final Logger logger = LogManager.getLogger(ExecutionThreads.class);
+
+    // Private constructor to prevent instantiation
+    private ExecutionThreads() {
+        throw new UnsupportedOperationException("ExecutionThreads is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Check whether the configured execution mode uses virtual threads
+     *
+     * @return true for execution.mode=virtual
+     */
+    public static boolean isVirtual() {
+        return ConfigReader.getInstance().isVirtualThreadExecution();
+    }
+
+    /**
+     * Create a factory for threads named prefix-1, prefix-2, ... that never block JVM exit
+     *
+     * @param prefix thread name prefix
+     * @return virtual or daemon platform thread factory
+     */
+    public static ThreadFactory newThreadFactory(String prefix) {
+        return isVirtual()
+                ? Thread.ofVirtual().name(prefix + "-", 1).factory()
+                : Thread.ofPlatform().name(prefix + "-", 1).daemon(true).factory();
+    }
+
+    /**
+     * Create an executor for blocking tasks - one virtual thread per task, or a
+     * fixed pool of platform threads
+     *
+     * @param prefix          thread name prefix
+     * @param platformThreads pool size in platform mode
+     * @return ExecutorService instance, to be shut down by the caller
+     */
+    public static ExecutorService newTaskExecutor(String prefix, int platformThreads) {
+        ThreadFactory threadFactory = newThreadFactory(prefix);
+        if (isVirtual()) {
+            logger.debug("Running {} tasks on virtual threads", prefix);
+            return Executors.newThreadPerTaskExecutor(threadFactory);
+        }
+        return Executors.newFixedThreadPool(Math.max(1, platformThreads), threadFactory);
+    }
+
+    /**
+     * Create an executor that grows on demand - one virtual thread per task, or a
+     * cached pool of platform threads
+     *
+     * @param prefix thread name prefix
+     * @return ExecutorService instance, to be shut down by the caller
+     */
+    public static ExecutorService newElasticExecutor(String prefix) {
+        ThreadFactory threadFactory = newThreadFactory(prefix);
+        return isVirtual()
+                ? Executors.newThreadPerTaskExecutor(threadFactory)
+                : Executors.newCachedThreadPool(threadFactory);
+    }
+}
@@ -0,0 +1,167 @@
+package com.appium.utils;
+
+import com.appium.driver.DriverManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.interactions.Pause;
+import org.openqa.selenium.interactions.PointerInput;
+import org.openqa.selenium.interactions.Sequence;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * GestureChain - Taps, long presses and swipes sent to the device in one request
+ * Gestures are added to a single W3C pointer sequence and sent by perform(),
+ * so a chain of n taps costs one round trip instead of n. Each element's rect
+ * is queried once per chain, however often it is tapped; swipe distances come
+ * from the cached Viewport. Elements must not move while the chain is built.
+ * <pre>
+ * new GestureChain().tap(digit1).tap(digit2).tap(addButton).tap(digit3).tap(equalsButton).perform();
+ * </pre>
+ */
+public class GestureChain {
+
+    private static final Logger logger = LogManager.getLogger(GestureChain.class);
+    private static final Duration GESTURE_GAP = Duration.ofMillis(50);
+
+    private final PointerInput finger = new PointerInput(PointerInput.Kind.TOUCH, "finger");
+    private final Sequence sequence = new Sequence(finger, 0);
+    private final Map<WebElement, Rectangle> rects = new IdentityHashMap<>();
+    private int gestures;
+    private int rectQueries;
+
+    /**
+     * Tap the center of an element
+     *
+     * @param element element to tap
+     * @return this chain
+     */
+    public GestureChain tap(WebElement element) {
+        Rectangle rect = rectOf(element);
+        return tap(rect.getX() + rect.getWidth() / 2, rect.getY() + rect.getHeight() / 2);
+    }
+
+    /**
+     * Tap at viewport coordinates
+     *
+     * @param x X coordinate
+     * @param y Y coordinate
+     * @return this chain
+     */
+    public GestureChain tap(int x, int y) {
+        gap();
+        sequence.addAction(finger.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), x, y));
+        sequence.addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
+        sequence.addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
+        gestures++;
+        return this;
+    }
+
+    /**
+     * Press and hold the center of an element
+     *
+     * @param element  element to press
+     * @param duration time to hold
+     * @return this chain
+     */
+    public GestureChain longPress(WebElement element, Duration duration) {
+        Rectangle rect = rectOf(element);
+        int x = rect.getX() + rect.getWidth() / 2;
+        int y = rect.getY() + rect.getHeight() / 2;
+        return swipe(x, y, x, y, duration);
+    }
+
+    /**
+     * Swipe between viewport coordinates
+     *
+     * @param startX   start X coordinate
+     * @param startY   start Y coordinate
+     * @param endX     end X coordinate
+     * @param endY     end Y coordinate
+     * @param duration swipe duration
+     * @return this chain
+     */
+    public GestureChain swipe(int startX, int startY, int endX, int endY, Duration duration) {
+        gap();
+        sequence.addAction(finger.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), startX, startY));
+        sequence.addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
+        sequence.addAction(finger.createPointerMove(duration, PointerInput.Origin.viewport(), endX, endY));
+        sequence.addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
+        gestures++;
+        return this;
+    }
+
+    /**
+     * Swipe up from 80% of the viewport height
+     *
+     * @param percentage part of the screen height to swipe (0.0 to 1.0)
+     * @param duration   swipe duration
+     * @return this chain
+     */
+    public GestureChain swipeUp(double percentage, Duration duration) {
+        Dimension size = Viewport.size();
+        int x = size.getWidth() / 2;
+        return swipe(x, (int) (size.getHeight() * 0.8), x, (int) (size.getHeight() * (0.8 - percentage)), duration);
+    }
+
+    /**
+     * Wait between two gestures
+     *
+     * @param duration pause length
+     * @return this chain
+     */
+    public GestureChain pause(Duration duration) {
+        sequence.addAction(new Pause(finger, duration));
+        return this;
+    }
+
+    /**
+     * Send all gestures to the current thread's session in one request
+     *
+     * @return number of gestures performed
+     */
+    public int perform() {
+        if (gestures == 0) {
+            return 0;
+        }
+        long start = System.currentTimeMillis();
+        DriverManager.getDriver().perform(Collections.singletonList(sequence));
+        logger.debug("Performed {} gestures in one request ({} rect queries) in {} ms", gestures, rectQueries,
+                System.currentTimeMillis() - start);
+        return gestures;
+    }
+
+    public int getGestures() {
+        return gestures;
+    }
+
+    public int getRectQueries() {
+        return rectQueries;
+    }
+
+    /**
+     * @return the W3C actions this chain sends
+     */
+    Sequence getSequence() {
+        return sequence;
+    }
+
+    private Rectangle rectOf(WebElement element) {
+        return rects.computeIfAbsent(element, key -> {
+            rectQueries++;
+            return key.getRect();
+        });
+    }
+
+    private void gap() {
+        if (gestures > 0) {
+            sequence.addAction(new Pause(finger, GESTURE_GAP));
+        }
+    }
+}
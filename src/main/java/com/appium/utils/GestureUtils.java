@@ -1,10 +1,12 @@
 package com.appium.utils;
 
 import com.appium.driver.DriverManager;
+import io.appium.java_client.remote.SupportsRotation;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.Dimension;
-import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.ScreenOrientation;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.PointerInput;
 import org.openqa.selenium.interactions.Sequence;
@@ -15,7 +17,9 @@ import java.util.Collections;
 /**
  * GestureUtils - Mobile gesture utilities for swipe, scroll, tap, and long
  * press
- * Uses W3C Actions API for Appium 2.x compatibility
+ * Uses W3C Actions API for Appium 2.x compatibility. Swipes use the cached
+ * Viewport size and element gestures one rect query, so a tap is two round
+ * trips at most; use GestureChain to send several gestures in one request.
  */
 public final class GestureUtils {
 
@@ -28,12 +32,23 @@ public final class GestureUtils {
     }
 
     /**
-     * Get screen dimensions
+     * Get screen dimensions, cached per session
      * 
      * @return Dimension object with screen width and height
      */
     private static Dimension getScreenSize() {
-        return DriverManager.getDriver().manage().window().getSize();
+        return Viewport.size();
+    }
+
+    /**
+     * Rotate the device and forget the cached screen size
+     *
+     * @param orientation target orientation
+     */
+    public static void rotate(ScreenOrientation orientation) {
+        ((SupportsRotation) DriverManager.getDriver()).rotate(orientation);
+        Viewport.invalidate();
+        logger.info("Rotated device to {}", orientation);
     }
 
     /**
@@ -130,7 +145,7 @@ public final class GestureUtils {
     }
 
     /**
-     * Scroll to element using swipe gestures
+     * Scroll to element using swipe gestures, stopping early at the end of the list
      * 
      * @param element   target element to scroll to
      * @param maxSwipes maximum number of swipes to attempt
@@ -138,21 +153,7 @@ public final class GestureUtils {
      */
     public static boolean scrollToElement(WebElement element, int maxSwipes) {
         logger.info("Scrolling to element with max {} swipes", maxSwipes);
-
-        for (int i = 0; i < maxSwipes; i++) {
-            try {
-                if (element.isDisplayed()) {
-                    logger.info("Element found after {} swipes", i);
-                    return true;
-                }
-            } catch (Exception e) {
-                logger.debug("Element not visible, continuing to scroll");
-            }
-            swipeUp(0.5);
-        }
-
-        logger.warn("Element not found after {} swipes", maxSwipes);
-        return false;
+        return ScrollEngine.scrollTo(element, maxSwipes).isFound();
     }
 
     /**
@@ -162,10 +163,9 @@ public final class GestureUtils {
      */
     public static void tap(WebElement element) {
         try {
-            Point location = element.getLocation();
-            Dimension size = element.getSize();
-            int centerX = location.getX() + (size.getWidth() / 2);
-            int centerY = location.getY() + (size.getHeight() / 2);
+            Rectangle rect = element.getRect();
+            int centerX = rect.getX() + (rect.getWidth() / 2);
+            int centerY = rect.getY() + (rect.getHeight() / 2);
 
             logger.info("Tapping element at ({}, {})", centerX, centerY);
             tapByCoordinates(centerX, centerY);
@@ -211,10 +211,9 @@ public final class GestureUtils {
      */
     public static void longPress(WebElement element, int durationInSeconds) {
         try {
-            Point location = element.getLocation();
-            Dimension size = element.getSize();
-            int centerX = location.getX() + (size.getWidth() / 2);
-            int centerY = location.getY() + (size.getHeight() / 2);
+            Rectangle rect = element.getRect();
+            int centerX = rect.getX() + (rect.getWidth() / 2);
+            int centerY = rect.getY() + (rect.getHeight() / 2);
 
             logger.info("Long pressing element at ({}, {}) for {} seconds",
                     centerX, centerY, durationInSeconds);
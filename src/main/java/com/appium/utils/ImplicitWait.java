@@ -0,0 +1,73 @@
+package com.appium.utils;
+
+import com.appium.config.ConfigReader;
+import com.appium.driver.DriverManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * ImplicitWait - Runs lookups of the current session with the implicit wait suspended
+ * A negative check under an implicit wait costs the whole wait. Suspending sets
+ * the session's implicit wait to zero and restores the configured value
+ * afterwards, on the same session and even if the lookup throws. Nested calls
+ * change the session once, and nothing is sent when the configured implicit
+ * wait is already zero (the default).
+ */
+public final class ImplicitWait {
+
+    private static final Logger logger = LogManager.getLogger(ImplicitWait.class);
+    private static final ThreadLocal<int[]> depth = ThreadLocal.withInitial(() -> new int[1]);
+
+    private ImplicitWait() {
+        throw new UnsupportedOperationException("ImplicitWait is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Get the implicit wait sessions are configured with
+     *
+     * @return configured implicit wait
+     */
+    public static Duration configured() {
+        return Duration.ofSeconds(ConfigReader.getInstance().getImplicitWait());
+    }
+
+    /**
+     * Run an action on the current thread's session with a zero implicit wait
+     *
+     * @param action lookup to run
+     * @param <T>    result type
+     * @return result of the action
+     */
+    public static <T> T suspended(Supplier<T> action) {
+        return suspended(DriverManager.getDriver(), configured(), action);
+    }
+
+    /**
+     * Run an action on a session with a zero implicit wait
+     *
+     * @param driver     session the action uses
+     * @param configured implicit wait to restore
+     * @param action     lookup to run
+     * @param <T>        result type
+     * @return result of the action
+     */
+    static <T> T suspended(WebDriver driver, Duration configured, Supplier<T> action) {
+        int[] level = depth.get();
+        if (configured.isZero() || level[0] > 0) {
+            return action.get();
+        }
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        level[0]++;
+        try {
+            return action.get();
+        } finally {
+            level[0]--;
+            driver.manage().timeouts().implicitlyWait(configured);
+            logger.trace("Restored implicit wait of {} ms", configured.toMillis());
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.appium.utils;
 
+import com.appium.config.ConfigReader;
 import com.appium.constants.FrameworkConstants;
 import com.appium.driver.DriverManager;
+import com.appium.sharding.ShardContext;
 import org.apache.commons.io.FileUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -10,15 +12,28 @@ import org.openqa.selenium.TakesScreenshot;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 
 /**
  * ScreenshotUtils - Utilities for capturing and managing screenshots
- * Provides methods to capture screenshots and save them with timestamps
+ * Provides methods to capture screenshots and save them with timestamps.
+ * Screenshots are fetched as PNG bytes and written by a background
+ * ScreenshotWriter, so a capture costs the test only the screenshot request.
  */
 public final class ScreenshotUtils {
 
     private static final Logger logger = LogManager.getLogger(ScreenshotUtils.class);
 
+    private static volatile boolean writerStarted;
+
+    // Created on first capture, so suites without screenshots start no writer
+    private static final class WriterHolder {
+        private static final ScreenshotWriter WRITER = new ScreenshotWriter(
+                ConfigReader.getInstance().getScreenshotQueueCapacity(),
+                ExecutionThreads.newTaskExecutor("screenshot-writer", 1));
+    }
+
     // Private constructor to prevent instantiation
     private ScreenshotUtils() {
         throw new UnsupportedOperationException("ScreenshotUtils is a utility class and cannot be instantiated");
@@ -28,52 +43,56 @@ public final class ScreenshotUtils {
      * Capture screenshot and save to default location
      * 
      * @param screenshotName name for the screenshot file
-     * @return absolute path of saved screenshot
+     * @return absolute path the screenshot is being written to
      */
     public static String captureScreenshot(String screenshotName) {
         String timestamp = FrameworkConstants.getTimestamp();
         String fileName = screenshotName + "_" + timestamp + FrameworkConstants.SCREENSHOT_EXTENSION;
-        String filePath = FrameworkConstants.SCREENSHOTS_PATH + fileName;
+        String filePath = ShardContext.getScreenshotsPath() + fileName;
 
         return captureScreenshot(screenshotName, filePath);
     }
 
     /**
-     * Capture screenshot and save to specified path
+     * Capture screenshot and save to specified path. Only the capture runs on the
+     * calling thread; the file is written in the background - call
+     * flushScreenshots() before anything reads it
      * 
      * @param screenshotName  name for the screenshot
      * @param destinationPath full path where screenshot should be saved
-     * @return absolute path of saved screenshot
+     * @return absolute path the screenshot is being saved to
      */
     public static String captureScreenshot(String screenshotName, String destinationPath) {
         try {
-            // Create screenshots directory if it doesn't exist
-            File screenshotDir = new File(FrameworkConstants.SCREENSHOTS_PATH);
-            if (!screenshotDir.exists()) {
-                screenshotDir.mkdirs();
-                logger.debug("Created screenshots directory: {}", FrameworkConstants.SCREENSHOTS_PATH);
-            }
-
-            // Capture screenshot
             TakesScreenshot takesScreenshot = (TakesScreenshot) DriverManager.getDriver();
-            File source = takesScreenshot.getScreenshotAs(OutputType.FILE);
-            File destination = new File(destinationPath);
-
-            // Copy screenshot to destination
-            FileUtils.copyFile(source, destination);
+            byte[] png = takesScreenshot.getScreenshotAs(OutputType.BYTES);
+            Path destination = Path.of(destinationPath).toAbsolutePath();
+            writerStarted = true;
+            WriterHolder.WRITER.write(destination, png);
             logger.info("Screenshot captured successfully: {}", destinationPath);
 
-            return destination.getAbsolutePath();
+            return destination.toString();
 
-        } catch (IOException e) {
-            logger.error("Failed to capture screenshot '{}': {}", screenshotName, e.getMessage(), e);
-            return null;
         } catch (Exception e) {
-            logger.error("Unexpected error while capturing screenshot: {}", e.getMessage(), e);
+            logger.error("Unexpected error while capturing screenshot '{}': {}", screenshotName, e.getMessage(), e);
             return null;
         }
     }
 
+    /**
+     * Wait until all captured screenshots are on disk - call before the report is flushed
+     *
+     * @return true if every screenshot was written in time, or none was ever captured
+     */
+    public static boolean flushScreenshots() {
+        if (!writerStarted) {
+            return true;
+        }
+        boolean flushed = WriterHolder.WRITER.flush(Duration.ofSeconds(FrameworkConstants.SCREENSHOT_FLUSH_TIMEOUT));
+        logger.info("Screenshot writer {}", WriterHolder.WRITER.getStats());
+        return flushed;
+    }
+
     /**
      * Capture screenshot as Base64 string (useful for reports)
      * 
@@ -113,10 +132,10 @@ public final class ScreenshotUtils {
      */
     public static void deleteAllScreenshots() {
         try {
-            File screenshotDir = new File(FrameworkConstants.SCREENSHOTS_PATH);
+            File screenshotDir = new File(ShardContext.getScreenshotsPath());
             if (screenshotDir.exists() && screenshotDir.isDirectory()) {
                 FileUtils.cleanDirectory(screenshotDir);
-                logger.info("All screenshots deleted from: {}", FrameworkConstants.SCREENSHOTS_PATH);
+                logger.info("All screenshots deleted from: {}", ShardContext.getScreenshotsPath());
             }
         } catch (IOException e) {
             logger.error("Failed to delete screenshots: {}", e.getMessage(), e);
@@ -0,0 +1,151 @@
+package com.appium.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ScreenshotWriter - Writes screenshot bytes to disk in the background
+ * The caller hands over the PNG bytes it got from the driver and returns at
+ * once; a background thread writes them with one channel write straight to
+ * the final path - no temp file, no copy. At most capacity screenshots are
+ * pending: a caller that finds the writer full blocks until one is written,
+ * so a burst of failures cannot hold an unbounded number of images in memory.
+ * flush() waits for every pending write, e.g. before the report is written.
+ */
+public final class ScreenshotWriter {
+
+    private static final Logger logger = LogManager.getLogger(ScreenshotWriter.class);
+
+    private final int capacity;
+    private final Semaphore slots;
+    private final Executor executor;
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicLong blocked = new AtomicLong();
+
+    /**
+     * @param capacity maximum number of screenshots pending at once
+     * @param executor runs the writes
+     */
+    public ScreenshotWriter(int capacity, Executor executor) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Screenshot writer capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.slots = new Semaphore(capacity);
+        this.executor = executor;
+    }
+
+    /**
+     * Queue a screenshot for writing, blocking while the writer is full
+     *
+     * @param destination final path of the file, parent directories are created
+     * @param png         screenshot bytes, not modified or copied - the caller must not reuse the array
+     * @return completes with the path once the file is on disk
+     */
+    public CompletableFuture<Path> write(Path destination, byte[] png) {
+        if (!slots.tryAcquire()) {
+            blocked.incrementAndGet();
+            logger.debug("Screenshot writer full, waiting to queue {}", destination.getFileName());
+            slots.acquireUninterruptibly();
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> persist(destination, png), executor)
+                    .whenComplete((path, error) -> slots.release());
+        } catch (RuntimeException e) {
+            slots.release();
+            throw e;
+        }
+    }
+
+    private Path persist(Path destination, byte[] png) {
+        try {
+            Path parent = destination.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(png);
+            try (FileChannel channel = FileChannel.open(destination, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            written.incrementAndGet();
+            bytes.addAndGet(png.length);
+            logger.debug("Screenshot written: {} ({} KB)", destination, png.length / 1024);
+            return destination;
+        } catch (IOException e) {
+            failed.incrementAndGet();
+            logger.error("Failed to write screenshot {}: {}", destination, e.getMessage(), e);
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Wait until every queued screenshot is written or has failed
+     *
+     * @param timeout maximum time to wait
+     * @return true if nothing is pending anymore, false on timeout
+     */
+    public boolean flush(Duration timeout) {
+        try {
+            if (!slots.tryAcquire(capacity, timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                logger.warn("{} screenshots still pending after {} s", getPending(), timeout.toSeconds());
+                return false;
+            }
+            slots.release(capacity);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * @return number of screenshots queued or being written
+     */
+    public int getPending() {
+        return capacity - slots.availablePermits();
+    }
+
+    public long getWritten() {
+        return written.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    /**
+     * @return number of writes that had to wait for a free slot
+     */
+    public long getBlocked() {
+        return blocked.get();
+    }
+
+    /**
+     * Summarize the writer counters
+     *
+     * @return counters as a log-friendly string
+     */
+    public String getStats() {
+        return String.format("written=%d (%d KB), failed=%d, pending=%d, blocked=%d", written.get(),
+                bytes.get() / 1024, failed.get(), getPending(), blocked.get());
+    }
+}
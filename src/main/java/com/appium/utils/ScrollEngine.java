@@ -0,0 +1,234 @@
+package com.appium.utils;
+
+import com.appium.config.ConfigReader;
+import com.appium.driver.DriverManager;
+import com.appium.pagesource.LocatorCompiler;
+import com.appium.pagesource.PageNode;
+import com.appium.pagesource.PageSnapshot;
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.AppiumDriver;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * ScrollEngine - Scrolls lists until an element appears, on the device where possible
+ * With scroll.server.side the device scrolls the first scrollable container
+ * until the target's UiSelector matches, in one UiScrollable command. Targets
+ * without a UiSelector equivalent, and screens without a scrollable
+ * container, are scrolled from the client: one page source read per swipe,
+ * stopping as soon as a swipe leaves the hierarchy unchanged - the end of the
+ * list - instead of using up every remaining swipe.
+ */
+public final class ScrollEngine {
+
+    private static final Logger logger = LogManager.getLogger(ScrollEngine.class);
+    private static final double SWIPE_PERCENTAGE = 0.5;
+    private static final Duration SWIPE_DURATION = Duration.ofMillis(500);
+
+    private static final AtomicLong scrolls = new AtomicLong();
+    private static final AtomicLong serverScrolls = new AtomicLong();
+    private static final AtomicLong swipes = new AtomicLong();
+    private static final AtomicLong totalMillis = new AtomicLong();
+
+    private ScrollEngine() {
+        throw new UnsupportedOperationException("ScrollEngine is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Scroll down until an element matching the locator is displayed
+     *
+     * @param target    element locator
+     * @param maxSwipes maximum number of swipes, on the device or from the client
+     * @return outcome with the element if found
+     */
+    public static ScrollResult scrollTo(By target, int maxSwipes) {
+        AppiumDriver driver = DriverManager.getDriver();
+        long start = System.currentTimeMillis();
+        String selector = ConfigReader.getInstance().isScrollServerSide() ? LocatorCompiler.toUiSelector(target) : null;
+        ScrollResult result = null;
+        if (selector != null) {
+            List<WebElement> found = ImplicitWait.suspended(() -> driver.findElements(AppiumBy.androidUIAutomator(
+                    "new UiScrollable(new UiSelector().scrollable(true)).setMaxSearchSwipes(" + maxSwipes
+                            + ").scrollIntoView(" + selector + ")")));
+            if (!found.isEmpty()) {
+                result = new ScrollResult(found.get(0), 0, true, System.currentTimeMillis() - start);
+            } else {
+                logger.debug("UiScrollable did not reach {}, scrolling from the client", target);
+            }
+        }
+        if (result == null) {
+            result = scrollFromClient(driver::getPageSource, snapshot -> findDisplayed(driver, target, snapshot),
+                    ScrollEngine::swipe, maxSwipes, selector != null, start);
+        }
+        record(result);
+        logger.info("Scroll to {}: {}", target, result);
+        return result;
+    }
+
+    /**
+     * Swipe until the target shows up in the page source or the source stops changing
+     *
+     * @param pageSource  reads the page source
+     * @param find        returns the displayed target on a snapshot, or null
+     * @param swipe       scrolls the list by one swipe
+     * @param maxSwipes   maximum number of swipes
+     * @param serverTried true if a UiScrollable command was sent first
+     * @param start       start of the scroll in epoch milliseconds
+     * @return outcome with the element if found
+     */
+    static ScrollResult scrollFromClient(Supplier<String> pageSource, Function<PageSnapshot, WebElement> find,
+            Runnable swipe, int maxSwipes, boolean serverTried, long start) {
+        String previous = null;
+        int performed = 0;
+        while (true) {
+            String source = pageSource.get();
+            WebElement element = find.apply(PageSnapshot.parse(source));
+            if (element != null) {
+                return new ScrollResult(element, performed, serverTried, System.currentTimeMillis() - start);
+            }
+            if (source.equals(previous)) {
+                logger.debug("Hierarchy unchanged after swipe {}, end of list reached", performed);
+                break;
+            }
+            if (performed >= maxSwipes) {
+                break;
+            }
+            previous = source;
+            swipe.run();
+            performed++;
+        }
+        return new ScrollResult(null, performed, serverTried, System.currentTimeMillis() - start);
+    }
+
+    private static void swipe() {
+        new GestureChain().swipeUp(SWIPE_PERCENTAGE, SWIPE_DURATION).perform();
+    }
+
+    /**
+     * Find the target if the snapshot shows it displayed, asking the server only then
+     */
+    private static WebElement findDisplayed(AppiumDriver driver, By target, PageSnapshot snapshot) {
+        try {
+            if (snapshot.findAll(target).stream().noneMatch(PageNode::isDisplayed)) {
+                return null;
+            }
+        } catch (IllegalArgumentException e) {
+            logger.trace("Checking {} on the server: {}", target, e.getMessage());
+        }
+        return ImplicitWait.suspended(() -> driver.findElements(target).stream()
+                .filter(WebElement::isDisplayed)
+                .findFirst()
+                .orElse(null));
+    }
+
+    /**
+     * Scroll until a located element is displayed, detecting the end of the list
+     *
+     * @param element   element proxy, located again after each swipe
+     * @param maxSwipes maximum number of swipes
+     * @return outcome, without the element
+     */
+    public static ScrollResult scrollTo(WebElement element, int maxSwipes) {
+        AppiumDriver driver = DriverManager.getDriver();
+        long start = System.currentTimeMillis();
+        ScrollResult result = ImplicitWait.suspended(() -> {
+            String previous = null;
+            int performed = 0;
+            while (true) {
+                try {
+                    if (element.isDisplayed()) {
+                        return new ScrollResult(element, performed, false, System.currentTimeMillis() - start);
+                    }
+                } catch (Exception e) {
+                    logger.trace("Element not visible yet: {}", e.getMessage());
+                }
+                String source = driver.getPageSource();
+                if (performed >= maxSwipes || source.equals(previous)) {
+                    return new ScrollResult(null, performed, false, System.currentTimeMillis() - start);
+                }
+                previous = source;
+                swipe();
+                performed++;
+            }
+        });
+        record(result);
+        logger.info("Scroll to element: {}", result);
+        return result;
+    }
+
+    private static void record(ScrollResult result) {
+        scrolls.incrementAndGet();
+        if (result.isServerSide()) {
+            serverScrolls.incrementAndGet();
+        }
+        swipes.addAndGet(result.getSwipes());
+        totalMillis.addAndGet(result.getMillis());
+    }
+
+    /**
+     * Summarize the scroll counters of all threads
+     *
+     * @return counters as a log-friendly string
+     */
+    public static String getStats() {
+        return String.format("scrolls=%d (server-side=%d), client swipes=%d, total time=%d ms", scrolls.get(),
+                serverScrolls.get(), swipes.get(), totalMillis.get());
+    }
+
+    /**
+     * Outcome of one scroll: the element, the client swipes it took and the time spent
+     */
+    public static final class ScrollResult {
+        private final WebElement element;
+        private final int swipes;
+        private final boolean serverSide;
+        private final long millis;
+
+        ScrollResult(WebElement element, int swipes, boolean serverSide, long millis) {
+            this.element = element;
+            this.swipes = swipes;
+            this.serverSide = serverSide;
+            this.millis = millis;
+        }
+
+        public boolean isFound() {
+            return element != null;
+        }
+
+        /**
+         * @return the displayed element, or null if it was not found
+         */
+        public WebElement getElement() {
+            return element;
+        }
+
+        public int getSwipes() {
+            return swipes;
+        }
+
+        /**
+         * @return true if a UiScrollable command was sent
+         */
+        public boolean isServerSide() {
+            return serverSide;
+        }
+
+        public long getMillis() {
+            return millis;
+        }
+
+        @Override
+        public String toString() {
+            return (isFound() ? "found" : "not found") + " after " + swipes + " client swipes"
+                    + (serverSide ? " and a UiScrollable command" : "") + " in " + millis + " ms";
+        }
+    }
+}
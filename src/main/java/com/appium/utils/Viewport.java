@@ -0,0 +1,100 @@
+package com.appium.utils;
+
+import com.appium.driver.DriverManager;
+import io.appium.java_client.AppiumDriver;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.ScreenOrientation;
+import org.openqa.selenium.remote.SessionId;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Viewport - Window size of each driver session, queried once
+ * Swipes are computed from the window size, which only changes when the
+ * device rotates. The size is fetched on first use per session and kept
+ * until invalidate() - GestureUtils.rotate() does that - or the session is
+ * released.
+ */
+public final class Viewport {
+
+    private static final Logger logger = LogManager.getLogger(Viewport.class);
+    private static final Map<SessionId, Dimension> sizes = new ConcurrentHashMap<>();
+    private static final AtomicLong queries = new AtomicLong();
+    private static final AtomicLong hits = new AtomicLong();
+
+    private Viewport() {
+        throw new UnsupportedOperationException("Viewport is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Get the window size of the current thread's session
+     *
+     * @return window size
+     */
+    public static Dimension size() {
+        AppiumDriver driver = DriverManager.getDriver();
+        return size(driver.getSessionId(), () -> driver.manage().window().getSize());
+    }
+
+    /**
+     * Get the window size of a session, querying it on first use
+     *
+     * @param sessionId driver session ID
+     * @param query     fetches the window size from the server
+     * @return window size
+     */
+    static Dimension size(SessionId sessionId, Supplier<Dimension> query) {
+        Dimension size = sizes.get(sessionId);
+        if (size != null) {
+            hits.incrementAndGet();
+            return size;
+        }
+        queries.incrementAndGet();
+        size = query.get();
+        sizes.put(sessionId, size);
+        logger.debug("Viewport of session {} is {}x{}", sessionId, size.getWidth(), size.getHeight());
+        return size;
+    }
+
+    /**
+     * Get the orientation of the current thread's session, derived from the cached window size
+     *
+     * @return LANDSCAPE if the window is wider than high, PORTRAIT otherwise
+     */
+    public static ScreenOrientation orientation() {
+        Dimension size = size();
+        return size.getWidth() > size.getHeight() ? ScreenOrientation.LANDSCAPE : ScreenOrientation.PORTRAIT;
+    }
+
+    /**
+     * Forget the window size of the current thread's session - call after the device rotates
+     */
+    public static void invalidate() {
+        discard(DriverManager.getDriver().getSessionId());
+    }
+
+    /**
+     * Forget the window size of a session - call when the test releases it
+     *
+     * @param sessionId driver session ID
+     */
+    public static void discard(SessionId sessionId) {
+        if (sessionId != null) {
+            sizes.remove(sessionId);
+        }
+    }
+
+    /**
+     * Summarize the viewport counters of all sessions
+     *
+     * @return counters as a log-friendly string
+     */
+    public static String getStats() {
+        return "window size queries=" + queries.get() + ", cached=" + hits.get();
+    }
+}
@@ -0,0 +1,231 @@
+package com.appium.utils;
+
+import com.appium.driver.DriverManager;
+import com.appium.metrics.LocatorKey;
+import com.appium.metrics.LocatorTelemetry;
+import io.appium.java_client.AppiumDriver;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.Sleeper;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * WaitEngine - Polls conditions with an adaptive schedule on a zero implicit wait
+ * The single place the framework waits: a condition is checked immediately,
+ * then after pauses growing from the profile's initial to its maximum poll, so
+ * a present element is noticed within milliseconds and a missing one costs
+ * exactly the timeout - never implicit wait times explicit wait. Missing and
+ * stale elements count as "not yet". Time spent waiting is accumulated per
+ * thread so it can be reported per test, and per locator when one is given.
+ */
+public final class WaitEngine {
+
+    private static final Logger logger = LogManager.getLogger(WaitEngine.class);
+    private static final ThreadLocal<Stats> stats = ThreadLocal.withInitial(Stats::new);
+
+    private WaitEngine() {
+        throw new UnsupportedOperationException("WaitEngine is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Wait until a condition on the current thread's driver returns a value other than null or false
+     *
+     * @param condition   condition to poll
+     * @param profile     timeout and polling schedule
+     * @param description what is awaited, for logs and the timeout message
+     * @param <T>         condition result type
+     * @return first non-null, non-false result
+     * @throws TimeoutException if the condition is not met in time
+     */
+    public static <T> T until(Function<? super AppiumDriver, T> condition, WaitProfile profile, String description) {
+        return until(condition, profile, description, null);
+    }
+
+    /**
+     * Wait until a condition on one locator returns a value other than null or false,
+     * recording the wait in the locator telemetry
+     *
+     * @param condition   condition to poll
+     * @param profile     timeout and polling schedule
+     * @param description what is awaited, for logs and the timeout message
+     * @param locator     locator the condition checks, or null
+     * @param <T>         condition result type
+     * @return first non-null, non-false result
+     * @throws TimeoutException if the condition is not met in time
+     */
+    public static <T> T until(Function<? super AppiumDriver, T> condition, WaitProfile profile, String description,
+            LocatorKey locator) {
+        AppiumDriver driver = DriverManager.getDriver();
+        return ImplicitWait.suspended(driver, ImplicitWait.configured(), () -> poll(() -> condition.apply(driver),
+                profile, description, locator, Clock.systemUTC(), Sleeper.SYSTEM_SLEEPER));
+    }
+
+    /**
+     * Wait until an element is present, on the server when the profile asks for it: one
+     * findElement under a temporary implicit wait replaces the client-side polls, and the
+     * configured implicit wait is restored afterwards
+     *
+     * @param by      element locator
+     * @param profile timeout and polling schedule
+     * @return located element
+     * @throws TimeoutException if no element is found in time
+     */
+    public static WebElement waitForPresence(By by, WaitProfile profile) {
+        if (!profile.isServerSide()) {
+            return until(driver -> driver.findElement(by), profile, "presence of " + by, LocatorKey.of("-", by));
+        }
+        AppiumDriver driver = DriverManager.getDriver();
+        LocatorKey locator = LocatorKey.of("-", by);
+        long start = System.nanoTime();
+        boolean timedOut = false;
+        driver.manage().timeouts().implicitlyWait(profile.getTimeout());
+        LocatorKey previous = LocatorTelemetry.beginWait(locator);
+        try {
+            return driver.findElement(by);
+        } catch (NotFoundException e) {
+            timedOut = true;
+            throw new TimeoutException("Timed out after " + profile.getTimeout().toMillis()
+                    + " ms waiting on the server for presence of " + by, e);
+        } finally {
+            LocatorTelemetry.endWait(previous);
+            driver.manage().timeouts().implicitlyWait(ImplicitWait.configured());
+            long nanos = System.nanoTime() - start;
+            stats.get().add(nanos, timedOut);
+            LocatorTelemetry.recordWait(locator, nanos, 1, timedOut);
+        }
+    }
+
+    /**
+     * Poll a condition until it returns a value other than null or false
+     *
+     * @param condition   condition to poll
+     * @param profile     timeout and polling schedule
+     * @param description what is awaited
+     * @param locator     locator the condition checks, or null
+     * @param clock       time source
+     * @param sleeper     pauses between polls
+     * @param <T>         condition result type
+     * @return first non-null, non-false result
+     */
+    static <T> T poll(Supplier<T> condition, WaitProfile profile, String description, LocatorKey locator,
+            Clock clock, Sleeper sleeper) {
+        Instant start = clock.instant();
+        Instant deadline = start.plus(profile.getTimeout());
+        RuntimeException lastError = null;
+        int attempt = 0;
+        LocatorKey previous = locator != null ? LocatorTelemetry.beginWait(locator) : null;
+        try {
+            while (true) {
+                try {
+                    T value = condition.get();
+                    if (value != null && !Boolean.FALSE.equals(value)) {
+                        record(start, clock, false, attempt + 1, description, locator);
+                        return value;
+                    }
+                } catch (NotFoundException | StaleElementReferenceException e) {
+                    lastError = e;
+                }
+                attempt++;
+                Duration remaining = Duration.between(clock.instant(), deadline);
+                if (remaining.isNegative() || remaining.isZero()) {
+                    record(start, clock, true, attempt, description, locator);
+                    throw new TimeoutException("Timed out after " + profile.getTimeout().toMillis()
+                            + " ms waiting for " + description + " (" + attempt + " checks)", lastError);
+                }
+                Duration pause = profile.pollAfter(attempt);
+                sleeper.sleep(pause.compareTo(remaining) < 0 ? pause : remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("Interrupted while waiting for " + description, e);
+        } finally {
+            if (locator != null) {
+                LocatorTelemetry.endWait(previous);
+            }
+        }
+    }
+
+    private static void record(Instant start, Clock clock, boolean timedOut, int checks, String description,
+            LocatorKey locator) {
+        long nanos = Duration.between(start, clock.instant()).toNanos();
+        stats.get().add(nanos, timedOut);
+        if (locator != null) {
+            LocatorTelemetry.recordWait(locator, nanos, checks, timedOut);
+        }
+        if (!timedOut) {
+            logger.debug("Waited {} ms for {} ({} checks)", nanos / 1_000_000, description, checks);
+        }
+    }
+
+    /**
+     * Get the wait totals of the current thread since the last reset
+     *
+     * @return wait statistics
+     */
+    public static Stats getStats() {
+        return stats.get().copy();
+    }
+
+    /**
+     * Get and clear the wait totals of the current thread - call at the start and end of each test
+     *
+     * @return wait statistics before the reset
+     */
+    public static Stats resetStats() {
+        Stats current = stats.get();
+        stats.remove();
+        return current;
+    }
+
+    /**
+     * Wait totals of one thread
+     */
+    public static final class Stats {
+        private long waits;
+        private long timeouts;
+        private long nanos;
+
+        private void add(long waitNanos, boolean timedOut) {
+            waits++;
+            nanos += waitNanos;
+            if (timedOut) {
+                timeouts++;
+            }
+        }
+
+        private Stats copy() {
+            Stats copy = new Stats();
+            copy.waits = waits;
+            copy.timeouts = timeouts;
+            copy.nanos = nanos;
+            return copy;
+        }
+
+        public long getWaits() {
+            return waits;
+        }
+
+        public long getTimeouts() {
+            return timeouts;
+        }
+
+        public long getTotalMillis() {
+            return nanos / 1_000_000;
+        }
+
+        @Override
+        public String toString() {
+            return getTotalMillis() + " ms in " + waits + " waits (" + timeouts + " timed out)";
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.appium.utils;
+
+import com.appium.config.ConfigReader;
+
+import java.time.Duration;
+
+/**
+ * WaitProfile - Timeout and polling schedule of one wait
+ * Polls start fast and back off exponentially up to a ceiling, so a condition
+ * that is already true costs one check and one that takes seconds is not
+ * hammered. Profiles are immutable; call sites derive their own from
+ * defaults(), e.g. {@code WaitProfile.defaults().withTimeout(Duration.ofSeconds(5))}.
+ */
+public final class WaitProfile {
+
+    private static final double BACKOFF = 2.0;
+
+    private final Duration timeout;
+    private final Duration initialPoll;
+    private final Duration maxPoll;
+    private final boolean serverSide;
+
+    public WaitProfile(Duration timeout, Duration initialPoll, Duration maxPoll, boolean serverSide) {
+        if (timeout.isNegative() || initialPoll.isNegative() || initialPoll.isZero()
+                || maxPoll.compareTo(initialPoll) < 0) {
+            throw new IllegalArgumentException("Invalid wait profile: timeout " + timeout + ", polls " + initialPoll
+                    + " to " + maxPoll);
+        }
+        this.timeout = timeout;
+        this.initialPoll = initialPoll;
+        this.maxPoll = maxPoll;
+        this.serverSide = serverSide;
+    }
+
+    /**
+     * Profile configured by explicit.wait, wait.poll.initial.millis, wait.poll.max.millis and wait.server.side
+     *
+     * @return default WaitProfile
+     */
+    public static WaitProfile defaults() {
+        ConfigReader config = ConfigReader.getInstance();
+        return new WaitProfile(Duration.ofSeconds(config.getExplicitWait()),
+                Duration.ofMillis(config.getWaitPollInitialMillis()), Duration.ofMillis(config.getWaitPollMaxMillis()),
+                config.isWaitServerSide());
+    }
+
+    public WaitProfile withTimeout(Duration timeout) {
+        return new WaitProfile(timeout, initialPoll, maxPoll, serverSide);
+    }
+
+    public WaitProfile withPolling(Duration initialPoll, Duration maxPoll) {
+        return new WaitProfile(timeout, initialPoll, maxPoll, serverSide);
+    }
+
+    public WaitProfile withServerSide(boolean serverSide) {
+        return new WaitProfile(timeout, initialPoll, maxPoll, serverSide);
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * @return true if element lookups should wait on the server instead of polling
+     */
+    public boolean isServerSide() {
+        return serverSide;
+    }
+
+    /**
+     * Pause before the next poll
+     *
+     * @param attempt number of failed checks so far, from 1
+     * @return initial poll doubled per attempt, capped at the maximum poll
+     */
+    public Duration pollAfter(int attempt) {
+        double millis = initialPoll.toMillis() * Math.pow(BACKOFF, Math.max(0, attempt - 1));
+        return millis >= maxPoll.toMillis() ? maxPoll : Duration.ofMillis((long) millis);
+    }
+
+    @Override
+    public String toString() {
+        return "timeout " + timeout.toMillis() + " ms, polling " + initialPoll.toMillis() + "-" + maxPoll.toMillis()
+                + " ms" + (serverSide ? ", server-side" : "");
+    }
+}
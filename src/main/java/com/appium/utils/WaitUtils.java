@@ -1,62 +1,60 @@
 package com.appium.utils;
 
-import com.appium.driver.DriverManager;
+import com.appium.metrics.LocatorKey;
+import com.appium.metrics.TracedElement;
 import io.appium.java_client.AppiumDriver;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.FluentWait;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
-import java.util.NoSuchElementException;
 import java.util.function.Function;
 
 /**
  * WaitUtils - Centralized wait utilities for mobile elements
- * Provides explicit and fluent wait implementations
+ * Explicit waits run on the WaitEngine with the default WaitProfile, or with
+ * a custom timeout
  */
 public final class WaitUtils {
 
     private static final Logger logger = LogManager.getLogger(WaitUtils.class);
-    private static final int DEFAULT_TIMEOUT = 20;
-    private static final int DEFAULT_POLLING = 2;
 
     // Private constructor to prevent instantiation
     private WaitUtils() {
         throw new UnsupportedOperationException("WaitUtils is a utility class and cannot be instantiated");
     }
 
-    /**
-     * Get WebDriverWait instance with default timeout
-     * 
-     * @return WebDriverWait instance
-     */
-    private static WebDriverWait getWait() {
-        return new WebDriverWait(DriverManager.getDriver(), Duration.ofSeconds(DEFAULT_TIMEOUT));
+    private static WaitProfile profile(int timeoutInSeconds) {
+        return WaitProfile.defaults().withTimeout(Duration.ofSeconds(timeoutInSeconds));
     }
 
     /**
-     * Get WebDriverWait instance with custom timeout
-     * 
-     * @param timeoutInSeconds custom timeout
-     * @return WebDriverWait instance
+     * Wait for a condition on one element, attributed to the element's locator when known
      */
-    private static WebDriverWait getWait(int timeoutInSeconds) {
-        return new WebDriverWait(DriverManager.getDriver(), Duration.ofSeconds(timeoutInSeconds));
+    private static <T> T await(WebElement element, Function<WebElement, T> condition, WaitProfile profile,
+            String what) {
+        LocatorKey locator = element instanceof TracedElement ? ((TracedElement) element).getLocatorKey() : null;
+        String description = what + " of " + (locator != null ? locator : "element");
+        logger.debug("Waiting for {} ({})", description, profile);
+        return WaitEngine.until(driver -> condition.apply(element), profile, description, locator);
     }
 
-    /**
-     * Get FluentWait instance with default timeout and polling
-     * 
-     * @return FluentWait instance
-     */
-    private static FluentWait<AppiumDriver> getFluentWait() {
-        return new FluentWait<>(DriverManager.getDriver())
-                .withTimeout(Duration.ofSeconds(DEFAULT_TIMEOUT))
-                .pollingEvery(Duration.ofSeconds(DEFAULT_POLLING))
-                .ignoring(NoSuchElementException.class);
+    private static WebElement visible(WebElement element) {
+        return element.isDisplayed() ? element : null;
+    }
+
+    private static WebElement clickable(WebElement element) {
+        return element.isDisplayed() && element.isEnabled() ? element : null;
+    }
+
+    private static boolean invisible(WebElement element) {
+        try {
+            return !element.isDisplayed();
+        } catch (NoSuchElementException | StaleElementReferenceException e) {
+            return true;
+        }
     }
 
     /**
@@ -67,8 +65,7 @@ public final class WaitUtils {
      */
     public static WebElement waitForElementToBeVisible(WebElement element) {
         try {
-            logger.debug("Waiting for element to be visible");
-            return getWait().until(ExpectedConditions.visibilityOf(element));
+            return await(element, WaitUtils::visible, WaitProfile.defaults(), "visibility");
         } catch (Exception e) {
             logger.error("Element not visible within timeout: {}", e.getMessage());
             throw e;
@@ -84,8 +81,7 @@ public final class WaitUtils {
      */
     public static WebElement waitForElementToBeVisible(WebElement element, int timeoutInSeconds) {
         try {
-            logger.debug("Waiting for element to be visible with timeout: {} seconds", timeoutInSeconds);
-            return getWait(timeoutInSeconds).until(ExpectedConditions.visibilityOf(element));
+            return await(element, WaitUtils::visible, profile(timeoutInSeconds), "visibility");
         } catch (Exception e) {
             logger.error("Element not visible within {} seconds: {}", timeoutInSeconds, e.getMessage());
             throw e;
@@ -100,8 +96,7 @@ public final class WaitUtils {
      */
     public static WebElement waitForElementToBeClickable(WebElement element) {
         try {
-            logger.debug("Waiting for element to be clickable");
-            return getWait().until(ExpectedConditions.elementToBeClickable(element));
+            return await(element, WaitUtils::clickable, WaitProfile.defaults(), "clickability");
         } catch (Exception e) {
             logger.error("Element not clickable within timeout: {}", e.getMessage());
             throw e;
@@ -117,8 +112,7 @@ public final class WaitUtils {
      */
     public static WebElement waitForElementToBeClickable(WebElement element, int timeoutInSeconds) {
         try {
-            logger.debug("Waiting for element to be clickable with timeout: {} seconds", timeoutInSeconds);
-            return getWait(timeoutInSeconds).until(ExpectedConditions.elementToBeClickable(element));
+            return await(element, WaitUtils::clickable, profile(timeoutInSeconds), "clickability");
         } catch (Exception e) {
             logger.error("Element not clickable within {} seconds: {}", timeoutInSeconds, e.getMessage());
             throw e;
@@ -133,8 +127,7 @@ public final class WaitUtils {
      */
     public static boolean waitForElementToBeInvisible(WebElement element) {
         try {
-            logger.debug("Waiting for element to be invisible");
-            return getWait().until(ExpectedConditions.invisibilityOf(element));
+            return await(element, WaitUtils::invisible, WaitProfile.defaults(), "invisibility");
         } catch (Exception e) {
             logger.error("Element still visible after timeout: {}", e.getMessage());
             return false;
@@ -150,8 +143,8 @@ public final class WaitUtils {
      */
     public static boolean waitForTextToBePresentInElement(WebElement element, String text) {
         try {
-            logger.debug("Waiting for text '{}' to be present in element", text);
-            return getWait().until(ExpectedConditions.textToBePresentInElement(element, text));
+            return await(element, e -> e.getText().contains(text), WaitProfile.defaults(),
+                    "text '" + text + "'");
         } catch (Exception e) {
             logger.error("Text '{}' not present in element within timeout: {}", text, e.getMessage());
             return false;
@@ -159,16 +152,16 @@ public final class WaitUtils {
     }
 
     /**
-     * Fluent wait with custom condition
+     * Fluent wait with custom condition, polled on the adaptive schedule
      * 
-     * @param condition custom wait condition
+     * @param condition custom wait condition, missing or stale elements count as not met
      * @param <T>       return type
      * @return result of condition
      */
     public static <T> T fluentWait(Function<AppiumDriver, T> condition) {
         try {
             logger.debug("Executing fluent wait with custom condition");
-            return getFluentWait().until(condition);
+            return WaitEngine.until(condition, WaitProfile.defaults(), "custom condition");
         } catch (Exception e) {
             logger.error("Fluent wait condition not met: {}", e.getMessage());
             throw e;
@@ -1,13 +1,23 @@
 package com.appium.base;
 
+import com.appium.constants.FrameworkConstants;
+import com.appium.driver.DeviceTags;
 import com.appium.driver.DriverManager;
+import com.appium.matrix.CapabilityMatrix;
+import com.appium.matrix.MatrixCell;
+import com.appium.metrics.CommandMetrics;
 import com.appium.reports.ExtentReportManager;
+import com.appium.sharding.DurationHistory;
+import com.appium.sharding.ShardContext;
 import com.appium.utils.ScreenshotUtils;
+import com.appium.utils.WaitEngine;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.testng.ITestContext;
 import org.testng.ITestResult;
 import org.testng.annotations.*;
 
+import java.io.File;
 import java.lang.reflect.Method;
 
 /**
@@ -16,38 +26,49 @@ import java.lang.reflect.Method;
  */
 public class BaseTest {
 
+    private static final DurationHistory durationHistory =
+            DurationHistory.load(new File(FrameworkConstants.DURATION_HISTORY_PATH));
+
     protected final Logger logger = LogManager.getLogger(this.getClass());
 
     /**
-     * Suite level setup - Initialize reports
+     * Suite level setup - Initialize reports, start managed Appium servers and
+     * check all devices
      */
     @BeforeSuite
     public void suiteSetup() {
         logger.info("===== Test Suite Started =====");
         ExtentReportManager.initReports();
+        DriverManager.startServers();
+        DriverManager.runPreflight();
     }
 
     /**
      * Test level setup - Initialize driver and create test in report
      * 
-     * @param method test method
+     * @param method  test method
+     * @param context test context, carrying the capability matrix cell if any
      */
     @BeforeMethod
-    public void testSetup(Method method) {
-        String testName = method.getName();
+    public void testSetup(Method method, ITestContext context) {
+        MatrixCell cell = getMatrixCell(context);
+        String testName = getTestName(method.getName(), context);
         String testDescription = method.getAnnotation(Test.class) != null
                 ? method.getAnnotation(Test.class).description()
                 : "";
 
         logger.info("===== Starting Test: {} =====", testName);
+        WaitEngine.resetStats();
 
         // Create test in report
         ExtentReportManager.createTest(testName, testDescription);
         ExtentReportManager.logInfo("Test execution started: " + testName);
 
-        // Initialize driver
+        // Initialize driver on a leased device
         try {
-            DriverManager.initializeDriver();
+            DriverManager.initializeDriver(cell, getDeviceTags(method));
+            CommandMetrics.beginScope(DriverManager.getCurrentDevice().getUdid(),
+                    method.getDeclaringClass().getSimpleName() + "." + testName);
             ExtentReportManager.logInfo("Driver initialized successfully");
             logger.info("Driver initialized for test: {}", testName);
         } catch (Exception e) {
@@ -57,6 +78,60 @@ public class BaseTest {
         }
     }
 
+    /**
+     * Resolve the capability matrix cell the current test runs in
+     *
+     * @param context test context
+     * @return MatrixCell instance, or null without a matrix
+     */
+    private MatrixCell getMatrixCell(ITestContext context) {
+        String cellId = context.getCurrentXmlTest().getParameter(FrameworkConstants.MATRIX_CELL_PARAMETER);
+        return cellId != null ? CapabilityMatrix.getInstance().getCell(cellId) : null;
+    }
+
+    /**
+     * Name of a test in logs and the report - the method name, followed by the
+     * capability matrix cell when the test runs in one
+     *
+     * @param methodName test method name
+     * @param context    test context
+     * @return test name
+     */
+    private String getTestName(String methodName, ITestContext context) {
+        String cellId = getCellId(context);
+        return cellId != null ? methodName + " [" + cellId + "]" : methodName;
+    }
+
+    /**
+     * File name form of the test name, e.g. method_cell, for screenshots
+     *
+     * @param methodName test method name
+     * @param context    test context
+     * @return test name without spaces or brackets
+     */
+    private String getFileName(String methodName, ITestContext context) {
+        String cellId = getCellId(context);
+        return cellId != null ? methodName + "_" + cellId : methodName;
+    }
+
+    private String getCellId(ITestContext context) {
+        return context.getCurrentXmlTest().getParameter(FrameworkConstants.MATRIX_CELL_PARAMETER);
+    }
+
+    /**
+     * Resolve device tags requested by the test method or its class
+     *
+     * @param method test method
+     * @return requested device tags, empty for any device
+     */
+    private String[] getDeviceTags(Method method) {
+        DeviceTags tags = method.getAnnotation(DeviceTags.class);
+        if (tags == null) {
+            tags = method.getDeclaringClass().getAnnotation(DeviceTags.class);
+        }
+        return tags != null ? tags.value() : new String[0];
+    }
+
     /**
      * Test level teardown - Quit driver and update report
      * 
@@ -64,7 +139,7 @@ public class BaseTest {
      */
     @AfterMethod
     public void testTeardown(ITestResult result) {
-        String testName = result.getMethod().getMethodName();
+        String testName = getTestName(result.getMethod().getMethodName(), result.getTestContext());
 
         try {
             // Handle test result
@@ -74,10 +149,12 @@ public class BaseTest {
             } else if (result.getStatus() == ITestResult.FAILURE) {
                 logger.error("Test FAILED: {}", testName);
                 ExtentReportManager.logFail("Test failed: " + result.getThrowable().getMessage());
+                DriverManager.reportTestFailure(result.getThrowable());
 
                 // Capture screenshot on failure
                 if (DriverManager.isDriverInitialized()) {
-                    String screenshotPath = ScreenshotUtils.captureScreenshot(testName + "_FAILED");
+                    String screenshotPath = ScreenshotUtils.captureScreenshot(
+                            getFileName(result.getMethod().getMethodName(), result.getTestContext()) + "_FAILED");
                     if (screenshotPath != null) {
                         ExtentReportManager.attachScreenshot(screenshotPath, "Failure Screenshot");
                         logger.info("Failure screenshot captured: {}", screenshotPath);
@@ -87,6 +164,17 @@ public class BaseTest {
                 logger.warn("Test SKIPPED: {}", testName);
                 ExtentReportManager.logSkip("Test skipped: " + result.getThrowable().getMessage());
             }
+
+            // Report how much of the test was spent waiting
+            WaitEngine.Stats waits = WaitEngine.resetStats();
+            logger.info("Wait time for {}: {}", testName, waits);
+            ExtentReportManager.logInfo("Waited " + waits);
+
+            // Remember how long the test took so the next run can schedule it
+            if (result.getStatus() != ITestResult.SKIP) {
+                durationHistory.record(DurationHistory.testId(result.getMethod()),
+                        result.getEndMillis() - result.getStartMillis());
+            }
         } catch (Exception e) {
             logger.error("Error in test teardown: {}", e.getMessage(), e);
         } finally {
@@ -97,6 +185,7 @@ public class BaseTest {
             } catch (Exception e) {
                 logger.error("Error while quitting driver: {}", e.getMessage(), e);
             }
+            CommandMetrics.endScope();
 
             // Remove test from ThreadLocal
             ExtentReportManager.removeTest();
@@ -106,11 +195,21 @@ public class BaseTest {
     }
 
     /**
-     * Suite level teardown - Flush reports
+     * Suite level teardown - Close pooled sessions, write command latencies, test
+     * durations and pending screenshots, and flush reports
      */
     @AfterSuite
     public void suiteTeardown() {
         logger.info("===== Test Suite Finished =====");
+        DriverManager.shutdown();
+        // Sharded runs update the shared history when their outputs are merged
+        if (!ShardContext.isSharded()) {
+            durationHistory.save();
+        }
+        // The report links the failure screenshots, so they must be on disk first
+        if (!ScreenshotUtils.flushScreenshots()) {
+            logger.warn("Not all screenshots were written before the report flush; the report may link missing files");
+        }
         ExtentReportManager.flushReports();
     }
 }
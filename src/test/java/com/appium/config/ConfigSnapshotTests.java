@@ -0,0 +1,79 @@
+package com.appium.config;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ConfigSnapshotTests - Offline tests for layered, validated configuration
+ * Uses the project's config.properties
+ */
+public class ConfigSnapshotTests {
+
+    private static Properties fileProperties() throws IOException {
+        Properties properties = new Properties();
+        try (FileInputStream fis = new FileInputStream("config/config.properties")) {
+            properties.load(fis);
+        }
+        return properties;
+    }
+
+    @Test(description = "Verify system properties override environment variables, which override the file")
+    public void testLayeredOverrides() throws IOException {
+        Properties system = new Properties();
+        system.setProperty("http.read.timeout", "300");
+        Map<String, String> environment = Map.of("HTTP_READ_TIMEOUT", "240", "SESSION_POOL_SIZE", "3",
+                "EXECUTION_MODE", "VIRTUAL");
+
+        ConfigSnapshot snapshot = ConfigSnapshot.load(fileProperties(), environment, system);
+
+        Assert.assertEquals(snapshot.getHttpReadTimeout(), 300);
+        Assert.assertEquals(snapshot.getSessionPoolSize(), 3);
+        Assert.assertTrue(snapshot.isVirtualThreadExecution());
+        Assert.assertEquals(snapshot.getHttpConnectTimeout(), 10, "File value applies without an override");
+    }
+
+    @Test(description = "Verify every invalid value is reported at once")
+    public void testValidationReportsAllErrors() throws IOException {
+        Properties file = fileProperties();
+        file.setProperty("http.read.timeout", "3 minutes");
+        file.setProperty("system.port.base", "70000");
+        file.setProperty("no.reset", "yes");
+        file.setProperty("shard.index", "2");
+        file.setProperty("shard.total", "2");
+
+        IllegalArgumentException error = Assert.expectThrows(IllegalArgumentException.class,
+                () -> ConfigSnapshot.load(file, Map.of(), new Properties()));
+
+        for (String key : new String[] {"http.read.timeout", "system.port.base", "no.reset", "shard.index"}) {
+            Assert.assertTrue(error.getMessage().contains(key), key + " missing from: " + error.getMessage());
+        }
+    }
+
+    @Test(description = "Verify the watcher calls back when the watched file changes")
+    public void testWatcherSeesChanges() throws Exception {
+        Path directory = Files.createTempDirectory("config-watch");
+        Path file = directory.resolve("config.properties");
+        Files.writeString(file, "implicit.wait=10\n");
+        CountDownLatch changed = new CountDownLatch(1);
+
+        ConfigWatcher watcher = new ConfigWatcher(file, changed::countDown);
+        try {
+            try (Writer writer = Files.newBufferedWriter(file)) {
+                writer.write("implicit.wait=5\n");
+            }
+            Assert.assertTrue(changed.await(10, TimeUnit.SECONDS), "No change event for " + file);
+        } finally {
+            watcher.close();
+        }
+    }
+}
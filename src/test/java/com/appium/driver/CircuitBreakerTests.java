@@ -0,0 +1,78 @@
+package com.appium.driver;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * CircuitBreakerTests - Offline tests for device quarantine and rerouting
+ * Uses a fake clock and fake devices
+ */
+public class CircuitBreakerTests {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private CircuitBreaker breaker() {
+        return new CircuitBreaker("emulator-5554", 2, Duration.ofSeconds(60), now::get);
+    }
+
+    @Test(description = "Verify the breaker trips only after consecutive failures")
+    public void testTripsAfterConsecutiveFailures() {
+        CircuitBreaker breaker = breaker();
+
+        breaker.recordFailure("timeout");
+        breaker.recordSuccess();
+        breaker.recordFailure("timeout");
+        Assert.assertEquals(breaker.getState(), CircuitBreaker.State.CLOSED);
+
+        breaker.recordFailure("timeout");
+        Assert.assertEquals(breaker.getState(), CircuitBreaker.State.OPEN);
+        Assert.assertFalse(breaker.allowRequest());
+        Assert.assertEquals(breaker.getTrips(), 1);
+    }
+
+    @Test(description = "Verify a single trial after the cool-down closes or re-trips the breaker")
+    public void testHalfOpenTrial() {
+        CircuitBreaker breaker = breaker();
+        breaker.trip("preflight failed");
+
+        now.addAndGet(Duration.ofSeconds(61).toNanos());
+        Assert.assertTrue(breaker.allowRequest());
+        Assert.assertEquals(breaker.getState(), CircuitBreaker.State.HALF_OPEN);
+        Assert.assertFalse(breaker.allowRequest(), "Only one trial may run at a time");
+
+        breaker.recordFailure("still frozen");
+        Assert.assertEquals(breaker.getState(), CircuitBreaker.State.OPEN);
+
+        now.addAndGet(Duration.ofSeconds(61).toNanos());
+        Assert.assertTrue(breaker.allowRequest());
+        breaker.recordSuccess();
+        Assert.assertEquals(breaker.getState(), CircuitBreaker.State.CLOSED);
+        Assert.assertEquals(breaker.getTrips(), 2);
+        Assert.assertEquals(breaker.getTrials(), 2);
+        Assert.assertEquals(breaker.getRecoveries(), 1);
+    }
+
+    @Test(description = "Verify quarantined devices are skipped in favour of healthy ones")
+    public void testQuarantinedDeviceIsSkipped() {
+        List<Device> devices = DeviceRegistry.parse("emulator-5554|13.0|phone;emulator-5556|13.0|phone",
+                new DeviceRegistry.PortAllocator(8200, 9200, 9515));
+        DevicePool pool = new DevicePool(devices, 1, Duration.ofMinutes(5));
+
+        pool.quarantine(devices.get(0), "preflight failed");
+        Assert.assertEquals(pool.getHealthyCount(), 1);
+
+        Device leased = pool.lease(Collections.emptySet(), Duration.ofSeconds(1));
+        Assert.assertEquals(leased.getUdid(), "emulator-5556");
+        pool.recordFailure(leased, "session creation failed");
+        pool.release(leased);
+
+        Assert.assertEquals(pool.getHealthyCount(), 0);
+        Assert.expectThrows(IllegalStateException.class,
+                () -> pool.lease(Collections.emptySet(), Duration.ofMillis(200)));
+    }
+}
@@ -0,0 +1,100 @@
+package com.appium.driver;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DevicePoolTests - Offline tests for device registry parsing and the lease allocator
+ * Uses a fake device list
+ */
+public class DevicePoolTests {
+
+    private static final String FAKE_DEVICES =
+            "emulator-5554|13.0|phone,smoke;emulator-5556|14.0|tablet;emulator-5558|14.0|phone";
+
+    private List<Device> fakeDevices() {
+        return DeviceRegistry.parse(FAKE_DEVICES, new DeviceRegistry.PortAllocator(8200, 9200, 9515));
+    }
+
+    @Test(description = "Verify parsed devices get unique ports")
+    public void testUniquePortAllocation() {
+        List<Device> devices = fakeDevices();
+        Assert.assertEquals(devices.size(), 3);
+
+        Set<Integer> ports = new HashSet<>();
+        for (Device device : devices) {
+            Assert.assertTrue(ports.add(device.getSystemPort()), "systemPort must be unique");
+            Assert.assertTrue(ports.add(device.getMjpegServerPort()), "mjpegServerPort must be unique");
+            Assert.assertTrue(ports.add(device.getChromedriverPort()), "chromedriverPort must be unique");
+        }
+        Assert.assertEquals(devices.get(1).getUdid(), "emulator-5556");
+        Assert.assertEquals(devices.get(1).getPlatformVersion(), "14.0");
+        Assert.assertEquals(devices.get(1).getSystemPort(), 8201);
+    }
+
+    @Test(description = "Verify devices are leased by tag and exclusively")
+    public void testLeaseByTag() {
+        DevicePool pool = new DevicePool(fakeDevices());
+
+        Device tablet = pool.lease(Collections.singleton("tablet"), Duration.ofSeconds(1));
+        Assert.assertEquals(tablet.getUdid(), "emulator-5556");
+
+        Device first = pool.lease(Collections.emptySet(), Duration.ofSeconds(1));
+        Device second = pool.lease(Collections.singleton("phone"), Duration.ofSeconds(1));
+        Assert.assertNotEquals(first.getUdid(), second.getUdid());
+        Assert.assertEquals(pool.getAvailableCount(), 0);
+
+        pool.release(tablet);
+        Assert.assertEquals(pool.getAvailableCount(), 1);
+    }
+
+    @Test(description = "Verify unknown tags are rejected immediately",
+            expectedExceptions = IllegalArgumentException.class)
+    public void testUnknownTagRejected() {
+        new DevicePool(fakeDevices()).lease(Collections.singleton("watch"), Duration.ofSeconds(1));
+    }
+
+    @Test(description = "Verify lease times out when every matching device is busy",
+            expectedExceptions = IllegalStateException.class)
+    public void testLeaseTimeout() {
+        DevicePool pool = new DevicePool(fakeDevices());
+        pool.lease(Collections.singleton("tablet"), Duration.ofSeconds(1));
+        pool.lease(Collections.singleton("tablet"), Duration.ofMillis(100));
+    }
+
+    @Test(description = "Verify waiting threads are served in arrival order")
+    public void testFairQueueing() throws Exception {
+        DevicePool pool = new DevicePool(fakeDevices().subList(1, 2));
+        Device busy = pool.lease(Collections.emptySet(), Duration.ofSeconds(1));
+
+        List<String> order = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(3);
+        for (int i = 0; i < 3; i++) {
+            String name = "worker-" + i;
+            Thread worker = new Thread(() -> {
+                Device device = pool.lease(Collections.emptySet(), Duration.ofSeconds(10));
+                order.add(name);
+                pool.release(device);
+                done.countDown();
+            }, name);
+            worker.start();
+            // Let each worker enqueue before starting the next one
+            while (worker.getState() != Thread.State.WAITING && worker.getState() != Thread.State.TIMED_WAITING) {
+                Thread.sleep(5);
+            }
+        }
+
+        pool.release(busy);
+        Assert.assertTrue(done.await(10, TimeUnit.SECONDS), "All workers should get the device");
+        Assert.assertEquals(order, List.of("worker-0", "worker-1", "worker-2"));
+    }
+}
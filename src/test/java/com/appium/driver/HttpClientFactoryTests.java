@@ -0,0 +1,85 @@
+package com.appium.driver;
+
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * HttpClientFactoryTests - Verifies client sharing and per-session statistics
+ * against a local stub WebDriver endpoint
+ */
+public class HttpClientFactoryTests {
+
+    private HttpServer stubServer;
+    private URI stubUri;
+    private HttpClientFactory factory;
+
+    @BeforeClass
+    public void startStubServer() throws Exception {
+        stubServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stubServer.createContext("/", exchange -> {
+            byte[] body = "{\"value\":{\"implicit\":0}}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        stubServer.start();
+        stubUri = URI.create("http://127.0.0.1:" + stubServer.getAddress().getPort());
+        factory = new HttpClientFactory(Duration.ofSeconds(5), Duration.ofSeconds(5), 4, "HTTP_1_1");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopStubServer() {
+        factory.close();
+        stubServer.stop(0);
+    }
+
+    @Test(description = "Verify sessions on the same server share one client")
+    public void testClientsAreShared() {
+        factory.createClient(ClientConfig.defaultConfig().baseUri(stubUri));
+        factory.createClient(ClientConfig.defaultConfig().baseUri(stubUri));
+        Assert.assertEquals(factory.getSharedClientCount(), 1);
+    }
+
+    @Test(description = "Verify requests are counted per session")
+    public void testSessionStatistics() {
+        HttpClient first = factory.createClient(ClientConfig.defaultConfig().baseUri(stubUri));
+        HttpClient second = factory.createClient(ClientConfig.defaultConfig().baseUri(stubUri));
+
+        for (int i = 0; i < 3; i++) {
+            HttpResponse response = first.execute(new HttpRequest(HttpMethod.GET, "/session/first/timeouts"));
+            Assert.assertEquals(response.getStatus(), 200);
+        }
+        second.execute(new HttpRequest(HttpMethod.GET, "/session/second/timeouts"));
+
+        // Closing one session's client must not break the other
+        first.close();
+        second.execute(new HttpRequest(HttpMethod.GET, "/session/second/timeouts"));
+
+        Assert.assertEquals(factory.getSessionStats("first").getRequests(), 3);
+        Assert.assertEquals(factory.getSessionStats("second").getRequests(), 2);
+        Assert.assertEquals(factory.getSessionStats("second").getFailures(), 0);
+    }
+
+    @Test(description = "Verify session IDs are extracted from command paths")
+    public void testExtractSessionId() {
+        Assert.assertEquals(HttpClientFactory.extractSessionId("/session/abc/element/1/click"), "abc");
+        Assert.assertEquals(HttpClientFactory.extractSessionId("/wd/hub/session/abc"), "abc");
+        Assert.assertNull(HttpClientFactory.extractSessionId("/status"));
+    }
+}
@@ -0,0 +1,161 @@
+package com.appium.driver;
+
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.CommandPayload;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.Response;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SessionPoolTests - Offline tests for session reuse, retirement and health checks
+ * Uses a fake clock and fake sessions that answer commands locally
+ */
+public class SessionPoolTests {
+
+    private final AtomicLong now = new AtomicLong();
+    private final List<FakeDriver> created = new CopyOnWriteArrayList<>();
+
+    private SessionPool<FakeDriver> pool(int size, int maxTests) {
+        return pool(size, maxTests, 0);
+    }
+
+    private SessionPool<FakeDriver> pool(int size, int maxTests, int warmups) {
+        now.set(0);
+        created.clear();
+        return new SessionPool<>(() -> {
+            FakeDriver driver = new FakeDriver(created.size());
+            created.add(driver);
+            return driver;
+        }, size, Duration.ofMinutes(30), maxTests, null, false, warmups, now::get);
+    }
+
+    @Test(description = "Verify a released session is handed to the next test instead of a new one")
+    public void testReuse() {
+        SessionPool<FakeDriver> pool = pool(1, 10);
+
+        FakeDriver first = pool.acquire();
+        pool.release(first);
+        FakeDriver second = pool.acquire();
+
+        Assert.assertSame(second, first);
+        Assert.assertEquals(pool.getSessionsCreated(), 1);
+        Assert.assertEquals(pool.getSessionsReused(), 1);
+        Assert.assertFalse(created.get(0).quit);
+    }
+
+    @Test(description = "Verify a session is retired once it served session.max.tests tests")
+    public void testRetireOnMaxTests() {
+        SessionPool<FakeDriver> pool = pool(1, 2);
+
+        pool.release(pool.acquire());
+        pool.release(pool.acquire());
+        Assert.assertTrue(created.get(0).quit);
+
+        FakeDriver next = pool.acquire();
+        Assert.assertSame(next, created.get(1));
+        Assert.assertEquals(pool.getSessionsReused(), 1);
+    }
+
+    @Test(description = "Verify a session older than session.max.age is replaced when acquired")
+    public void testRetireOnMaxAge() {
+        SessionPool<FakeDriver> pool = pool(1, 10);
+
+        pool.release(pool.acquire());
+        now.addAndGet(Duration.ofMinutes(31).toNanos());
+        FakeDriver next = pool.acquire();
+
+        Assert.assertSame(next, created.get(1));
+        Assert.assertTrue(created.get(0).quit);
+        Assert.assertEquals(pool.getSessionsReused(), 0);
+    }
+
+    @Test(description = "Verify a session that fails the health check is replaced")
+    public void testRetireUnhealthy() {
+        SessionPool<FakeDriver> pool = pool(1, 10);
+
+        pool.release(pool.acquire());
+        created.get(0).healthy = false;
+        FakeDriver next = pool.acquire();
+
+        Assert.assertSame(next, created.get(1));
+        Assert.assertTrue(created.get(0).quit);
+    }
+
+    @Test(description = "Verify sessions released into a full pool are quit")
+    public void testPoolFull() {
+        SessionPool<FakeDriver> pool = pool(1, 10);
+
+        FakeDriver first = pool.acquire();
+        FakeDriver second = pool.acquire();
+        pool.release(first);
+        pool.release(second);
+
+        Assert.assertFalse(created.get(0).quit);
+        Assert.assertTrue(created.get(1).quit);
+        Assert.assertSame(pool.acquire(), first);
+    }
+
+    @Test(description = "Verify an invalidated session is quit and never handed out again")
+    public void testInvalidate() {
+        SessionPool<FakeDriver> pool = pool(1, 10);
+
+        pool.invalidate(pool.acquire());
+        FakeDriver next = pool.acquire();
+
+        Assert.assertTrue(created.get(0).quit);
+        Assert.assertSame(next, created.get(1));
+        Assert.assertEquals(pool.getSessionsReused(), 0);
+    }
+
+    @Test(description = "Verify a replacement warms up only once the device's session is retired")
+    public void testWarmupWaitsForRetirement() throws Exception {
+        SessionPool<FakeDriver> pool = pool(2, 1, 2);
+        try {
+            FakeDriver first = pool.acquire();
+            Thread.sleep(200);
+            Assert.assertEquals(created.size(), 1, "Warm-up started while the device's session was leased");
+
+            pool.release(first);
+            FakeDriver next = pool.acquire();
+
+            Assert.assertTrue(first.quit);
+            Assert.assertSame(next, created.get(1));
+            Assert.assertEquals(created.size(), 2);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Session that answers the pool's commands itself instead of calling a server
+     */
+    private static final class FakeDriver extends RemoteWebDriver {
+        private boolean healthy = true;
+        private boolean quit;
+
+        private FakeDriver(int id) {
+            setSessionId("fake-" + id);
+        }
+
+        @Override
+        protected Response execute(CommandPayload payload) {
+            String command = payload.getName();
+            if (DriverCommand.QUIT.equals(command)) {
+                quit = true;
+            } else if (!healthy) {
+                throw new WebDriverException("Session is gone");
+            }
+            Response response = new Response(getSessionId());
+            response.setValue(DriverCommand.GET_TIMEOUTS.equals(command) ? Map.of("implicit", 0) : null);
+            return response;
+        }
+    }
+}
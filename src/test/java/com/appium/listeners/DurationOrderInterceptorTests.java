@@ -0,0 +1,112 @@
+package com.appium.listeners;
+
+import org.testng.Assert;
+import org.testng.IMethodInstance;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DurationOrderInterceptorTests - Offline tests for longest-first ordering and makespan prediction
+ */
+public class DurationOrderInterceptorTests {
+
+    private final Map<String, Long> durations = new HashMap<>();
+
+    @Test(description = "Verify priority comes first, then dependency chain length, then duration, then ID")
+    public void testOrder() {
+        durations.clear();
+        durations.put(id("setup"), 100L);
+        durations.put(id("login"), 1000L);
+        durations.put(id("checkout"), 4000L);
+        durations.put(id("report"), 4500L);
+        durations.put(id("search"), 3000L);
+        durations.put(id("browse"), 3000L);
+        List<IMethodInstance> methods = List.of(instance("search", 0), instance("report", 0),
+                instance("checkout", 0, id("login")), instance("browse", 0), instance("login", 0),
+                instance("setup", -1));
+
+        List<IMethodInstance> ordered = new DurationOrderInterceptor(() -> durations).intercept(methods, context(1));
+
+        Assert.assertEquals(names(ordered), List.of("setup", "login", "report", "checkout", "browse", "search"));
+    }
+
+    @Test(description = "Verify tests without history count as the average known test")
+    public void testNewTestsUseAverage() {
+        durations.clear();
+        durations.put(id("fast"), 1000L);
+        durations.put(id("slow"), 3000L);
+        List<IMethodInstance> methods = List.of(instance("fast", 0), instance("added", 0), instance("slow", 0));
+
+        DurationOrderInterceptor interceptor = new DurationOrderInterceptor(() -> durations);
+        List<IMethodInstance> ordered = interceptor.intercept(methods, context(1));
+
+        Assert.assertEquals(names(ordered), List.of("slow", "added", "fast"));
+        Assert.assertEquals(interceptor.getPredictedMillis(), 6000);
+    }
+
+    @Test(description = "Verify the order is left unchanged without any history")
+    public void testNoHistory() {
+        List<IMethodInstance> methods = List.of(instance("fast", 0), instance("slow", 0));
+
+        Assert.assertSame(new DurationOrderInterceptor(Collections::emptyMap).intercept(methods, context(2)),
+                methods);
+    }
+
+    @Test(description = "Verify the makespan is predicted by handing tests to the first free thread")
+    public void testPredictedMakespan() {
+        durations.clear();
+        List<IMethodInstance> methods = new ArrayList<>();
+        long[] millis = {1000, 4000, 2000, 3000};
+        for (int i = 0; i < millis.length; i++) {
+            durations.put(id("test" + i), millis[i]);
+            methods.add(instance("test" + i, 0));
+        }
+
+        DurationOrderInterceptor interceptor = new DurationOrderInterceptor(() -> durations);
+        interceptor.intercept(methods, context(2));
+
+        // 4000 and 3000 start together, 2000 follows 3000 and 1000 follows 4000
+        Assert.assertEquals(interceptor.getPredictedMillis(), 5000);
+    }
+
+    private String id(String name) {
+        return DurationOrderInterceptorTests.class.getName() + "." + name;
+    }
+
+    private List<String> names(List<IMethodInstance> instances) {
+        List<String> names = new ArrayList<>();
+        instances.forEach(instance -> names.add(instance.getMethod().getMethodName()));
+        return names;
+    }
+
+    private IMethodInstance instance(String name, int priority, String... dependsOn) {
+        ITestNGMethod method = (ITestNGMethod) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {ITestNGMethod.class}, (proxy, invoked, args) -> switch (invoked.getName()) {
+                    case "getRealClass" -> DurationOrderInterceptorTests.class;
+                    case "getMethodName" -> name;
+                    case "getPriority" -> priority;
+                    case "getMethodsDependedUpon" -> dependsOn;
+                    default -> null;
+                });
+        return (IMethodInstance) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {IMethodInstance.class}, (proxy, invoked, args) -> method);
+    }
+
+    private ITestContext context(int threads) {
+        XmlTest test = new XmlTest(new XmlSuite());
+        test.setParallel(threads > 1 ? XmlSuite.ParallelMode.METHODS : XmlSuite.ParallelMode.NONE);
+        test.setThreadCount(threads);
+        return (ITestContext) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {ITestContext.class},
+                (proxy, invoked, args) -> "getCurrentXmlTest".equals(invoked.getName()) ? test : "Regression");
+    }
+}
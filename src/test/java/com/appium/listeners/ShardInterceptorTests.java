@@ -0,0 +1,79 @@
+package com.appium.listeners;
+
+import org.testng.Assert;
+import org.testng.IMethodInstance;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ShardInterceptorTests - Offline tests for splitting parallel matrix cells across shards
+ */
+public class ShardInterceptorTests {
+
+    private static final String CELL_A = "Regression [pixel-14]";
+    private static final String CELL_B = "Regression [pixel-10]";
+
+    private final Map<String, Long> durations = Map.of(
+            ShardInterceptorTests.class.getName() + ".testLong", 5000L,
+            ShardInterceptorTests.class.getName() + ".testShort", 2000L);
+
+    @Test(description = "Verify every node plans a cell the same way whatever order the cells are intercepted in")
+    public void testCellsInEitherOrder() {
+        List<IMethodInstance> methods = List.of(instance("testLong"), instance("testShort"));
+
+        ShardInterceptor first = new ShardInterceptor(0, 2, () -> durations);
+        List<String> firstA = names(first.intercept(methods, context(CELL_A)));
+        List<String> firstB = names(first.intercept(methods, context(CELL_B)));
+        ShardInterceptor second = new ShardInterceptor(1, 2, () -> durations);
+        List<String> secondB = names(second.intercept(methods, context(CELL_B)));
+        List<String> secondA = names(second.intercept(methods, context(CELL_A)));
+
+        assertPartition(firstA, secondA);
+        assertPartition(firstB, secondB);
+    }
+
+    @Test(description = "Verify all methods are kept without sharding")
+    public void testUnsharded() {
+        List<IMethodInstance> methods = List.of(instance("testLong"), instance("testShort"));
+
+        Assert.assertSame(new ShardInterceptor(0, 1, () -> durations).intercept(methods, context(CELL_A)), methods);
+    }
+
+    private void assertPartition(List<String> first, List<String> second) {
+        Set<String> all = new HashSet<>(first);
+        all.addAll(second);
+        Assert.assertEquals(first.size() + second.size(), 2, "Methods run on both shards: " + first + " " + second);
+        Assert.assertEquals(all, Set.of("testLong", "testShort"));
+    }
+
+    private List<String> names(List<IMethodInstance> instances) {
+        List<String> names = new ArrayList<>();
+        instances.forEach(instance -> names.add(instance.getMethod().getMethodName()));
+        return names;
+    }
+
+    private IMethodInstance instance(String name) {
+        ITestNGMethod method = (ITestNGMethod) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {ITestNGMethod.class}, (proxy, invoked, args) -> switch (invoked.getName()) {
+                    case "getRealClass" -> ShardInterceptorTests.class;
+                    case "getMethodName" -> name;
+                    case "getMethodsDependedUpon", "getGroupsDependedUpon" -> new String[0];
+                    default -> null;
+                });
+        return (IMethodInstance) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {IMethodInstance.class}, (proxy, invoked, args) -> method);
+    }
+
+    private ITestContext context(String name) {
+        return (ITestContext) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {ITestContext.class},
+                (proxy, invoked, args) -> name);
+    }
+}
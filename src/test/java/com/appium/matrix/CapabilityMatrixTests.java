@@ -0,0 +1,94 @@
+package com.appium.matrix;
+
+import com.appium.constants.FrameworkConstants;
+import com.appium.driver.Device;
+import com.appium.driver.DevicePool;
+import com.appium.driver.DeviceRegistry;
+import com.appium.listeners.MatrixSuiteListener;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * CapabilityMatrixTests - Offline tests for matrix expansion and cell scheduling
+ * Uses the example matrix and fake devices
+ */
+public class CapabilityMatrixTests {
+
+    @Test(description = "Verify the example matrix expands to its cross product minus exclusions")
+    public void testExpansion() {
+        CapabilityMatrix matrix = CapabilityMatrix.load(new File("config/matrix.example.json"));
+
+        List<String> ids = matrix.getCells().stream().map(MatrixCell::getId).toList();
+        Assert.assertEquals(ids, List.of("android-13_phone_settings", "android-14_phone_settings",
+                "android-14_tablet_settings"));
+
+        MatrixCell tablet = matrix.getCell("android-14_tablet_settings");
+        Assert.assertEquals(tablet.getPlatformVersion(), "14");
+        Assert.assertEquals(tablet.getDeviceTags(), Set.of("tablet"));
+        Assert.assertEquals(tablet.getAppPackage(), "com.android.settings");
+        Assert.assertEquals(tablet.getCapabilities().get("appium:language"), "en");
+    }
+
+    @Test(description = "Verify app capabilities override shared ones and missing axes mean any")
+    public void testAppCapabilitiesAndMissingAxes() throws Exception {
+        CapabilityMatrix matrix = CapabilityMatrix.expand(new ObjectMapper().readTree(
+                "{\"capabilities\": {\"appium:language\": \"en\", \"appium:newCommandTimeout\": 120},"
+                        + " \"apps\": [{\"name\": \"beta\", \"app\": \"/builds/beta.apk\","
+                        + " \"capabilities\": {\"appium:language\": \"de\"}}]}"));
+
+        MatrixCell cell = matrix.getCell("android_beta");
+        Assert.assertNull(cell.getPlatformVersion());
+        Assert.assertTrue(cell.getDeviceTags().isEmpty());
+        Assert.assertEquals(cell.getApp(), "/builds/beta.apk");
+        Assert.assertEquals(cell.getCapabilities().get("appium:language"), "de");
+        Assert.assertEquals(cell.getCapabilities().get("appium:newCommandTimeout"), 120);
+    }
+
+    @Test(description = "Verify every test is cloned per cell and the clones run in parallel")
+    public void testSuiteExpansion() {
+        XmlSuite suite = new XmlSuite();
+        XmlTest test = new XmlTest(suite);
+        test.setName("Calculator Tests");
+        test.setXmlClasses(List.of(new XmlClass("com.appium.tests.CalculatorTests", false)));
+        List<MatrixCell> cells = CapabilityMatrix.load(new File("config/matrix.example.json")).getCells();
+
+        MatrixSuiteListener.expand(suite, cells, 2);
+
+        Assert.assertEquals(suite.getTests().size(), 3);
+        Assert.assertEquals(suite.getParallel(), XmlSuite.ParallelMode.TESTS);
+        Assert.assertEquals(suite.getThreadCount(), 3);
+        Set<String> cellIds = new HashSet<>();
+        for (XmlTest copy : suite.getTests()) {
+            String cellId = copy.getParameter(FrameworkConstants.MATRIX_CELL_PARAMETER);
+            Assert.assertTrue(cellIds.add(cellId));
+            Assert.assertEquals(copy.getName(), "Calculator Tests [" + cellId + "]");
+            Assert.assertEquals(copy.getParallel(), XmlSuite.ParallelMode.METHODS);
+            Assert.assertEquals(copy.getXmlClasses().size(), 1);
+        }
+    }
+
+    @Test(description = "Verify cells lease only devices with their tags and Android version")
+    public void testCellsLeaseMatchingDevices() {
+        List<Device> devices = DeviceRegistry.parse("emulator-5554|13.0|phone;emulator-5556|14.0|phone",
+                new DeviceRegistry.PortAllocator(8200, 9200, 9515));
+        DevicePool pool = new DevicePool(devices);
+
+        Device leased = pool.lease(Set.of("phone"), "14", Duration.ofSeconds(1));
+        Assert.assertEquals(leased.getUdid(), "emulator-5556");
+        Assert.expectThrows(IllegalStateException.class,
+                () -> pool.lease(Set.of("phone"), "14", Duration.ofMillis(200)));
+        Assert.expectThrows(IllegalArgumentException.class,
+                () -> pool.lease(Set.of("tablet"), "14", Duration.ofMillis(200)));
+        pool.release(leased);
+    }
+}
@@ -0,0 +1,53 @@
+package com.appium.metrics;
+
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * CommandMetricsTests - Offline tests for command classification and latency histograms
+ */
+public class CommandMetricsTests {
+
+    @Test(description = "Verify commands are classified from method and path")
+    public void testClassifyCommands() {
+        Assert.assertEquals(DriverCommand.classify(HttpMethod.POST, "/session"), DriverCommand.NEW_SESSION);
+        Assert.assertEquals(DriverCommand.classify(HttpMethod.DELETE, "/session/abc"), DriverCommand.QUIT);
+        Assert.assertEquals(DriverCommand.classify(HttpMethod.POST, "/session/abc/element"),
+                DriverCommand.FIND_ELEMENT);
+        Assert.assertEquals(DriverCommand.classify(HttpMethod.POST, "/session/abc/element/e1/click"),
+                DriverCommand.CLICK);
+        Assert.assertEquals(DriverCommand.classify(HttpMethod.GET, "/session/abc/element/e1/attribute/text"),
+                DriverCommand.GET_ATTRIBUTE);
+        Assert.assertEquals(DriverCommand.classify(HttpMethod.GET, "/session/abc/window/rect"),
+                DriverCommand.GET_WINDOW_RECT);
+        Assert.assertEquals(DriverCommand.classify(HttpMethod.GET, "/session/abc/element/e1/rect"),
+                DriverCommand.GET_ELEMENT_RECT);
+        Assert.assertEquals(DriverCommand.classify(HttpMethod.DELETE, "/session/abc/window"),
+                DriverCommand.OTHER);
+    }
+
+    @Test(description = "Verify bucket midpoints stay within the bucket resolution")
+    public void testBucketResolution() {
+        for (long micros = 1; micros < 100_000_000L; micros = micros * 3 + 1) {
+            long midpoint = LatencyHistogram.bucketMidpoint(LatencyHistogram.bucketIndex(micros));
+            Assert.assertTrue(Math.abs(midpoint - micros) <= micros / 8 + 1,
+                    "Midpoint " + midpoint + " too far from " + micros);
+        }
+    }
+
+    @Test(description = "Verify percentiles of a known distribution")
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int millis = 1; millis <= 100; millis++) {
+            histogram.recordNanos(millis * 1_000_000L);
+        }
+
+        Assert.assertEquals(histogram.getCount(), 100);
+        Assert.assertEquals(histogram.getMeanMillis(), 50.5, 0.001);
+        Assert.assertEquals(histogram.getMaxMillis(), 100.0, 0.001);
+        Assert.assertEquals(histogram.getPercentileMillis(50), 50, 50 * 0.13);
+        Assert.assertEquals(histogram.getPercentileMillis(99), 99, 99 * 0.13);
+        Assert.assertTrue(histogram.getPercentileMillis(100) <= histogram.getMaxMillis());
+    }
+}
@@ -0,0 +1,62 @@
+package com.appium.metrics;
+
+import io.appium.java_client.AppiumBy;
+import org.openqa.selenium.By;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+/**
+ * LocatorTelemetryTests - Offline tests for locator keys and the slow-locator ranking
+ */
+public class LocatorTelemetryTests {
+
+    private static final LocatorKey EQUALS = new LocatorKey("CalculatorPage", "id", "com.android.calculator2:id/eq");
+    private static final LocatorKey APPS = new LocatorKey("SettingsPage", "xpath", "//*[contains(@text,'Apps')]");
+
+    @BeforeMethod
+    public void setUp() {
+        LocatorTelemetry.reset();
+    }
+
+    @Test(description = "Verify strategy and value are read from the locator description")
+    public void testKeyOfLocator() {
+        Assert.assertEquals(LocatorKey.of("CalculatorPage", AppiumBy.id("com.android.calculator2:id/eq")), EQUALS);
+        Assert.assertEquals(LocatorKey.of("SettingsPage", By.xpath("//*[contains(@text,'Apps')]")), APPS);
+
+        LocatorKey selector = LocatorKey.of("-", AppiumBy.androidUIAutomator("new UiSelector().text(\"OK\")"));
+        Assert.assertEquals(selector.getStrategy(), "androidUIAutomator");
+        Assert.assertEquals(selector.getValue(), "new UiSelector().text(\"OK\")");
+    }
+
+    @Test(description = "Verify finds inside a wait on the same locator are not counted twice")
+    public void testFindsInsideWaits() {
+        LocatorKey previous = LocatorTelemetry.beginWait(EQUALS);
+        LocatorTelemetry.recordFind(EQUALS, 40_000_000, false);
+        LocatorTelemetry.recordFind(EQUALS, 30_000_000, true);
+        LocatorTelemetry.endWait(previous);
+        LocatorTelemetry.recordWait(EQUALS, 500_000_000, 2, false);
+        LocatorTelemetry.recordFind(EQUALS, 20_000_000, true);
+
+        LocatorStats stats = LocatorTelemetry.getRanking().get(0);
+        Assert.assertEquals(stats.getFinds(), 3);
+        Assert.assertEquals(stats.getNotFound(), 1);
+        Assert.assertEquals(stats.getMeanFindMillis(), 30, 0.001);
+        Assert.assertEquals(stats.getMaxFindMillis(), 40, 0.001);
+        Assert.assertEquals(stats.getCostMillis(), 520, 0.001);
+    }
+
+    @Test(description = "Verify locators are ranked by cost, most expensive first")
+    public void testRanking() {
+        LocatorTelemetry.recordFind(EQUALS, 80_000_000, true);
+        LocatorTelemetry.recordWait(APPS, 2_000_000_000, 9, true);
+
+        List<LocatorStats> ranking = LocatorTelemetry.getRanking();
+        Assert.assertEquals(ranking.get(0).getKey(), APPS);
+        Assert.assertEquals(ranking.get(0).getTimeouts(), 1);
+        Assert.assertEquals(ranking.get(1).getKey(), EQUALS);
+        Assert.assertNull(LocatorTelemetry.enter(null));
+    }
+}
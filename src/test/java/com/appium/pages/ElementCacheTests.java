@@ -0,0 +1,114 @@
+package com.appium.pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ElementCacheTests - Offline tests for cached page object elements
+ * Uses fake locators and elements
+ */
+public class ElementCacheTests {
+
+    @Test(description = "Verify repeated calls on a field locate the element once")
+    public void testRepeatedCallsHitCache() {
+        ElementCache cache = new ElementCache();
+        CountingLocator locator = new CountingLocator();
+        WebElement element = CachingFieldDecorator.proxyFor(getClass().getClassLoader(), "Page.button", locator,
+                cache);
+
+        long hits = ElementCache.getHits();
+        Assert.assertEquals(element.getText(), "element-1");
+        Assert.assertEquals(element.getText(), "element-1");
+        element.click();
+
+        Assert.assertEquals(locator.finds, 1);
+        Assert.assertEquals(ElementCache.getHits() - hits, 2);
+        Assert.assertEquals(((WrapsElement) element).getWrappedElement(), locator.found.get(0));
+    }
+
+    @Test(description = "Verify a stale element is located again and the call retried once")
+    public void testStaleElementIsRelocated() {
+        ElementCache cache = new ElementCache();
+        CountingLocator locator = new CountingLocator();
+        WebElement element = CachingFieldDecorator.proxyFor(getClass().getClassLoader(), "Page.button", locator,
+                cache);
+
+        long relocations = ElementCache.getRelocations();
+        element.click();
+        locator.stale.set(0, true);
+
+        Assert.assertEquals(element.getText(), "element-2");
+        Assert.assertEquals(locator.finds, 2);
+        Assert.assertEquals(ElementCache.getRelocations() - relocations, 1);
+
+        // Errors other than staleness reach the page unchanged
+        locator.failing = true;
+        locator.stale.set(1, true);
+        Assert.assertThrows(StaleElementReferenceException.class, element::getText);
+    }
+
+    @Test(description = "Verify a page transition forgets cached elements")
+    public void testPageTransitionClearsCache() {
+        ElementCache cache = new ElementCache();
+        CountingLocator locator = new CountingLocator();
+        WebElement element = CachingFieldDecorator.proxyFor(getClass().getClassLoader(), "Page.button", locator,
+                cache);
+
+        element.click();
+        cache.clear();
+        element.click();
+
+        Assert.assertEquals(locator.finds, 2);
+    }
+
+    /**
+     * Locator handing out a new element per find; an element throws
+     * StaleElementReferenceException once flagged stale
+     */
+    private static class CountingLocator implements ElementLocator {
+        private final List<WebElement> found = new ArrayList<>();
+        private final List<Boolean> stale = new ArrayList<>();
+        private int finds;
+        private boolean failing;
+
+        @Override
+        public WebElement findElement() {
+            int index = finds++;
+            if (failing) {
+                throw new StaleElementReferenceException("element-" + (index + 1) + " is stale");
+            }
+            stale.add(false);
+            WebElement element = (WebElement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[] {WebElement.class}, (proxy, method, args) -> {
+                        if (stale.get(index)) {
+                            throw new StaleElementReferenceException("element-" + (index + 1) + " is stale");
+                        }
+                        if ("equals".equals(method.getName())) {
+                            return proxy == args[0];
+                        }
+                        return "getText".equals(method.getName()) ? "element-" + (index + 1) : null;
+                    });
+            found.add(element);
+            return element;
+        }
+
+        @Override
+        public List<WebElement> findElements() {
+            return List.of(findElement());
+        }
+
+        @Override
+        public String toString() {
+            return By.id("button").toString();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.appium.pages;
+
+import com.appium.pagesource.PageSources;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Point;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+/**
+ * KeypadInputTests - Offline tests for compiling calculator input into keys
+ * Uses the calculator page object and its captured page source
+ */
+public class KeypadInputTests {
+
+    @Test(description = "Verify numbers and expressions compile into key ids")
+    public void testCompile() {
+        Assert.assertEquals(KeypadInput.compile("123*45-6="), List.of("digit_1", "digit_2", "digit_3", "op_mul",
+                "digit_4", "digit_5", "op_sub", "digit_6", "eq"));
+        Assert.assertEquals(KeypadInput.compile(" 0.5 / 9 + 78 "), List.of("digit_0", "dec_point", "digit_5", "op_div",
+                "digit_9", "op_add", "digit_7", "digit_8"));
+        Assert.assertEquals(KeypadInput.compile("6\u00d72\u22121\u00f73"), List.of("digit_6", "op_mul", "digit_2",
+                "op_sub", "digit_1", "op_div", "digit_3"));
+    }
+
+    @Test(description = "Verify input without a key or with '=' before the end is rejected")
+    public void testInvalidInput() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> KeypadInput.compile("12%"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> KeypadInput.compile("1+2=3"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> KeypadInput.compile("  "));
+    }
+
+    @Test(description = "Verify every key the compiler emits is a declared control of the calculator page")
+    public void testKeysAreDeclared() {
+        List<By> controls = LayoutMap.controlsOf(CalculatorPage.class, new AndroidElementByBuilder("Android",
+                "UiAutomator2"));
+        for (String key : KeypadInput.compile("0123456789.+-*/=")) {
+            Assert.assertTrue(controls.contains(KeypadInput.locator("com.android.calculator2", key)), key);
+        }
+    }
+
+    @Test(description = "Verify typed input taps the centers of its keys from the calculator layout")
+    public void testTaps() {
+        List<By> controls = LayoutMap.controlsOf(CalculatorPage.class, new AndroidElementByBuilder("Android",
+                "UiAutomator2"));
+        LayoutMap layout = LayoutMap.capture(PageSources.load("calculator.xml"), controls);
+
+        List<Point> taps = KeypadInput.taps(layout, "com.android.calculator2", KeypadInput.compile("11+1="));
+
+        Point one = new Point(135, 1720);
+        Assert.assertEquals(taps, List.of(one, one, new Point(945, 2147), one, new Point(675, 2089)));
+        Assert.assertThrows(IllegalStateException.class,
+                () -> KeypadInput.taps(layout, "com.android.calculator", KeypadInput.compile("1")));
+    }
+
+    @Test(description = "Verify input ending in '=' types its formula before tapping '='")
+    public void testEvaluatedInput() {
+        List<By> controls = LayoutMap.controlsOf(CalculatorPage.class, new AndroidElementByBuilder("Android",
+                "UiAutomator2"));
+        LayoutMap layout = LayoutMap.capture(PageSources.load("calculator.xml"), controls);
+        List<String> keys = KeypadInput.compile("11+1=");
+
+        List<String> formulaKeys = KeypadInput.formulaKeys(keys);
+
+        Assert.assertEquals(formulaKeys, List.of("digit_1", "digit_1", "op_add", "digit_1"));
+        Assert.assertEquals(KeypadInput.expectedFormula("11+1="), "11+1");
+        Point one = new Point(135, 1720);
+        Assert.assertEquals(KeypadInput.taps(layout, "com.android.calculator2", formulaKeys),
+                List.of(one, one, new Point(945, 2147), one));
+        Assert.assertEquals(KeypadInput.taps(layout, "com.android.calculator2",
+                keys.subList(formulaKeys.size(), keys.size())), List.of(new Point(675, 2089)));
+        Assert.assertEquals(KeypadInput.formulaKeys(KeypadInput.compile("11+1")), KeypadInput.compile("11+1"));
+    }
+
+    @Test(description = "Verify the displayed formula is compared in the typed notation")
+    public void testFormula() {
+        Assert.assertEquals(KeypadInput.expectedFormula("123 * 45 - 6="), "123*45-6");
+        Assert.assertEquals(KeypadInput.normalize("1,234\u00d745\u22126"), "1234*45-6");
+        Assert.assertEquals(KeypadInput.normalize("8\u00f72"), KeypadInput.expectedFormula("8/2"));
+    }
+}
@@ -0,0 +1,71 @@
+package com.appium.pages;
+
+import com.appium.pagesource.PageSnapshot;
+import com.appium.pagesource.PageSources;
+import io.appium.java_client.AppiumBy;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.ScreenOrientation;
+import org.openqa.selenium.remote.SessionId;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * LayoutMapTests - Offline tests for layout maps of static screens
+ * Uses the captured calculator page source
+ */
+public class LayoutMapTests {
+
+    @Test(description = "Verify all declared calculator controls are captured from one snapshot")
+    public void testCapture() {
+        List<By> controls = LayoutMap.controlsOf(CalculatorPage.class, new AndroidElementByBuilder("Android",
+                "UiAutomator2"));
+        LayoutMap layout = LayoutMap.capture(PageSources.load("calculator.xml"), controls);
+
+        Assert.assertEquals(layout.size(), controls.size());
+        By one = AppiumBy.id("com.android.calculator2:id/digit_1");
+        Assert.assertEquals(layout.get(one), new Rectangle(0, 1536, 368, 270));
+        Assert.assertEquals(layout.center(one), new Point(135, 1720));
+        Assert.assertTrue(layout.contains(AppiumBy.accessibilityId("clear")));
+    }
+
+    @Test(description = "Verify controls that are missing or cannot be evaluated locally are left out")
+    public void testUnmappedControls() {
+        By missing = AppiumBy.id("com.android.calculator2:id/op_pct");
+        By selector = AppiumBy.androidUIAutomator("new UiSelector().text(\"1\")");
+        LayoutMap layout = LayoutMap.capture(PageSources.load("calculator.xml"), List.of(missing, selector));
+
+        Assert.assertEquals(layout.size(), 0);
+        Assert.assertNull(layout.center(missing));
+    }
+
+    @Test(description = "Verify layouts are kept per session and orientation and captured again after drift")
+    public void testLayoutsPerSession() {
+        SessionId session = new SessionId("layout-session");
+        AtomicInteger captures = new AtomicInteger();
+        Supplier<LayoutMap> capture = () -> {
+            captures.incrementAndGet();
+            return LayoutMap.capture(PageSnapshot.parse("<hierarchy/>"), List.of());
+        };
+
+        LayoutMap portrait = LayoutMap.get(session, ScreenOrientation.PORTRAIT, CalculatorPage.class, capture);
+        Assert.assertSame(LayoutMap.get(session, ScreenOrientation.PORTRAIT, CalculatorPage.class, capture),
+                portrait);
+        LayoutMap.get(session, ScreenOrientation.LANDSCAPE, CalculatorPage.class, capture);
+        Assert.assertEquals(captures.get(), 2);
+
+        LayoutMap.drifted(session, ScreenOrientation.PORTRAIT, CalculatorPage.class);
+        Assert.assertNotSame(LayoutMap.get(session, ScreenOrientation.PORTRAIT, CalculatorPage.class, capture),
+                portrait);
+        Assert.assertEquals(captures.get(), 3);
+
+        LayoutMap.discard(session);
+        LayoutMap.get(session, ScreenOrientation.LANDSCAPE, CalculatorPage.class, capture);
+        Assert.assertEquals(captures.get(), 4);
+    }
+}
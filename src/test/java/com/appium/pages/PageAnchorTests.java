@@ -0,0 +1,78 @@
+package com.appium.pages;
+
+import com.appium.pagesource.PageNode;
+import com.appium.pagesource.PageSnapshot;
+import com.appium.pagesource.PageSources;
+import io.appium.java_client.AppiumBy;
+import org.openqa.selenium.By;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PageAnchorTests - Offline tests for page anchors and single-snapshot presence checks
+ * Uses captured page sources
+ */
+public class PageAnchorTests {
+
+    @Test(description = "Verify anchors are read from the page object annotations")
+    public void testAnchorsOfPages() {
+        Map<String, By> calculator = PageAnchors.of(CalculatorPage.class, "Android", "UiAutomator2");
+        Assert.assertEquals(List.copyOf(calculator.keySet()), List.of("digit1", "equalsButton"));
+        Assert.assertEquals(calculator.get("equalsButton"), AppiumBy.id("com.android.calculator2:id/eq"));
+
+        Map<String, By> settings = PageAnchors.of(SettingsPage.class, "Android", "UiAutomator2");
+        Assert.assertEquals(List.copyOf(settings.keySet()), List.of("settingsTitle", "networkOption", "appsOption"));
+        Assert.assertSame(PageAnchors.of(SettingsPage.class, "Android", "UiAutomator2"), settings);
+    }
+
+    @Test(description = "Verify anchors of both sample pages resolve on their captured page sources")
+    public void testAnchorsResolveLocally() {
+        PageSnapshot calculator = PageSources.load("calculator.xml");
+        for (By by : PageAnchors.of(CalculatorPage.class, "Android", "UiAutomator2").values()) {
+            Assert.assertTrue(calculator.findAll(by).stream().anyMatch(PageNode::isDisplayed), by.toString());
+        }
+        PageSnapshot settings = PageSources.load("settings.xml");
+        for (By by : PageAnchors.of(SettingsPage.class, "Android", "UiAutomator2").values()) {
+            Assert.assertTrue(settings.findAll(by).stream().anyMatch(PageNode::isDisplayed), by.toString());
+        }
+
+        Assert.assertEquals(calculator.findAll(AppiumBy.id("digit_1")).size(), 1);
+        Assert.assertEquals(calculator.findAll(AppiumBy.accessibilityId("clear")).size(), 1);
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> calculator.findAll(AppiumBy.androidUIAutomator("new UiSelector().text(\"1\")")));
+    }
+
+    @Test(description = "Verify single-annotation XPath fields reach the locator compiler unwrapped")
+    public void testAnnotatedXPathIsRewritten() throws Exception {
+        CompilingElementByBuilder builder = new CompilingElementByBuilder("Android", "UiAutomator2");
+
+        By apps = builder.buildNativeBy(SettingsPage.class.getDeclaredField("appsOption"));
+        Assert.assertTrue(builder.isRewritten());
+        Assert.assertEquals(apps, AppiumBy.androidUIAutomator(
+                "new UiSelector().className(\"android.widget.TextView\").textContains(\"Apps\")"));
+
+        builder.buildNativeBy(CalculatorPage.class.getDeclaredField("equalsButton"));
+        Assert.assertFalse(builder.isRewritten());
+    }
+
+    @Test(description = "Verify all and any conditions over per-locator results")
+    public void testPresenceConditions() {
+        Map<String, Boolean> results = new LinkedHashMap<>();
+        results.put("title", true);
+        results.put("apps", false);
+
+        Assert.assertFalse(new PresenceResult(PresenceResult.Condition.ALL, results).isSatisfied());
+        Assert.assertTrue(new PresenceResult(PresenceResult.Condition.ANY, results).isSatisfied());
+        Assert.assertEquals(new PresenceResult(PresenceResult.Condition.ALL, results).getMissing(), List.of("apps"));
+        Assert.assertTrue(new PresenceResult(PresenceResult.Condition.ANY, results).isPresent("title"));
+        Assert.assertFalse(new PresenceResult(PresenceResult.Condition.ALL, Map.of()).isSatisfied());
+
+        PresenceResult unreadable = PresenceResult.missing(PresenceResult.Condition.ANY, List.of("title", "apps"));
+        Assert.assertFalse(unreadable.isSatisfied());
+        Assert.assertEquals(unreadable.getMissing(), List.of("title", "apps"));
+    }
+}
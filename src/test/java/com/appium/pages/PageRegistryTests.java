@@ -0,0 +1,54 @@
+package com.appium.pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.remote.SessionId;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PageRegistryTests - Offline tests for per-session page objects and cached page metadata
+ * Uses factories counting their calls
+ */
+public class PageRegistryTests {
+
+    @Test(description = "Verify a page is built once per session and rebuilt after the session is discarded")
+    public void testPagesPerSession() {
+        SessionId first = new SessionId("registry-first");
+        SessionId second = new SessionId("registry-second");
+        AtomicInteger builds = new AtomicInteger();
+        long hits = PageRegistry.getHits();
+
+        StringBuilder page = PageRegistry.get(first, StringBuilder.class, type -> {
+            builds.incrementAndGet();
+            return new StringBuilder("calculator");
+        });
+        Assert.assertSame(PageRegistry.get(first, StringBuilder.class, type -> new StringBuilder()), page);
+        Assert.assertNotSame(PageRegistry.get(second, StringBuilder.class, type -> new StringBuilder()), page);
+        Assert.assertEquals(builds.get(), 1);
+        Assert.assertEquals(PageRegistry.getHits() - hits, 1);
+
+        PageRegistry.discard(first);
+        Assert.assertNotSame(PageRegistry.get(first, StringBuilder.class, type -> new StringBuilder()), page);
+        PageRegistry.discard(first);
+        PageRegistry.discard(second);
+    }
+
+    @Test(description = "Verify page fields and locators are read once")
+    public void testMetadataIsCached() throws Exception {
+        List<Field> fields = PageMetadata.fieldsOf(SettingsPage.class);
+        Assert.assertEquals(fields.stream().map(Field::getName).toList(),
+                List.of("settingsTitle", "networkOption", "connectedDevicesOption", "appsOption"));
+        Assert.assertSame(PageMetadata.fieldsOf(SettingsPage.class), fields);
+
+        AndroidElementByBuilder builder = new AndroidElementByBuilder("Android", "UiAutomator2");
+        builder.setAnnotated(fields.get(0));
+        By title = builder.buildBy();
+        AndroidElementByBuilder other = new AndroidElementByBuilder("Android", "UiAutomator2");
+        other.setAnnotated(SettingsPage.class.getDeclaredField("settingsTitle"));
+        Assert.assertSame(other.buildBy(), title);
+    }
+}
@@ -0,0 +1,203 @@
+package com.appium.pagesource;
+
+import com.appium.pages.CalculatorPage;
+import com.appium.pages.CompilingElementByBuilder;
+import com.appium.pages.SettingsPage;
+import io.appium.java_client.AppiumBy;
+import org.openqa.selenium.By;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * LocatorCompilerTests - Offline equivalence tests for XPath rewriting
+ * Every rewritten locator is evaluated with UiAutomator2 semantics against
+ * captured page sources and must select the same nodes, in the same order, as
+ * the original XPath.
+ */
+public class LocatorCompilerTests {
+
+    private static final Pattern SELECTOR_METHOD = Pattern.compile("\\.(\\w+)\\((\"[^\"]*\"|[^)]*)\\)");
+
+    @DataProvider(name = "rewritten")
+    public Object[][] rewritten() {
+        return new Object[][] {
+                // SettingsPage
+                {"settings.xml", "//android.widget.TextView[@text='Settings']"},
+                {"settings.xml", "//android.widget.TextView[contains(@text, 'Network')]"},
+                {"settings.xml", "//android.widget.TextView[contains(@text, 'Connected devices')"
+                        + " or contains(@text, 'Bluetooth')]"},
+                {"settings.xml", "//android.widget.TextView[contains(@text, 'Apps')]"},
+                {"settings.xml", "//*[@resource-id='android:id/title' and starts-with(@text, 'N')]"},
+                {"settings.xml", "//*[@content-desc='Search settings']"},
+                {"settings.xml", "//android.widget.LinearLayout[@clickable='true']"},
+                {"settings.xml", "//*[@text='Apps' or @text='Notifications']"},
+                // CalculatorPage
+                {"calculator.xml", "//*[@resource-id='com.android.calculator2:id/result']"},
+                {"calculator.xml", "//android.widget.Button[@content-desc='plus']"},
+                {"calculator.xml", "//*[@content-desc='clear']"},
+                {"calculator.xml", "//android.widget.Button[starts-with(@resource-id, 'com.android.calculator2:id/op_')]"},
+                {"calculator.xml", "//android.widget.Button[@index='3' and @package='com.android.calculator2']"},
+        };
+    }
+
+    @Test(dataProvider = "rewritten", description = "Verify rewritten locators select the same nodes as the XPath")
+    public void testRewrittenLocatorsAreEquivalent(String source, String xpath) {
+        PageSnapshot snapshot = PageSources.load(source);
+        By by = LocatorCompiler.compile(xpath);
+
+        Assert.assertNotNull(by, "Expected a rewrite for " + xpath);
+        List<PageNode> expected = snapshot.findAll(xpath);
+        Assert.assertFalse(expected.isEmpty(), "Corpus entry matches nothing: " + xpath);
+        Assert.assertEquals(evaluate(snapshot, by), expected, by.toString());
+    }
+
+    @Test(description = "Verify the compiler picks the cheapest strategy")
+    public void testStrategies() {
+        Assert.assertEquals(remote(LocatorCompiler.compile("//*[@resource-id='com.android.calculator2:id/eq']")),
+                new By.Remotable.Parameters("id", "com.android.calculator2:id/eq"));
+        Assert.assertEquals(remote(LocatorCompiler.compile("//*[@content-desc='clear']")),
+                new By.Remotable.Parameters("accessibility id", "clear"));
+        Assert.assertEquals(remote(LocatorCompiler.compile("//android.widget.TextView[contains(@text, 'Connected devices')"
+                        + " or contains(@text, 'Bluetooth')]")).value(),
+                "new UiSelector().className(\"android.widget.TextView\")"
+                        + ".textMatches(\"(?s)(.*Connected devices.*|.*Bluetooth.*)\")");
+
+        By xpath = By.xpath("//android.widget.TextView[@text='Settings']");
+        Assert.assertNotSame(LocatorCompiler.compile(xpath), xpath);
+        By id = By.id("com.android.calculator2:id/eq");
+        Assert.assertSame(LocatorCompiler.compile(id), id);
+    }
+
+    @Test(description = "Verify page object XPath fields are rewritten when built through the compiling builder")
+    public void testPageObjectFieldsAreRewritten() throws Exception {
+        CompilingElementByBuilder builder = new CompilingElementByBuilder("Android", "UiAutomator2");
+
+        builder.setAnnotated(SettingsPage.class.getDeclaredField("appsOption"));
+        // buildBy() wraps the native locator for content mapping; compare what it prints
+        Assert.assertEquals(builder.buildBy().toString(), AppiumBy.androidUIAutomator(
+                "new UiSelector().className(\"android.widget.TextView\").textContains(\"Apps\")").toString());
+        Assert.assertTrue(builder.isRewritten());
+
+        builder.setAnnotated(SettingsPage.class.getDeclaredField("settingsTitle"));
+        Assert.assertEquals(builder.buildBy().toString(), AppiumBy.androidUIAutomator(
+                "new UiSelector().className(\"android.widget.TextView\").text(\"Settings\")").toString());
+        Assert.assertTrue(builder.isRewritten());
+
+        builder.setAnnotated(CalculatorPage.class.getDeclaredField("equalsButton"));
+        Assert.assertEquals(builder.buildBy().toString(), AppiumBy.id("com.android.calculator2:id/eq").toString());
+        Assert.assertFalse(builder.isRewritten());
+    }
+
+    @Test(description = "Verify locators without a UiSelector equivalent stay XPath")
+    public void testFallbacks() {
+        String[] kept = {
+                "//android.widget.LinearLayout/android.widget.TextView[@text='Apps']",
+                "//android.widget.TextView[1]",
+                "//android.widget.TextView[not(@text='Apps')]",
+                "//android.widget.TextView[@text='Apps' or @resource-id='android:id/title']",
+                "//android.widget.TextView[@text='']",
+                "//android.widget.TextView[@text='Network (Wi-Fi)' or @text='Apps']",
+                "//android.widget.TextView[contains(@text, 'a') and contains(@text, 'b')]",
+                "//android.widget.TextView[@displayed='true']",
+                "//android.widget.TextView[text()='Apps']",
+        };
+        for (String xpath : kept) {
+            Assert.assertNull(LocatorCompiler.compile(xpath), xpath);
+        }
+    }
+
+    @Test(description = "Verify locators map to the UiSelector a UiScrollable scrolls to")
+    public void testUiSelectors() {
+        Assert.assertEquals(LocatorCompiler.toUiSelector(AppiumBy.id("com.android.calculator2:id/eq")),
+                "new UiSelector().resourceId(\"com.android.calculator2:id/eq\")");
+        Assert.assertEquals(LocatorCompiler.toUiSelector(AppiumBy.id("digit_1")),
+                "new UiSelector().resourceIdMatches(\".*:id/digit_1\")");
+        Assert.assertEquals(LocatorCompiler.toUiSelector(AppiumBy.accessibilityId("clear")),
+                "new UiSelector().description(\"clear\")");
+        Assert.assertEquals(LocatorCompiler.toUiSelector(By.xpath("//android.widget.TextView[@text='Apps']")),
+                "new UiSelector().className(\"android.widget.TextView\").text(\"Apps\")");
+        Assert.assertNull(LocatorCompiler.toUiSelector(By.xpath("//android.widget.TextView[1]")));
+        Assert.assertNull(LocatorCompiler.toUiSelector(
+                AppiumBy.androidUIAutomator("new UiScrollable(new UiSelector()).getChildByText(x, \"Apps\")")));
+    }
+
+    private static By.Remotable.Parameters remote(By by) {
+        return ((By.Remotable) by).getRemoteParameters();
+    }
+
+    /**
+     * Evaluate a locator the way the UiAutomator2 server does: id and
+     * accessibility id match exactly, a UiSelector matches every criterion
+     * while walking the tree in document order
+     */
+    private static List<PageNode> evaluate(PageSnapshot snapshot, By by) {
+        By.Remotable.Parameters parameters = remote(by);
+        String value = String.valueOf(parameters.value());
+        switch (parameters.using()) {
+            case "id":
+                return snapshot.findByResourceId(value);
+            case "accessibility id":
+                return snapshot.findByContentDesc(value);
+            case "-android uiautomator":
+                List<PageNode> matches = new ArrayList<>();
+                for (PageNode node : snapshot.findAll("//*")) {
+                    if (matchesSelector(node, value)) {
+                        matches.add(node);
+                    }
+                }
+                return matches;
+            default:
+                throw new IllegalArgumentException("Unexpected strategy " + parameters.using());
+        }
+    }
+
+    private static boolean matchesSelector(PageNode node, String selector) {
+        Matcher method = SELECTOR_METHOD.matcher(selector);
+        while (method.find()) {
+            String argument = method.group(2).replaceAll("^\"|\"$", "");
+            if (!matchesCriterion(node, method.group(1), argument)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matchesCriterion(PageNode node, String method, String argument) {
+        String text = node.getText();
+        String description = node.getContentDesc();
+        switch (method) {
+            case "className":
+                return argument.equals(node.getAttribute("class"));
+            case "text":
+                return argument.equals(text);
+            case "textContains":
+                return text != null && text.contains(argument);
+            case "textStartsWith":
+                return text != null && text.startsWith(argument);
+            case "textMatches":
+                return text != null && text.matches(argument);
+            case "description":
+                return argument.equals(description);
+            case "descriptionContains":
+                return description != null && description.contains(argument);
+            case "resourceId":
+                return argument.equals(node.getResourceId());
+            case "resourceIdMatches":
+                return node.getResourceId() != null && node.getResourceId().matches(argument);
+            case "packageName":
+                return argument.equals(node.getAttribute("package"));
+            case "index":
+                return argument.equals(node.getAttribute("index"));
+            case "clickable":
+                return argument.equals(node.getAttribute("clickable"));
+            default:
+                throw new IllegalArgumentException("Evaluator does not know UiSelector." + method);
+        }
+    }
+}
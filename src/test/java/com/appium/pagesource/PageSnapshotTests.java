@@ -0,0 +1,67 @@
+package com.appium.pagesource;
+
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+/**
+ * PageSnapshotTests - Offline tests for page source parsing and local XPath evaluation
+ * Uses a captured Settings page source
+ */
+public class PageSnapshotTests {
+
+    private PageSnapshot settings;
+
+    @BeforeClass
+    public void loadPageSource() {
+        settings = PageSources.load("settings.xml");
+    }
+
+    @Test(description = "Verify the Settings page locators evaluate locally")
+    public void testSettingsLocators() {
+        Assert.assertTrue(settings.isDisplayed("//android.widget.TextView[@text='Settings']"));
+        Assert.assertEquals(settings.find("//android.widget.TextView[contains(@text, 'Network')]").getText(),
+                "Network & internet");
+        Assert.assertEquals(settings.findAll("//android.widget.TextView[contains(@text, 'Connected devices')"
+                + " or contains(@text, 'Bluetooth')]").size(), 2);
+        Assert.assertTrue(settings.exists("//android.widget.TextView[contains(@text, 'Apps')]"));
+
+        // Present in the source but scrolled out of view
+        Assert.assertTrue(settings.exists("//android.widget.TextView[@text='Notifications']"));
+        Assert.assertFalse(settings.isDisplayed("//android.widget.TextView[@text='Notifications']"));
+        Assert.assertFalse(settings.exists("//android.widget.Button[@text='Settings']"));
+    }
+
+    @Test(description = "Verify paths, positions and boolean predicates follow XPath semantics")
+    public void testPathsAndPredicates() {
+        List<PageNode> titles = settings.findAll(
+                "//androidx.recyclerview.widget.RecyclerView/android.widget.LinearLayout/android.widget.TextView[1]");
+        Assert.assertEquals(titles.stream().map(PageNode::getText).toList(),
+                List.of("Network & internet", "Connected devices", "Apps", "Notifications"));
+
+        Assert.assertEquals(settings.find("//android.widget.LinearLayout[3]/*[2]").getText(),
+                "Recent apps, default apps");
+        Assert.assertEquals(settings.find("/hierarchy/android.widget.FrameLayout").getTag(),
+                "android.widget.FrameLayout");
+        Assert.assertEquals(settings.findAll("//*[@resource-id='android:id/title' and not(starts-with(@text, 'N'))]")
+                .size(), 2);
+        Assert.assertEquals(settings.findAll("//*[@content-desc]").size(), 1);
+        Assert.assertEquals(settings.findAll("//*[@content-desc!='']").size(), 1);
+    }
+
+    @Test(description = "Verify index lookups and unsupported expressions")
+    public void testIndexesAndUnsupportedExpressions() {
+        Assert.assertEquals(settings.findByResourceId("android:id/title").size(), 4);
+        Assert.assertEquals(settings.findByText("Apps").size(), 1);
+        Assert.assertEquals(settings.findByContentDesc("Search settings").size(), 1);
+        Assert.assertEquals(settings.findByClass("android.widget.TextView").size(), 9);
+        Assert.assertTrue(settings.containsText("hotspot"));
+
+        Assert.assertFalse(PageXPath.isSupported("//android.widget.TextView[text()='Apps']"));
+        Assert.assertFalse(PageXPath.isSupported("//android.widget.TextView/.."));
+        Assert.assertFalse(PageXPath.isSupported("android.widget.TextView"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> PageSnapshot.parse("<hierarchy>"));
+    }
+}
@@ -0,0 +1,33 @@
+package com.appium.pagesource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * PageSources - Loads the captured page sources under src/test/resources/pagesource
+ */
+public final class PageSources {
+
+    private PageSources() {
+        throw new UnsupportedOperationException("PageSources is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Parse a captured page source
+     *
+     * @param name file name, e.g. calculator.xml
+     * @return parsed page source
+     */
+    public static PageSnapshot load(String name) {
+        try (InputStream xml = PageSources.class.getResourceAsStream("/pagesource/" + name)) {
+            if (xml == null) {
+                throw new IllegalArgumentException("No captured page source " + name);
+            }
+            return PageSnapshot.parse(new String(xml.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.appium.runner;
+
+import com.appium.config.ConfigReader;
+import com.appium.utils.ExecutionThreads;
+import org.testng.Assert;
+import org.testng.TestNG;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * VirtualThreadExecutionTests - Offline tests for the virtual-thread execution mode
+ * Runs a nested TestNG suite
+ */
+public class VirtualThreadExecutionTests {
+
+    private static final Set<Boolean> workerThreadsVirtual = ConcurrentHashMap.newKeySet();
+
+    @AfterMethod(alwaysRun = true)
+    public void clearExecutionMode() {
+        System.clearProperty("execution.mode");
+        ConfigReader.getInstance().reload();
+    }
+
+    @Test(description = "Verify background executors follow the configured execution mode")
+    public void testExecutorsFollowExecutionMode() throws Exception {
+        System.setProperty("execution.mode", "platform");
+        ConfigReader.getInstance().reload();
+        Assert.assertFalse(runsOnVirtualThread());
+
+        System.setProperty("execution.mode", "virtual");
+        ConfigReader.getInstance().reload();
+        Assert.assertTrue(runsOnVirtualThread());
+    }
+
+    @Test(description = "Verify parallel test methods run on virtual threads with the executor factory")
+    public void testWorkersRunOnVirtualThreads() {
+        XmlSuite suite = new XmlSuite();
+        suite.setName("Virtual");
+        suite.setParallel(XmlSuite.ParallelMode.METHODS);
+        suite.setThreadCount(4);
+        XmlTest test = new XmlTest(suite);
+        test.setName("Workers");
+        test.setXmlClasses(List.of(new XmlClass(Workers.class)));
+
+        workerThreadsVirtual.clear();
+        TestNG testng = new TestNG(false);
+        testng.setXmlSuites(List.of(suite));
+        testng.setExecutorFactory(new VirtualThreadExecutorFactory());
+        testng.run();
+
+        Assert.assertEquals(testng.getStatus(), 0);
+        Assert.assertEquals(workerThreadsVirtual, Set.of(Boolean.TRUE));
+    }
+
+    private static boolean runsOnVirtualThread() throws Exception {
+        ExecutorService executor = ExecutionThreads.newTaskExecutor("test", 1);
+        try {
+            Future<Boolean> virtual = executor.submit(() -> Thread.currentThread().isVirtual());
+            return virtual.get();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Test class run by the nested suite
+     */
+    public static class Workers {
+
+        @Test
+        public void first() {
+            workerThreadsVirtual.add(Thread.currentThread().isVirtual());
+        }
+
+        @Test
+        public void second() {
+            workerThreadsVirtual.add(Thread.currentThread().isVirtual());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.appium.sharding;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ShardPlannerTests - Offline tests for deterministic, balanced shard assignment
+ */
+public class ShardPlannerTests {
+
+    private List<String> testIds(int count) {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add("com.appium.tests.SampleTests.test" + i);
+        }
+        return ids;
+    }
+
+    @Test(description = "Verify every node computes the same plan regardless of input order")
+    public void testDeterministicAssignment() {
+        List<String> ids = testIds(20);
+        Map<String, Long> durations = new HashMap<>();
+        durations.put(ids.get(3), 5000L);
+        durations.put(ids.get(7), 2000L);
+
+        Map<String, Integer> first = new ShardPlanner(3).assign(ids, durations);
+        Collections.reverse(ids);
+        Map<String, Integer> second = new ShardPlanner(3).assign(ids, durations);
+
+        Assert.assertEquals(first, second);
+        Assert.assertEquals(first.size(), 20);
+    }
+
+    @Test(description = "Verify shards are balanced by historical duration")
+    public void testDurationBalancing() {
+        List<String> ids = testIds(6);
+        Map<String, Long> durations = new HashMap<>();
+        long[] millis = {9000, 1000, 1000, 3000, 3000, 3000};
+        for (int i = 0; i < ids.size(); i++) {
+            durations.put(ids.get(i), millis[i]);
+        }
+
+        ShardPlanner planner = new ShardPlanner(2);
+        Map<String, Integer> plan = planner.assign(ids, durations);
+
+        Assert.assertEquals(planner.getLoad(0), 10000);
+        Assert.assertEquals(planner.getLoad(1), 10000);
+        Assert.assertNotEquals(plan.get(ids.get(0)), plan.get(ids.get(3)));
+    }
+
+    @Test(description = "Verify tests without history are spread evenly")
+    public void testCountBalancingWithoutHistory() {
+        ShardPlanner planner = new ShardPlanner(4);
+        Map<String, Integer> plan = planner.assign(testIds(10), Collections.emptyMap());
+
+        int[] counts = new int[4];
+        plan.values().forEach(shard -> counts[shard]++);
+        for (int count : counts) {
+            Assert.assertTrue(count == 2 || count == 3, "Uneven shard size " + count);
+        }
+    }
+}
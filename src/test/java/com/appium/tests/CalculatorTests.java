@@ -2,6 +2,7 @@ package com.appium.tests;
 
 import com.appium.base.BaseTest;
 import com.appium.pages.CalculatorPage;
+import com.appium.pages.PageRegistry;
 import com.appium.reports.ExtentReportManager;
 import org.testng.Assert;
 import org.testng.annotations.Test;
@@ -19,7 +20,7 @@ public class CalculatorTests extends BaseTest {
     public void testAddition() {
         ExtentReportManager.logInfo("Starting addition test");
 
-        CalculatorPage calculatorPage = new CalculatorPage();
+        CalculatorPage calculatorPage = PageRegistry.get(CalculatorPage.class);
 
         // Verify calculator page is loaded
         Assert.assertTrue(calculatorPage.isPageLoaded(), "Calculator page should be loaded");
@@ -43,7 +44,7 @@ public class CalculatorTests extends BaseTest {
     public void testDigitClicks() {
         ExtentReportManager.logInfo("Starting digit clicks test");
 
-        CalculatorPage calculatorPage = new CalculatorPage();
+        CalculatorPage calculatorPage = PageRegistry.get(CalculatorPage.class);
 
         // Click digits 1, 2, 3
         ExtentReportManager.logInfo("Clicking digits 1, 2, 3");
@@ -70,7 +71,7 @@ public class CalculatorTests extends BaseTest {
     public void testClearFunction() {
         ExtentReportManager.logInfo("Starting clear function test");
 
-        CalculatorPage calculatorPage = new CalculatorPage();
+        CalculatorPage calculatorPage = PageRegistry.get(CalculatorPage.class);
 
         // Enter some digits
         ExtentReportManager.logInfo("Entering digits 4 and 5");
@@ -101,7 +102,7 @@ public class CalculatorTests extends BaseTest {
     public void testPageVerification() {
         ExtentReportManager.logInfo("Starting page verification test");
 
-        CalculatorPage calculatorPage = new CalculatorPage();
+        CalculatorPage calculatorPage = PageRegistry.get(CalculatorPage.class);
 
         // Verify page is loaded
         boolean isLoaded = calculatorPage.isPageLoaded();
@@ -1,6 +1,7 @@
 package com.appium.tests;
 
 import com.appium.base.BaseTest;
+import com.appium.pages.PageRegistry;
 import com.appium.pages.SettingsPage;
 import com.appium.reports.ExtentReportManager;
 import org.testng.Assert;
@@ -15,7 +16,7 @@ public class SettingsTests extends BaseTest {
     public void testSettingsAppLaunches() {
         ExtentReportManager.logInfo("Starting Settings app launch test");
 
-        SettingsPage settingsPage = new SettingsPage();
+        SettingsPage settingsPage = PageRegistry.get(SettingsPage.class);
 
         // Verify Settings page is loaded
         boolean isLoaded = settingsPage.isPageLoaded();
@@ -31,7 +32,7 @@ public class SettingsTests extends BaseTest {
     public void testPageTitle() {
         ExtentReportManager.logInfo("Verifying page title");
 
-        SettingsPage settingsPage = new SettingsPage();
+        SettingsPage settingsPage = PageRegistry.get(SettingsPage.class);
         String pageTitle = settingsPage.getPageTitle();
 
         ExtentReportManager.logInfo("Page title: " + pageTitle);
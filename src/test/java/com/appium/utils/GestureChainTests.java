@@ -0,0 +1,99 @@
+package com.appium.utils;
+
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.SessionId;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * GestureChainTests - Offline tests for batched gestures and the cached viewport
+ * Uses fake elements counting their rect queries, no device required
+ */
+public class GestureChainTests {
+
+    @Test(description = "Verify a keypad sequence is one action sequence with one rect query per key")
+    public void testKeypadChain() {
+        AtomicInteger queries = new AtomicInteger();
+        WebElement one = key(new Rectangle(0, 1000, 270, 200), queries);
+        WebElement plus = key(new Rectangle(800, 1000, 270, 280), queries);
+        WebElement equals = key(new Rectangle(800, 1540, 270, 280), queries);
+
+        GestureChain chain = new GestureChain().tap(one).tap(one).tap(plus).tap(one).tap(equals);
+
+        Assert.assertEquals(chain.getGestures(), 5);
+        Assert.assertEquals(chain.getRectQueries(), 3);
+        Assert.assertEquals(queries.get(), 3);
+        List<Map<String, Object>> actions = actions(chain);
+        Assert.assertEquals(count(actions, "pointerDown"), 5);
+        Assert.assertEquals(count(actions, "pause"), 4);
+        Assert.assertEquals(actions.get(0).get("x"), 100);
+        Assert.assertEquals(actions.get(0).get("y"), 1135);
+    }
+
+    @Test(description = "Verify long presses hold for their duration and empty chains send nothing")
+    public void testLongPressAndEmptyChain() {
+        WebElement clear = key(new Rectangle(540, 600, 100, 200), new AtomicInteger());
+        List<Map<String, Object>> actions = actions(new GestureChain().longPress(clear, Duration.ofSeconds(2)));
+
+        Assert.assertEquals(actions.get(2).get("duration"), 2000L);
+        Assert.assertEquals(actions.get(2).get("x"), 640);
+        Assert.assertEquals(new GestureChain().perform(), 0);
+    }
+
+    @Test(description = "Verify the window size is queried once per session until discarded")
+    public void testViewportCached() {
+        SessionId session = new SessionId("viewport-session");
+        AtomicInteger queries = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            Viewport.size(session, () -> {
+                queries.incrementAndGet();
+                return new Dimension(1080, 2340);
+            });
+        }
+        Assert.assertEquals(queries.get(), 1);
+
+        Viewport.discard(session);
+        Dimension rotated = Viewport.size(session, () -> {
+            queries.incrementAndGet();
+            return new Dimension(2340, 1080);
+        });
+        Assert.assertEquals(queries.get(), 2);
+        Assert.assertEquals(rotated.getWidth(), 2340);
+        Viewport.discard(session);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> actions(GestureChain chain) {
+        return (List<Map<String, Object>>) chain.getSequence().encode().get("actions");
+    }
+
+    private long count(List<Map<String, Object>> actions, String type) {
+        return actions.stream().filter(action -> type.equals(action.get("type"))).count();
+    }
+
+    private WebElement key(Rectangle rect, AtomicInteger queries) {
+        return (WebElement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {WebElement.class},
+                (proxy, method, args) -> {
+                    if ("getRect".equals(method.getName())) {
+                        queries.incrementAndGet();
+                        return rect;
+                    }
+                    if ("hashCode".equals(method.getName())) {
+                        return System.identityHashCode(proxy);
+                    }
+                    if ("equals".equals(method.getName())) {
+                        return proxy == args[0];
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,61 @@
+package com.appium.utils;
+
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ImplicitWaitTests - Offline tests for suspending and restoring the implicit wait
+ * Uses a fake driver recording the implicit waits it is given
+ */
+public class ImplicitWaitTests {
+
+    private final List<Duration> applied = new ArrayList<>();
+
+    @Test(description = "Verify the configured implicit wait is restored even when the lookup fails")
+    public void testRestoredAfterFailure() {
+        applied.clear();
+        WebDriver driver = fakeDriver();
+
+        Assert.assertThrows(NoSuchElementException.class, () -> ImplicitWait.suspended(driver,
+                Duration.ofSeconds(10), () -> {
+                    throw new NoSuchElementException("missing");
+                }));
+        Assert.assertEquals(applied, List.of(Duration.ZERO, Duration.ofSeconds(10)));
+    }
+
+    @Test(description = "Verify nested suspensions change the session once and a zero wait sends nothing")
+    public void testNestedAndZero() {
+        applied.clear();
+        WebDriver driver = fakeDriver();
+
+        boolean absent = ImplicitWait.suspended(driver, Duration.ofSeconds(5),
+                () -> ImplicitWait.suspended(driver, Duration.ofSeconds(5), () -> true));
+        Assert.assertTrue(absent);
+        Assert.assertEquals(applied, List.of(Duration.ZERO, Duration.ofSeconds(5)));
+
+        applied.clear();
+        Assert.assertEquals(ImplicitWait.suspended(driver, Duration.ZERO, () -> "checked"), "checked");
+        Assert.assertTrue(applied.isEmpty());
+    }
+
+    private WebDriver fakeDriver() {
+        WebDriver.Timeouts timeouts = (WebDriver.Timeouts) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {WebDriver.Timeouts.class}, (proxy, method, args) -> {
+                    if ("implicitlyWait".equals(method.getName())) {
+                        applied.add((Duration) args[0]);
+                    }
+                    return proxy;
+                });
+        WebDriver.Options options = (WebDriver.Options) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {WebDriver.Options.class}, (proxy, method, args) -> timeouts);
+        return (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {WebDriver.class},
+                (proxy, method, args) -> options);
+    }
+}
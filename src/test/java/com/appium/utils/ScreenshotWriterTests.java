@@ -0,0 +1,77 @@
+package com.appium.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * ScreenshotWriterTests - Offline tests for the background screenshot writer
+ * Writes to a temporary directory, no device required
+ */
+public class ScreenshotWriterTests {
+
+    @Test(description = "Verify screenshots are written to their final path and flushed")
+    public void testWriteAndFlush() throws Exception {
+        Path dir = Files.createTempDirectory("screenshots");
+        ScreenshotWriter writer = new ScreenshotWriter(4, Executors.newSingleThreadExecutor());
+        byte[] png = {(byte) 0x89, 'P', 'N', 'G', 1, 2, 3};
+
+        CompletableFuture<Path> future = writer.write(dir.resolve("shard-0/test_FAILED.png"), png);
+
+        Assert.assertTrue(writer.flush(Duration.ofSeconds(5)));
+        Assert.assertEquals(future.join(), dir.resolve("shard-0/test_FAILED.png"));
+        Assert.assertEquals(Files.readAllBytes(dir.resolve("shard-0/test_FAILED.png")), png);
+        Assert.assertEquals(writer.getWritten(), 1);
+        Assert.assertEquals(writer.getPending(), 0);
+    }
+
+    @Test(description = "Verify a full writer blocks the caller until a slot is free")
+    public void testBackPressure() throws Exception {
+        Path dir = Files.createTempDirectory("screenshots");
+        List<Runnable> held = new ArrayList<>();
+        Executor manual = held::add;
+        ScreenshotWriter writer = new ScreenshotWriter(2, manual);
+
+        writer.write(dir.resolve("1.png"), new byte[] {1});
+        writer.write(dir.resolve("2.png"), new byte[] {2});
+        Assert.assertEquals(writer.getPending(), 2);
+        Assert.assertFalse(writer.flush(Duration.ofMillis(50)));
+
+        Thread third = new Thread(() -> writer.write(dir.resolve("3.png"), new byte[] {3}));
+        third.start();
+        third.join(200);
+        Assert.assertTrue(third.isAlive(), "third write should wait for a free slot");
+
+        held.remove(0).run();
+        third.join(5000);
+        Assert.assertFalse(third.isAlive());
+        Assert.assertEquals(writer.getBlocked(), 1);
+
+        while (!held.isEmpty()) {
+            held.remove(0).run();
+        }
+        Assert.assertTrue(writer.flush(Duration.ofSeconds(5)));
+        Assert.assertEquals(writer.getWritten(), 3);
+    }
+
+    @Test(description = "Verify a failed write is counted and frees its slot")
+    public void testFailedWrite() throws Exception {
+        Path dir = Files.createTempDirectory("screenshots");
+        ScreenshotWriter writer = new ScreenshotWriter(1, Runnable::run);
+
+        CompletableFuture<Path> future = writer.write(dir, new byte[] {1});
+
+        Assert.assertThrows(CompletionException.class, future::join);
+        Assert.assertEquals(writer.getFailed(), 1);
+        Assert.assertTrue(writer.flush(Duration.ofMillis(50)));
+    }
+}
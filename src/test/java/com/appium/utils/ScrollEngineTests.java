@@ -0,0 +1,94 @@
+package com.appium.utils;
+
+import com.appium.pagesource.PageNode;
+import com.appium.pagesource.PageSnapshot;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * ScrollEngineTests - Offline tests for client-side scrolling and its end-of-list detection
+ * Uses a fake list that moves one page per swipe, no device required
+ */
+public class ScrollEngineTests {
+
+    private static final WebElement FOUND = (WebElement) Proxy.newProxyInstance(
+            ScrollEngineTests.class.getClassLoader(), new Class<?>[] {WebElement.class}, (proxy, method, args) -> {
+                throw new UnsupportedOperationException(method.getName());
+            });
+
+    @Test(description = "Verify the scroll stops at the swipe that reveals the target")
+    public void testTargetFound() {
+        FakeList list = new FakeList(List.of("Wi-Fi", "Bluetooth", "Apps", "Battery"));
+
+        ScrollEngine.ScrollResult result = ScrollEngine.scrollFromClient(list, find("Apps"), list::swipe, 10, false,
+                System.currentTimeMillis());
+
+        Assert.assertTrue(result.isFound());
+        Assert.assertSame(result.getElement(), FOUND);
+        Assert.assertEquals(result.getSwipes(), 2);
+        Assert.assertEquals(list.reads.get(), 3);
+    }
+
+    @Test(description = "Verify the end of the list stops the scroll before the swipe budget is spent")
+    public void testEndOfList() {
+        FakeList list = new FakeList(List.of("Wi-Fi", "Bluetooth", "Apps"));
+
+        ScrollEngine.ScrollResult result = ScrollEngine.scrollFromClient(list, find("Storage"), list::swipe, 10, true,
+                System.currentTimeMillis());
+
+        Assert.assertFalse(result.isFound());
+        Assert.assertTrue(result.isServerSide());
+        // Two swipes reach the last page, the third leaves the hierarchy unchanged
+        Assert.assertEquals(result.getSwipes(), 3);
+        Assert.assertEquals(list.reads.get(), 4);
+    }
+
+    @Test(description = "Verify the swipe budget caps a list that keeps changing")
+    public void testMaxSwipes() {
+        FakeList list = new FakeList(List.of("1", "2", "3", "4", "5", "6"));
+
+        ScrollEngine.ScrollResult result = ScrollEngine.scrollFromClient(list, find("6"), list::swipe, 2, false,
+                System.currentTimeMillis());
+
+        Assert.assertFalse(result.isFound());
+        Assert.assertEquals(result.getSwipes(), 2);
+        Assert.assertEquals(list.reads.get(), 3);
+    }
+
+    private static Function<PageSnapshot, WebElement> find(String text) {
+        return snapshot -> snapshot.findAll("//*[@text='" + text + "']").stream().anyMatch(PageNode::isDisplayed)
+                ? FOUND : null;
+    }
+
+    /**
+     * One visible item per page; swiping past the last item leaves the page as it is
+     */
+    private static final class FakeList implements Supplier<String> {
+        private final List<String> items;
+        private final AtomicInteger reads = new AtomicInteger();
+        private int position;
+
+        private FakeList(List<String> items) {
+            this.items = items;
+        }
+
+        private void swipe() {
+            position = Math.min(position + 1, items.size() - 1);
+        }
+
+        @Override
+        public String get() {
+            reads.incrementAndGet();
+            return "<hierarchy><android.widget.ListView scrollable=\"true\" bounds=\"[0,0][1080,2274]\">"
+                    + "<android.widget.TextView text=\"" + items.get(position) + "\" bounds=\"[0,0][1080,200]\"/>"
+                    + "</android.widget.ListView></hierarchy>";
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.appium.utils;
+
+import com.appium.metrics.LocatorKey;
+import com.appium.metrics.LocatorStats;
+import com.appium.metrics.LocatorTelemetry;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.support.ui.Sleeper;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * WaitEngineTests - Offline tests for adaptive polling on a simulated clock
+ */
+public class WaitEngineTests {
+
+    private static final WaitProfile PROFILE = new WaitProfile(Duration.ofSeconds(2), Duration.ofMillis(50),
+            Duration.ofMillis(400), false);
+
+    private Instant now;
+    private List<Long> pauses;
+    private Clock clock;
+    private Sleeper sleeper;
+
+    @BeforeMethod
+    public void setUp() {
+        now = Instant.EPOCH;
+        pauses = new ArrayList<>();
+        clock = new Clock() {
+            @Override
+            public ZoneOffset getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now;
+            }
+        };
+        sleeper = pause -> {
+            pauses.add(pause.toMillis());
+            now = now.plus(pause);
+        };
+        WaitEngine.resetStats();
+    }
+
+    @Test(description = "Verify polls back off exponentially from the initial to the maximum poll")
+    public void testBackoffSchedule() {
+        int[] checks = {0};
+        String value = WaitEngine.poll(() -> ++checks[0] == 6 ? "ready" : null, PROFILE, "ready", null, clock, sleeper);
+
+        Assert.assertEquals(value, "ready");
+        Assert.assertEquals(pauses, List.of(50L, 100L, 200L, 400L, 400L));
+        Assert.assertEquals(WaitEngine.getStats().getWaits(), 1);
+        Assert.assertEquals(WaitEngine.getStats().getTotalMillis(), 1150);
+    }
+
+    @Test(description = "Verify a condition that already holds costs one check and no pause")
+    public void testImmediateSuccess() {
+        Assert.assertTrue(WaitEngine.poll(() -> true, PROFILE, "true", null, clock, sleeper));
+        Assert.assertTrue(pauses.isEmpty());
+        Assert.assertEquals(WaitEngine.resetStats().getTotalMillis(), 0);
+        Assert.assertEquals(WaitEngine.getStats().getWaits(), 0);
+    }
+
+    @Test(description = "Verify missing elements are retried and the timeout is never overshot")
+    public void testTimeoutKeepsLastError() {
+        TimeoutException timeout = Assert.expectThrows(TimeoutException.class,
+                () -> WaitEngine.poll(() -> {
+                    throw new NoSuchElementException("missing");
+                }, PROFILE, "missing", null, clock, sleeper));
+
+        Assert.assertTrue(timeout.getCause() instanceof NoSuchElementException);
+        Assert.assertEquals(Duration.between(Instant.EPOCH, now), PROFILE.getTimeout());
+        Assert.assertEquals(WaitEngine.getStats().getTimeouts(), 1);
+        Assert.assertEquals(WaitEngine.getStats().getTotalMillis(), 2000);
+    }
+
+    @Test(description = "Verify waits on a locator are recorded with their polls and timeouts")
+    public void testLocatorWaitsRecorded() {
+        LocatorKey locator = new LocatorKey("WaitEngineTests", "id", "pkg:id/spinner");
+        int[] checks = {0};
+        WaitEngine.poll(() -> ++checks[0] == 3, PROFILE, "spinner", locator, clock, sleeper);
+        Assert.assertThrows(TimeoutException.class,
+                () -> WaitEngine.poll(() -> false, PROFILE, "spinner", locator, clock, sleeper));
+
+        LocatorStats stats = LocatorTelemetry.getRanking().stream()
+                .filter(locatorStats -> locatorStats.getKey().equals(locator))
+                .findFirst().orElseThrow();
+        Assert.assertEquals(stats.getWaits(), 2);
+        Assert.assertEquals(stats.getTimeouts(), 1);
+        Assert.assertEquals(stats.getPolls(), 3 + 9);
+        Assert.assertEquals(stats.getWaitMillis(), 150 + 2000, 0.001);
+    }
+
+    @Test(description = "Verify invalid profiles are rejected and derived profiles keep their polling")
+    public void testProfiles() {
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> new WaitProfile(Duration.ofSeconds(1), Duration.ZERO, Duration.ofMillis(100), false));
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> PROFILE.withPolling(Duration.ofMillis(500), Duration.ofMillis(100)));
+
+        WaitProfile shorter = PROFILE.withTimeout(Duration.ofMillis(500));
+        Assert.assertEquals(shorter.getTimeout(), Duration.ofMillis(500));
+        Assert.assertEquals(shorter.pollAfter(10), Duration.ofMillis(400));
+        Assert.assertTrue(shorter.withServerSide(true).isServerSide());
+    }
+}